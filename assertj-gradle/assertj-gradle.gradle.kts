@@ -1,6 +1,7 @@
 import buildsrc.DependencyInfo
 import buildsrc.ProjectInfo
 import com.jfrog.bintray.gradle.BintrayExtension
+import me.champeau.gradle.JMHPluginExtension
 import org.gradle.jvm.tasks.Jar
 import org.jetbrains.kotlin.gradle.plugin.KotlinSourceSet
 
@@ -9,6 +10,7 @@ plugins {
   `maven-publish`
   kotlin("jvm")
   id("com.jfrog.bintray")
+  id("me.champeau.gradle.jmh")
 }
 description = "AssertJ extensions for Gradle"
 
@@ -20,10 +22,17 @@ java {
   targetCompatibility = JavaVersion.VERSION_1_8
 }
 
+// Annotation processor that generates the soft assertion variants, only used to compile main
+val processor by sourceSets.creating
+
 dependencies {
   api(DependencyInfo.assertJCore)
   // Should this be an API dependency?
   compileOnly(DependencyInfo.checkerQual)
+  // Only needed by users of GradleSoftAssertionsExtension, who already have JUnit Jupiter on their classpath
+  compileOnly(DependencyInfo.junitJupiterApi)
+  compileOnly(processor.output)
+  annotationProcessor(processor.output)
 }
 
 val main by sourceSets
@@ -31,6 +40,10 @@ val main by sourceSets
 // TODO: mkobit - gradle fails to execute java compilation when this is executed
 //main.kotlin.setSrcDirs(emptyList<Any>())
 
+configure<JMHPluginExtension> {
+  jmhVersion = DependencyInfo.jmhVersion
+}
+
 tasks {
   withType<Jar>().configureEach {
     manifest {
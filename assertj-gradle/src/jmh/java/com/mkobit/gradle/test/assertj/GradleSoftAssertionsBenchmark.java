@@ -0,0 +1,140 @@
+package com.mkobit.gradle.test.assertj;
+
+import com.mkobit.gradle.test.assertj.testkit.BuildResultAssert;
+import org.assertj.core.api.SoftAssertions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares creating and using a soft {@link BuildResultAssert} through the AssertJ runtime proxy against the
+ * generated soft variant used by {@link GradleSoftAssertions}, and measures navigating from the generated soft variant
+ * to the soft variants of other assertion types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradleSoftAssertionsBenchmark {
+  private BuildResult result;
+
+  @Setup
+  public void setUp() {
+    final List<BuildTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      tasks.add(new SimpleBuildTask(":project" + i + ":build", TaskOutcome.SUCCESS));
+    }
+    result = new SimpleBuildResult("BUILD SUCCESSFUL in 1s", tasks);
+  }
+
+  @Benchmark
+  public List<Throwable> proxied() {
+    final ProxiedSoftAssertions softly = new ProxiedSoftAssertions();
+    softly.assertThat(result)
+        .outputContains("BUILD SUCCESSFUL")
+        .hasTaskSuccessAtPath(":project10:build")
+        .hasTaskAtPath(":missing");
+    return softly.errorsCollected();
+  }
+
+  @Benchmark
+  public List<Throwable> generated() {
+    final GradleSoftAssertions softly = new GradleSoftAssertions();
+    softly.assertThat(result)
+        .outputContains("BUILD SUCCESSFUL")
+        .hasTaskSuccessAtPath(":project10:build")
+        .hasTaskAtPath(":missing");
+    return softly.errorsCollected();
+  }
+
+  @Benchmark
+  public List<Throwable> generatedNavigation() {
+    final GradleSoftAssertions softly = new GradleSoftAssertions();
+    softly.assertThat(result)
+        .tasks()
+        .filteredOnOutcome(TaskOutcome.FAILED)
+        .isNotEmpty();
+    softly.assertThat(result)
+        .outcomeCounts()
+        .containsEntry(TaskOutcome.SUCCESS, 20);
+    return softly.errorsCollected();
+  }
+
+  /**
+   * Soft assertions that create {@link BuildResultAssert} the way {@link GradleSoftAssertions} did before the soft
+   * variants were generated.
+   */
+  private static final class ProxiedSoftAssertions extends SoftAssertions {
+    private BuildResultAssert assertThat(final @Nullable BuildResult buildResult) {
+      return proxy(BuildResultAssert.class, BuildResult.class, buildResult);
+    }
+  }
+
+  private static final class SimpleBuildResult implements BuildResult {
+    private final String output;
+    private final List<BuildTask> tasks;
+
+    private SimpleBuildResult(final String output, final List<BuildTask> tasks) {
+      this.output = output;
+      this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public String getOutput() {
+      return output;
+    }
+
+    @Override
+    public List<BuildTask> getTasks() {
+      return tasks;
+    }
+
+    @Override
+    public List<BuildTask> tasks(final TaskOutcome outcome) {
+      return tasks.stream().filter(task -> task.getOutcome() == outcome).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> taskPaths(final TaskOutcome outcome) {
+      return tasks(outcome).stream().map(BuildTask::getPath).collect(Collectors.toList());
+    }
+
+    @Override
+    public @Nullable BuildTask task(final String taskPath) {
+      return tasks.stream().filter(task -> task.getPath().equals(taskPath)).findFirst().orElse(null);
+    }
+  }
+
+  private static final class SimpleBuildTask implements BuildTask {
+    private final String path;
+    private final TaskOutcome outcome;
+
+    private SimpleBuildTask(final String path, final TaskOutcome outcome) {
+      this.path = path;
+      this.outcome = outcome;
+    }
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+
+    @Override
+    public TaskOutcome getOutcome() {
+      return outcome;
+    }
+  }
+}
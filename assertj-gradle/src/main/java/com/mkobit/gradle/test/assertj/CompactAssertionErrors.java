@@ -0,0 +1,44 @@
+package com.mkobit.gradle.test.assertj;
+
+/**
+ * Compacts collected assertion errors so that they do not keep the values they were created for reachable.
+ */
+final class CompactAssertionErrors {
+  private CompactAssertionErrors() {
+  }
+
+  /**
+   * Creates a new error with an excerpt of the message of {@code error} and its stack trace.
+   *
+   * The cause, suppressed errors and any actual or expected values carried by subclasses such as
+   * {@code org.opentest4j.AssertionFailedError} are dropped, so the compact error only references strings and stack
+   * trace elements.
+   *
+   * @param error the error to compact
+   * @param maxMessageLength the maximum number of characters kept from the message, split between its start and end
+   * @return the compact error
+   */
+  static AssertionError compact(final AssertionError error, final int maxMessageLength) {
+    final AssertionError compact = new AssertionError(excerpt(String.valueOf(error.getMessage()), maxMessageLength));
+    compact.setStackTrace(error.getStackTrace());
+    return compact;
+  }
+
+  static String excerpt(final String message, final int maxMessageLength) {
+    final int length = message.length();
+    if (length <= maxMessageLength) {
+      return message;
+    }
+    final int head = maxMessageLength / 2;
+    final int tail = maxMessageLength - head;
+    return new StringBuilder(maxMessageLength + 64)
+        .append(message, 0, head)
+        .append(System.lineSeparator())
+        .append("... [")
+        .append(length - head - tail)
+        .append(" characters omitted] ...")
+        .append(System.lineSeparator())
+        .append(message, length - tail, length)
+        .toString();
+  }
+}
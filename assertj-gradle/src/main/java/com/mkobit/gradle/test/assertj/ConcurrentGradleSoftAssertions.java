@@ -0,0 +1,131 @@
+package com.mkobit.gradle.test.assertj;
+
+import com.mkobit.gradle.test.assertj.api.artifacts.ConfigurationAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.SoftConfigurationAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.result.ResolutionResultAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.result.SoftResolutionResultAssert;
+import com.mkobit.gradle.test.assertj.testkit.BuildResultAssert;
+import com.mkobit.gradle.test.assertj.testkit.BuildTaskAssert;
+import com.mkobit.gradle.test.assertj.testkit.SoftBuildResultAssert;
+import com.mkobit.gradle.test.assertj.testkit.SoftBuildTaskAssert;
+import org.assertj.core.api.SoftAssertionError;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.result.ResolutionResult;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Soft assertions for {@link GradleAssertions} that can be shared by many threads, for example tests running in
+ * parallel that each check a different {@link BuildResult}.
+ *
+ * Each thread records its errors in its own lock-free sub-collector, tagged with a sequence number taken when the
+ * error is submitted. {@link #errorsCollected()} and {@link #assertAll()} merge the sub-collectors and report the
+ * errors in submission order.
+ * An assertion object returned by {@code assertThat} must only be used by the thread that created it, like any other
+ * assertion object. Calling {@code assertThat} from many threads is safe.
+ * <pre>{@code
+ * ConcurrentGradleSoftAssertions softly = new ConcurrentGradleSoftAssertions();
+ * results.parallelStream().forEach(result -> softly.assertThat(result).hasTaskSuccessAtPath(":build"));
+ * softly.assertAll();
+ * }</pre>
+ *
+ * @see GradleSoftAssertions
+ */
+public final class ConcurrentGradleSoftAssertions {
+  private static final Comparator<SequencedError> SUBMISSION_ORDER =
+      Comparator.comparingLong(sequencedError -> sequencedError.sequence);
+
+  private final AtomicLong sequence = new AtomicLong();
+  private final Queue<Queue<SequencedError>> threadCollectors = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Queue<SequencedError>> threadCollector = ThreadLocal.withInitial(() -> {
+    final Queue<SequencedError> collector = new ConcurrentLinkedQueue<>();
+    threadCollectors.add(collector);
+    return collector;
+  });
+
+  public BuildTaskAssert assertThat(final @Nullable BuildTask buildTask) {
+    return new SoftBuildTaskAssert(buildTask, this::collect);
+  }
+
+  public BuildResultAssert assertThat(final @Nullable BuildResult buildResult) {
+    return new SoftBuildResultAssert(buildResult, this::collect);
+  }
+
+  public ConfigurationAssert assertThat(final @Nullable Configuration configuration) {
+    return new SoftConfigurationAssert(configuration, this::collect);
+  }
+
+  public ResolutionResultAssert assertThat(final @Nullable ResolutionResult resolutionResult) {
+    return new SoftResolutionResultAssert(resolutionResult, this::collect);
+  }
+
+  /**
+   * Returns the errors collected so far by all threads, in the order they were submitted.
+   *
+   * @return a new list of the collected errors
+   */
+  public List<AssertionError> errorsCollected() {
+    final List<SequencedError> merged = new ArrayList<>();
+    for (final Queue<SequencedError> collector : threadCollectors) {
+      merged.addAll(collector);
+    }
+    merged.sort(SUBMISSION_ORDER);
+    final List<AssertionError> errors = new ArrayList<>(merged.size());
+    for (final SequencedError sequencedError : merged) {
+      errors.add(sequencedError.error);
+    }
+    return errors;
+  }
+
+  /**
+   * Returns whether no errors have been collected.
+   *
+   * @return {@code true} if no thread has collected an error
+   */
+  public boolean wasSuccess() {
+    for (final Queue<SequencedError> collector : threadCollectors) {
+      if (!collector.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Verifies that no errors have been collected by any thread.
+   *
+   * @throws SoftAssertionError with the messages of the collected errors in submission order if any were collected
+   */
+  public void assertAll() {
+    final List<AssertionError> errors = errorsCollected();
+    if (!errors.isEmpty()) {
+      final List<String> messages = new ArrayList<>(errors.size());
+      for (final AssertionError error : errors) {
+        messages.add(String.valueOf(error.getMessage()));
+      }
+      throw new SoftAssertionError(messages);
+    }
+  }
+
+  private void collect(final AssertionError error) {
+    threadCollector.get().add(new SequencedError(sequence.getAndIncrement(), error));
+  }
+
+  private static final class SequencedError {
+    private final long sequence;
+    private final AssertionError error;
+
+    private SequencedError(final long sequence, final AssertionError error) {
+      this.sequence = sequence;
+      this.error = error;
+    }
+  }
+}
@@ -1,10 +1,16 @@
 package com.mkobit.gradle.test.assertj;
 
 import com.mkobit.gradle.test.assertj.api.artifacts.ConfigurationAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.result.ResolutionResultAssert;
+import com.mkobit.gradle.test.assertj.testkit.ActionableTasksSummary;
+import com.mkobit.gradle.test.assertj.testkit.ActionableTasksSummaryAssert;
 import com.mkobit.gradle.test.assertj.testkit.BuildResultAssert;
 import com.mkobit.gradle.test.assertj.testkit.BuildTaskAssert;
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerdict;
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerdictAssert;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.result.ResolutionResult;
 import org.gradle.testkit.runner.BuildResult;
 import org.gradle.testkit.runner.BuildTask;
 
@@ -45,4 +51,31 @@ public final class GradleAssertions {
   public static ConfigurationAssert assertThat(final @Nullable Configuration configuration) {
     return new ConfigurationAssert(configuration);
   }
+
+  /**
+   * Assert on a {@link ResolutionResult}.
+   * @param resolutionResult the resolution result to assert on
+   * @return a new {@link ResolutionResultAssert} instance
+   */
+  public static ResolutionResultAssert assertThat(final @Nullable ResolutionResult resolutionResult) {
+    return new ResolutionResultAssert(resolutionResult);
+  }
+
+  /**
+   * Assert on a {@link StreamingOutputVerdict}.
+   * @param verdict the verdict to assert on
+   * @return a new {@link StreamingOutputVerdictAssert} instance
+   */
+  public static StreamingOutputVerdictAssert assertThat(final @Nullable StreamingOutputVerdict verdict) {
+    return new StreamingOutputVerdictAssert(verdict);
+  }
+
+  /**
+   * Assert on an {@link ActionableTasksSummary}.
+   * @param summary the summary to assert on
+   * @return a new {@link ActionableTasksSummaryAssert} instance
+   */
+  public static ActionableTasksSummaryAssert assertThat(final @Nullable ActionableTasksSummary summary) {
+    return new ActionableTasksSummaryAssert(summary);
+  }
 }
@@ -1,28 +1,124 @@
 package com.mkobit.gradle.test.assertj;
 
 import com.mkobit.gradle.test.assertj.api.artifacts.ConfigurationAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.SoftConfigurationAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.result.ResolutionResultAssert;
+import com.mkobit.gradle.test.assertj.api.artifacts.result.SoftResolutionResultAssert;
+import com.mkobit.gradle.test.assertj.testkit.ActionableTasksSummary;
+import com.mkobit.gradle.test.assertj.testkit.ActionableTasksSummaryAssert;
 import com.mkobit.gradle.test.assertj.testkit.BuildResultAssert;
 import com.mkobit.gradle.test.assertj.testkit.BuildTaskAssert;
+import com.mkobit.gradle.test.assertj.testkit.SoftActionableTasksSummaryAssert;
+import com.mkobit.gradle.test.assertj.testkit.SoftBuildResultAssert;
+import com.mkobit.gradle.test.assertj.testkit.SoftBuildTaskAssert;
+import com.mkobit.gradle.test.assertj.testkit.SoftStreamingOutputVerdictAssert;
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerdict;
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerdictAssert;
 import org.assertj.core.api.SoftAssertions;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.result.ResolutionResult;
 import org.gradle.testkit.runner.BuildResult;
 import org.gradle.testkit.runner.BuildTask;
 
 /**
  * Soft assertions for {@link GradleAssertions}.
+ *
+ * The Gradle assertions are generated soft variants that collect errors directly instead of going through a runtime
+ * proxy. Navigating from them to another Gradle assertion type, like {@link BuildResultAssert#tasks()}, returns its
+ * soft variant. If the navigation itself fails, for example because the {@code actual} is {@code null}, its error is
+ * collected and the assertions chained to it are skipped.
+ *
+ * Collected errors keep their message, cause and, for some error types, the actual and expected values reachable
+ * until {@link #assertAll()}. Soft assertions created with {@link #compacting()} instead keep a compact copy of each
+ * error with an excerpt of its message and its stack trace, so a {@link BuildResult} and its output can be garbage
+ * collected as soon as the assertions on it complete, however many builds one instance checks.
  */
 public final class GradleSoftAssertions extends SoftAssertions {
+  private static final int DEFAULT_MAX_MESSAGE_LENGTH = 8192;
+
+  private final int maxMessageLength;
+  private int assertionCount;
+
+  public GradleSoftAssertions() {
+    this(Integer.MAX_VALUE);
+  }
+
+  private GradleSoftAssertions(final int maxMessageLength) {
+    this.maxMessageLength = maxMessageLength;
+  }
+
+  /**
+   * Creates soft assertions that keep a compact record of each error, with at most the first and last 4096 characters
+   * of its message.
+   *
+   * Only errors of the Gradle assertions created by this class are compacted.
+   *
+   * @return new compacting soft assertions
+   */
+  public static GradleSoftAssertions compacting() {
+    return compacting(DEFAULT_MAX_MESSAGE_LENGTH);
+  }
+
+  /**
+   * Creates soft assertions that keep a compact record of each error, with an excerpt of at most
+   * {@code maxMessageLength} characters of its message taken from its start and end.
+   *
+   * @param maxMessageLength the maximum number of characters kept from each error message
+   * @return new compacting soft assertions
+   * @throws IllegalArgumentException if {@code maxMessageLength} is negative
+   * @see #compacting()
+   */
+  public static GradleSoftAssertions compacting(final int maxMessageLength) {
+    if (maxMessageLength < 0) {
+      throw new IllegalArgumentException("maxMessageLength must not be negative but was " + maxMessageLength);
+    }
+    return new GradleSoftAssertions(maxMessageLength);
+  }
 
   public BuildTaskAssert assertThat(final @Nullable BuildTask buildTask) {
-    return proxy(BuildTaskAssert.class, BuildTask.class, buildTask);
+    assertionCount++;
+    return new SoftBuildTaskAssert(buildTask, this::collect);
   }
 
   public BuildResultAssert assertThat(final @Nullable BuildResult buildResult) {
-    return proxy(BuildResultAssert.class, BuildResult.class, buildResult);
+    assertionCount++;
+    return new SoftBuildResultAssert(buildResult, this::collect);
   }
 
   public ConfigurationAssert assertThat(final @Nullable Configuration configuration) {
-    return proxy(ConfigurationAssert.class, Configuration.class, configuration);
+    assertionCount++;
+    return new SoftConfigurationAssert(configuration, this::collect);
+  }
+
+  public ResolutionResultAssert assertThat(final @Nullable ResolutionResult resolutionResult) {
+    assertionCount++;
+    return new SoftResolutionResultAssert(resolutionResult, this::collect);
+  }
+
+  public StreamingOutputVerdictAssert assertThat(final @Nullable StreamingOutputVerdict verdict) {
+    assertionCount++;
+    return new SoftStreamingOutputVerdictAssert(verdict, this::collect);
+  }
+
+  public ActionableTasksSummaryAssert assertThat(final @Nullable ActionableTasksSummary summary) {
+    assertionCount++;
+    return new SoftActionableTasksSummaryAssert(summary, this::collect);
+  }
+
+  /**
+   * Number of Gradle assertion objects created by this instance with {@code assertThat}.
+   */
+  int assertionCount() {
+    return assertionCount;
+  }
+
+  private void collect(final AssertionError error) {
+    if (maxMessageLength == Integer.MAX_VALUE) {
+      fail(String.valueOf(error.getMessage()), error);
+    } else {
+      final AssertionError compact = CompactAssertionErrors.compact(error, maxMessageLength);
+      fail(String.valueOf(compact.getMessage()), compact);
+    }
   }
 }
@@ -0,0 +1,94 @@
+package com.mkobit.gradle.test.assertj;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit Jupiter extension that injects a {@link GradleSoftAssertions} into each test and calls
+ * {@link GradleSoftAssertions#assertAll()} after the test and its {@code @AfterEach} methods, so collected errors can
+ * not be forgotten.
+ *
+ * The same instance is injected into a test method and its {@code @BeforeEach} and {@code @AfterEach} methods, and a
+ * new instance is created for each test. After each test that used soft assertions a report entry with the key
+ * {@value #REPORT_ENTRY_KEY} is published with the number of Gradle assertions created, the number of errors
+ * collected and the time spent in the test method, so slow assertion heavy tests are visible in test reports.
+ * <pre>{@code
+ * @ExtendWith(GradleSoftAssertionsExtension.class)
+ * class MyPluginTest {
+ *   @Test
+ *   void build(GradleSoftAssertions softly) {
+ *     BuildResult result = runner.build();
+ *     softly.assertThat(result).hasTaskSuccessAtPath(":build");
+ *   }
+ * }
+ * }</pre>
+ */
+public final class GradleSoftAssertionsExtension
+    implements ParameterResolver, BeforeTestExecutionCallback, AfterTestExecutionCallback, AfterEachCallback {
+  /**
+   * Key of the report entry published after each test that used soft assertions.
+   */
+  public static final String REPORT_ENTRY_KEY = "assertj-gradle.softAssertions";
+
+  private static final ExtensionContext.Namespace NAMESPACE =
+      ExtensionContext.Namespace.create(GradleSoftAssertionsExtension.class);
+  private static final String SOFT_ASSERTIONS_KEY = "softAssertions";
+  private static final String START_NANOS_KEY = "startNanos";
+  private static final String ELAPSED_MILLIS_KEY = "elapsedMillis";
+
+  @Override
+  public boolean supportsParameter(final ParameterContext parameterContext,
+                                   final ExtensionContext extensionContext) {
+    return parameterContext.getParameter().getType() == GradleSoftAssertions.class
+        && parameterContext.getDeclaringExecutable() instanceof Method;
+  }
+
+  @Override
+  public Object resolveParameter(final ParameterContext parameterContext, final ExtensionContext extensionContext) {
+    return extensionContext.getStore(NAMESPACE)
+                           .getOrComputeIfAbsent(SOFT_ASSERTIONS_KEY,
+                                                 key -> new GradleSoftAssertions(),
+                                                 GradleSoftAssertions.class);
+  }
+
+  @Override
+  public void beforeTestExecution(final ExtensionContext context) {
+    context.getStore(NAMESPACE).put(START_NANOS_KEY, System.nanoTime());
+  }
+
+  @Override
+  public void afterTestExecution(final ExtensionContext context) {
+    final ExtensionContext.Store store = context.getStore(NAMESPACE);
+    final @Nullable Long startNanos = store.remove(START_NANOS_KEY, Long.class);
+    if (startNanos != null) {
+      store.put(ELAPSED_MILLIS_KEY, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+  }
+
+  /**
+   * Verifies the collected errors after the {@code @AfterEach} methods, which JUnit Jupiter runs after
+   * {@link #afterTestExecution(ExtensionContext)}, so errors collected by them are reported too.
+   */
+  @Override
+  public void afterEach(final ExtensionContext context) {
+    final ExtensionContext.Store store = context.getStore(NAMESPACE);
+    final @Nullable GradleSoftAssertions softly = store.remove(SOFT_ASSERTIONS_KEY, GradleSoftAssertions.class);
+    final @Nullable Long elapsedMillis = store.remove(ELAPSED_MILLIS_KEY, Long.class);
+    if (softly == null) {
+      return;
+    }
+    context.publishReportEntry(REPORT_ENTRY_KEY,
+                               softly.assertionCount() + " assertions, "
+                                   + softly.errorsCollected().size() + " errors, "
+                                   + (elapsedMillis == null ? 0L : elapsedMillis) + " ms");
+    softly.assertAll();
+  }
+}
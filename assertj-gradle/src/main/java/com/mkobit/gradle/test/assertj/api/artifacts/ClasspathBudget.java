@@ -0,0 +1,153 @@
+package com.mkobit.gradle.test.assertj.api.artifacts;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Sizes of the resolved artifacts and dependencies of a configuration, used by the classpath budget assertions of
+ * {@link ConfigurationAssert} to name the largest contributors when a budget is exceeded.
+ *
+ * Artifact sizes are taken from the file system metadata with {@link java.io.File#length()}, so no artifact is read.
+ */
+final class ClasspathBudget {
+  /**
+   * Maximum number of contributors listed in a failure message.
+   */
+  static final int MAX_CONTRIBUTORS = 10;
+
+  private static final Comparator<Contributor> LARGEST_FIRST =
+      Comparator.<Contributor>comparingLong(contributor -> contributor.size)
+          .reversed()
+          .thenComparing(contributor -> contributor.name);
+
+  private final List<Contributor> contributors;
+  private final long total;
+
+  private ClasspathBudget(final List<Contributor> contributors, final long total) {
+    this.contributors = contributors;
+    this.total = total;
+  }
+
+  /**
+   * Measures the files of the provided resolved {@code artifacts}.
+   */
+  static ClasspathBudget ofArtifacts(final Collection<ResolvedArtifactResult> artifacts) {
+    final List<Contributor> contributors = new ArrayList<>(artifacts.size());
+    long total = 0L;
+    for (final ResolvedArtifactResult artifact : artifacts) {
+      final long size = artifact.getFile().length();
+      contributors.add(new Contributor(artifact.getId().getDisplayName(), size));
+      total += size;
+    }
+    return new ClasspathBudget(contributors, total);
+  }
+
+  /**
+   * Counts the components reachable through each direct dependency of the {@code root}, including the dependency.
+   * The total is the number of distinct components reachable from the {@code root}, excluding it.
+   * Each direct dependency is walked separately, so this is only done to explain a failure.
+   */
+  static ClasspathBudget ofDependencies(final ResolvedComponentResult root) {
+    final List<Contributor> contributors = new ArrayList<>();
+    final Set<ComponentIdentifier> seenDirect = new HashSet<>();
+    for (final ResolvedComponentResult dependency : selected(root)) {
+      if (seenDirect.add(dependency.getId())) {
+        contributors.add(new Contributor(dependency.getId().getDisplayName(), reachable(dependency, root).size()));
+      }
+    }
+    return new ClasspathBudget(contributors, reachable(root, null).size() - 1);
+  }
+
+  private static Set<ComponentIdentifier> reachable(final ResolvedComponentResult start,
+                                                    final @Nullable ResolvedComponentResult excluded) {
+    final Set<ComponentIdentifier> visited = new HashSet<>();
+    final Deque<ResolvedComponentResult> pending = new ArrayDeque<>();
+    visited.add(start.getId());
+    pending.add(start);
+    while (!pending.isEmpty()) {
+      for (final ResolvedComponentResult dependency : selected(pending.removeFirst())) {
+        if ((excluded == null || !dependency.getId().equals(excluded.getId())) && visited.add(dependency.getId())) {
+          pending.add(dependency);
+        }
+      }
+    }
+    return visited;
+  }
+
+  private static List<ResolvedComponentResult> selected(final ResolvedComponentResult component) {
+    final List<ResolvedComponentResult> selected = new ArrayList<>();
+    for (final DependencyResult dependency : component.getDependencies()) {
+      if (dependency instanceof ResolvedDependencyResult) {
+        selected.add(((ResolvedDependencyResult) dependency).getSelected());
+      }
+    }
+    return selected;
+  }
+
+  int count() {
+    return contributors.size();
+  }
+
+  long total() {
+    return total;
+  }
+
+  /**
+   * Renders the largest contributors, one per line, largest first.
+   *
+   * @param unit the unit of the sizes, like {@code bytes}
+   */
+  String renderLargest(final String unit) {
+    // Smallest of the kept contributors at the head, so it can be replaced by a larger one
+    final PriorityQueue<Contributor> largest = new PriorityQueue<>(MAX_CONTRIBUTORS + 1, LARGEST_FIRST.reversed());
+    for (final Contributor contributor : contributors) {
+      largest.add(contributor);
+      if (largest.size() > MAX_CONTRIBUTORS) {
+        largest.poll();
+      }
+    }
+    final List<Contributor> sorted = new ArrayList<>(largest);
+    sorted.sort(LARGEST_FIRST);
+    final StringBuilder builder = new StringBuilder();
+    for (final Contributor contributor : sorted) {
+      builder.append(System.lineSeparator())
+             .append("  <")
+             .append(contributor.size)
+             .append("> ")
+             .append(unit)
+             .append(": ")
+             .append(contributor.name);
+    }
+    if (contributors.size() > sorted.size()) {
+      builder.append(System.lineSeparator())
+             .append("  ... ")
+             .append(contributors.size() - sorted.size())
+             .append(" more");
+    }
+    return builder.toString();
+  }
+
+  private static final class Contributor {
+    private final String name;
+    private final long size;
+
+    private Contributor(final String name, final long size) {
+      this.name = name;
+      this.size = size;
+    }
+  }
+}
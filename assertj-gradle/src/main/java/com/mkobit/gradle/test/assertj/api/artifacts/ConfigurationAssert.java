@@ -1,5 +1,7 @@
 package com.mkobit.gradle.test.assertj.api.artifacts;
 
+import com.mkobit.gradle.test.assertj.api.artifacts.result.ResolutionResultAssert;
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
 import org.assertj.core.api.AbstractAssert;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.artifacts.Configuration;
@@ -8,7 +10,11 @@ import org.gradle.api.artifacts.DependencySet;
 import org.gradle.api.artifacts.ExcludeRule;
 import org.gradle.api.artifacts.PublishArtifactSet;
 import org.gradle.api.artifacts.ResolvableDependencies;
+import org.gradle.api.artifacts.result.ResolutionResult;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -20,11 +26,29 @@ import java.util.function.Consumer;
  * @see com.mkobit.gradle.test.assertj.GradleSoftAssertions
  */
 // TODO: mkobit - decide if this should be AbstractIterableAssert rather than AbstractAssert
+@GenerateSoftAssertions
 public class ConfigurationAssert extends AbstractAssert<ConfigurationAssert, Configuration> {
+  private @Nullable ConfigurationGraph graph;
+
   public ConfigurationAssert(@Nullable final Configuration actual) {
     super(actual, ConfigurationAssert.class);
   }
 
+  /**
+   * Answers the hierarchy assertions of this assertion object from the provided {@code graph} snapshot instead of
+   * walking the {@link Configuration#getHierarchy()} of the {@code actual}.
+   * Sharing one snapshot of a {@link org.gradle.api.artifacts.ConfigurationContainer} between the assertions on its
+   * configurations builds the transitive closure only once.
+   *
+   * @param graph the snapshot containing the {@code actual}
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code graph} is {@code null}
+   */
+  public ConfigurationAssert usingGraph(final ConfigurationGraph graph) {
+    this.graph = Objects.requireNonNull(graph, "graph");
+    return myself;
+  }
+
   // resolutionStrategy
 
   /**
@@ -230,8 +254,7 @@ public class ConfigurationAssert extends AbstractAssert<ConfigurationAssert, Con
   public ConfigurationAssert hierarchyContains(final Configuration configuration) {
     isNotNull();
     Objects.requireNonNull(configuration, "configuration");
-    final Set<Configuration> hierarchy = actual.getHierarchy();
-    if (!hierarchy.contains(configuration)) {
+    if (!hierarchyContainsConfiguration(configuration)) {
       // TODO: mkobit - improve failure message
       failWithMessage("%nExpecting configuration named [%s] hierarchy to contain configuration:%n <%s>%nbut did not", actual.getName(), configuration);
     }
@@ -249,8 +272,7 @@ public class ConfigurationAssert extends AbstractAssert<ConfigurationAssert, Con
   public ConfigurationAssert hierarchyDoesNotContain(final Configuration configuration) {
     isNotNull();
     Objects.requireNonNull(configuration, "configuration");
-    final Set<Configuration> hierarchy = actual.getHierarchy();
-    if (hierarchy.contains(configuration)) {
+    if (hierarchyContainsConfiguration(configuration)) {
       // TODO: mkobit - improve failure message
       failWithMessage("%nExpecting configuration named [%s] hierarchy to not contain configuration:%n <%s>%nbut did", actual.getName(), configuration);
     }
@@ -271,6 +293,71 @@ public class ConfigurationAssert extends AbstractAssert<ConfigurationAssert, Con
     return myself;
   }
 
+  /**
+   * Verifies that the {@code actual} extends from the provided {@code configuration} directly or through other
+   * configurations.
+   * @param configuration the configuration expected in the hierarchy of the {@code actual}
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} does not extend from the provided {@code configuration}
+   * @throws NullPointerException if the provided {@code configuration} is {@code null}
+   * @see #usingGraph(ConfigurationGraph)
+   */
+  public ConfigurationAssert extendsFromTransitively(final Configuration configuration) {
+    isNotNull();
+    Objects.requireNonNull(configuration, "configuration");
+    if (!graph().extendsFromTransitively(actual, configuration)) {
+      failWithMessage("%nExpecting configuration named [%s] to extend from configuration named [%s] directly or "
+                          + "transitively but it did not", actual.getName(), configuration.getName());
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the longest chain of {@link Configuration#getExtendsFrom()} starting at the {@code actual} has at
+   * most {@code depth} configurations after the {@code actual}.
+   * A configuration that does not extend from any configuration has depth {@code 0}.
+   * @param depth the maximum depth
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the hierarchy of the {@code actual} is deeper than {@code depth}
+   * @throws IllegalArgumentException if {@code depth} is negative
+   * @see #usingGraph(ConfigurationGraph)
+   */
+  public ConfigurationAssert hierarchyDepthAtMost(final int depth) {
+    isNotNull();
+    if (depth < 0) {
+      throw new IllegalArgumentException("depth must not be negative but was " + depth);
+    }
+    final ConfigurationGraph configurationGraph = graph();
+    final int actualDepth = configurationGraph.hierarchyDepth(actual);
+    if (actualDepth > depth) {
+      failWithMessage("%nExpecting configuration named [%s] to have hierarchy depth at most:%n <%s>%nbut was:%n <%s>"
+                          + "%nlongest extendsFrom chain:%n <%s>",
+                      actual.getName(), depth, actualDepth, names(configurationGraph.deepestChain(actual)));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that no configuration in the {@link Configuration#getExtendsFrom()} of the {@code actual} is also
+   * inherited through another configuration in it.
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} extends from a configuration it already inherits
+   * @see #usingGraph(ConfigurationGraph)
+   */
+  public ConfigurationAssert hasNoRedundantExtendsFrom() {
+    isNotNull();
+    final Set<Configuration> redundant = graph().redundantExtendsFrom(actual);
+    if (!redundant.isEmpty()) {
+      failWithMessage("%nExpecting configuration named [%s] to not extend from configurations it already inherits "
+                          + "through other configurations but it extends from:%n <%s>",
+                      actual.getName(), names(redundant));
+    }
+    return myself;
+  }
+
   // ResolvedConfiguration - skipped for now
 
   /**
@@ -389,6 +476,90 @@ public class ConfigurationAssert extends AbstractAssert<ConfigurationAssert, Con
     return myself;
   }
 
+  /**
+   * Navigates to the {@link ResolvableDependencies#getResolutionResult()} of the {@code actual}, which resolves it.
+   * @return a new {@link ResolutionResultAssert} for the resolution result
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public ResolutionResultAssert resolutionResult() {
+    isNotNull();
+    return new ResolutionResultAssert(actual.getIncoming().getResolutionResult());
+  }
+
+  /**
+   * Verifies that resolving the {@code actual} results in at most {@code count} artifacts.
+   * The failure message lists the largest artifacts.
+   * @param count the maximum number of artifacts
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} resolves to more than {@code count} artifacts
+   * @throws IllegalArgumentException if {@code count} is negative
+   */
+  public ConfigurationAssert hasResolvedArtifactCountAtMost(final int count) {
+    isNotNull();
+    if (count < 0) {
+      throw new IllegalArgumentException("count must not be negative but was " + count);
+    }
+    final ClasspathBudget artifacts = ClasspathBudget.ofArtifacts(actual.getIncoming().getArtifacts().getArtifacts());
+    if (artifacts.count() > count) {
+      failWithMessage("%nExpecting configuration named [%s] to resolve at most:%n <%s>%nartifacts but resolved:%n <%s>"
+                          + "%nlargest artifacts:%s",
+                      actual.getName(), count, artifacts.count(), artifacts.renderLargest("bytes"));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the files of the artifacts the {@code actual} resolves to add up to at most {@code bytes}.
+   * The sizes of the files are read from the file system without reading the files.
+   * The failure message lists the largest artifacts.
+   * @param bytes the maximum total size of the artifacts in bytes
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the artifacts of the {@code actual} are larger than {@code bytes} in total
+   * @throws IllegalArgumentException if {@code bytes} is negative
+   */
+  public ConfigurationAssert hasTotalArtifactSizeAtMost(final long bytes) {
+    isNotNull();
+    if (bytes < 0) {
+      throw new IllegalArgumentException("bytes must not be negative but was " + bytes);
+    }
+    final ClasspathBudget artifacts = ClasspathBudget.ofArtifacts(actual.getIncoming().getArtifacts().getArtifacts());
+    if (artifacts.total() > bytes) {
+      failWithMessage("%nExpecting configuration named [%s] to resolve artifacts of at most:%n <%s> bytes%nbut they "
+                          + "were:%n <%s> bytes%nlargest artifacts:%s",
+                      actual.getName(), bytes, artifacts.total(), artifacts.renderLargest("bytes"));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that resolving the {@code actual} results in at most {@code count} components other than the
+   * {@code actual} itself, direct and transitive dependencies included.
+   * The failure message lists the direct dependencies that bring in the most components.
+   * @param count the maximum number of resolved dependency components
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} resolves more than {@code count} dependency components
+   * @throws IllegalArgumentException if {@code count} is negative
+   */
+  public ConfigurationAssert hasTransitiveDependencyCountAtMost(final int count) {
+    isNotNull();
+    if (count < 0) {
+      throw new IllegalArgumentException("count must not be negative but was " + count);
+    }
+    final ResolutionResult resolutionResult = actual.getIncoming().getResolutionResult();
+    // The root component is the configuration itself
+    final int dependencyCount = resolutionResult.getAllComponents().size() - 1;
+    if (dependencyCount > count) {
+      final ClasspathBudget dependencies = ClasspathBudget.ofDependencies(resolutionResult.getRoot());
+      failWithMessage("%nExpecting configuration named [%s] to resolve at most:%n <%s>%ndependencies but resolved:%n"
+                          + " <%s>%ndirect dependencies bringing in the most components:%s",
+                      actual.getName(), count, dependencyCount, dependencies.renderLargest("components"));
+    }
+    return myself;
+  }
+
   // getOutgoing() @Incubating
 
   /**
@@ -460,4 +631,29 @@ public class ConfigurationAssert extends AbstractAssert<ConfigurationAssert, Con
     }
     return myself;
   }
+
+  private boolean hierarchyContainsConfiguration(final Configuration configuration) {
+    final @Nullable ConfigurationGraph configurationGraph = graph;
+    if (configurationGraph == null) {
+      return actual.getHierarchy().contains(configuration);
+    }
+    return configuration == actual || configurationGraph.extendsFromTransitively(actual, configuration);
+  }
+
+  private ConfigurationGraph graph() {
+    @Nullable ConfigurationGraph configurationGraph = graph;
+    if (configurationGraph == null) {
+      configurationGraph = ConfigurationGraph.ofHierarchy(actual);
+      graph = configurationGraph;
+    }
+    return configurationGraph;
+  }
+
+  private static List<String> names(final Collection<Configuration> configurations) {
+    final List<String> names = new ArrayList<>(configurations.size());
+    for (final Configuration configuration : configurations) {
+      names.add(configuration.getName());
+    }
+    return names;
+  }
 }
@@ -0,0 +1,249 @@
+package com.mkobit.gradle.test.assertj.api.artifacts;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.artifacts.Configuration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the {@link Configuration#getExtendsFrom()} graph of a set of configurations, for example all
+ * configurations of a {@link org.gradle.api.artifacts.ConfigurationContainer}.
+ *
+ * {@link Configuration#getHierarchy()} walks the graph again on every call. The snapshot computes the transitive
+ * closure of every configuration once, as one bit set per configuration, along with the depth of its hierarchy and
+ * its redundant {@code extendsFrom} configurations, so {@link ConfigurationAssert} can answer hierarchy assertions
+ * against it without walking the graph.
+ * Changes made to the configurations after the snapshot is taken are not reflected by it.
+ *
+ * @see ConfigurationAssert#usingGraph(ConfigurationGraph)
+ */
+public final class ConfigurationGraph {
+  private final List<Configuration> configurations;
+  private final Map<Configuration, Integer> ids;
+  private final BitSet[] closures;
+  private final BitSet[] redundant;
+  private final int[] depths;
+  private final int[] deepestParents;
+
+  private ConfigurationGraph(final List<Configuration> configurations,
+                             final Map<Configuration, Integer> ids,
+                             final int[][] parents) {
+    this.configurations = configurations;
+    this.ids = ids;
+    final int size = configurations.size();
+    this.closures = new BitSet[size];
+    this.redundant = new BitSet[size];
+    this.depths = new int[size];
+    this.deepestParents = new int[size];
+    for (final int id : topologicalOrder(parents)) {
+      final BitSet closure = new BitSet(size);
+      final BitSet inheritedThroughParents = new BitSet(size);
+      int deepestParent = -1;
+      for (final int parent : parents[id]) {
+        closure.set(parent);
+        closure.or(closures[parent]);
+        inheritedThroughParents.or(closures[parent]);
+        if (deepestParent == -1 || depths[parent] > depths[deepestParent]) {
+          deepestParent = parent;
+        }
+      }
+      final BitSet redundantParents = new BitSet(size);
+      for (final int parent : parents[id]) {
+        if (inheritedThroughParents.get(parent)) {
+          redundantParents.set(parent);
+        }
+      }
+      closures[id] = closure;
+      redundant[id] = redundantParents;
+      depths[id] = deepestParent == -1 ? 0 : depths[deepestParent] + 1;
+      deepestParents[id] = deepestParent;
+    }
+  }
+
+  /**
+   * Takes a snapshot of the graph of the provided {@code configurations} and of every configuration they extend from.
+   *
+   * @param configurations the configurations, for example a {@link org.gradle.api.artifacts.ConfigurationContainer}
+   * @return the snapshot
+   * @throws NullPointerException if the provided {@code configurations} is {@code null}
+   * @throws IllegalArgumentException if the configurations extend from each other in a cycle
+   */
+  public static ConfigurationGraph of(final Iterable<? extends Configuration> configurations) {
+    Objects.requireNonNull(configurations, "configurations");
+    final List<Configuration> nodes = new ArrayList<>();
+    final Map<Configuration, Integer> ids = new IdentityHashMap<>();
+    final Deque<Configuration> pending = new ArrayDeque<>();
+    for (final Configuration configuration : configurations) {
+      addNode(configuration, nodes, ids, pending);
+    }
+    final List<int[]> parents = new ArrayList<>();
+    while (!pending.isEmpty()) {
+      final Configuration configuration = pending.removeFirst();
+      final Set<Configuration> extendsFrom = configuration.getExtendsFrom();
+      final int[] parentIds = new int[extendsFrom.size()];
+      int i = 0;
+      for (final Configuration parent : extendsFrom) {
+        parentIds[i++] = addNode(parent, nodes, ids, pending);
+      }
+      parents.add(parentIds);
+    }
+    return new ConfigurationGraph(Collections.unmodifiableList(nodes), ids, parents.toArray(new int[0][]));
+  }
+
+  /**
+   * Creates a snapshot of the hierarchy of a single configuration.
+   */
+  static ConfigurationGraph ofHierarchy(final Configuration configuration) {
+    return of(Collections.singleton(configuration));
+  }
+
+  private static int addNode(final Configuration configuration,
+                             final List<Configuration> nodes,
+                             final Map<Configuration, Integer> ids,
+                             final Deque<Configuration> pending) {
+    final @Nullable Integer existing = ids.get(configuration);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = nodes.size();
+    nodes.add(configuration);
+    ids.put(configuration, id);
+    pending.addLast(configuration);
+    return id;
+  }
+
+  /**
+   * Orders the configurations so that every configuration comes after all configurations it extends from, using an
+   * iterative depth first search.
+   */
+  private int[] topologicalOrder(final int[][] parents) {
+    final int size = parents.length;
+    final int[] order = new int[size];
+    int ordered = 0;
+    // 0 is unvisited, 1 is on the current path and 2 is done
+    final byte[] state = new byte[size];
+    final int[] nextParent = new int[size];
+    final Deque<Integer> path = new ArrayDeque<>();
+    for (int start = 0; start < size; start++) {
+      if (state[start] != 0) {
+        continue;
+      }
+      state[start] = 1;
+      path.push(start);
+      while (!path.isEmpty()) {
+        final int id = path.peek();
+        if (nextParent[id] < parents[id].length) {
+          final int parent = parents[id][nextParent[id]++];
+          if (state[parent] == 1) {
+            throw new IllegalArgumentException("Configuration " + configurations.get(parent).getName()
+                                                   + " extends from itself through "
+                                                   + configurations.get(id).getName());
+          }
+          if (state[parent] == 0) {
+            state[parent] = 1;
+            path.push(parent);
+          }
+        } else {
+          state[id] = 2;
+          order[ordered++] = path.pop();
+        }
+      }
+    }
+    return order;
+  }
+
+  /**
+   * The configurations in this snapshot.
+   *
+   * @return the configurations, including the configurations that were only reached through
+   * {@link Configuration#getExtendsFrom()}
+   */
+  public List<Configuration> configurations() {
+    return configurations;
+  }
+
+  /**
+   * Whether the provided {@code configuration} is in this snapshot.
+   *
+   * @param configuration the configuration
+   * @return {@code true} if the snapshot contains the configuration
+   */
+  public boolean contains(final Configuration configuration) {
+    return ids.containsKey(configuration);
+  }
+
+  /**
+   * Whether {@code configuration} extends from {@code other} directly or through other configurations.
+   *
+   * @param configuration the extending configuration
+   * @param other the configuration that may be extended from
+   * @return {@code true} if {@code other} is in the hierarchy of {@code configuration} and is not {@code configuration}
+   * @throws IllegalArgumentException if {@code configuration} is not in this snapshot
+   */
+  public boolean extendsFromTransitively(final Configuration configuration, final Configuration other) {
+    final @Nullable Integer otherId = ids.get(other);
+    return otherId != null && closures[id(configuration)].get(otherId);
+  }
+
+  /**
+   * Length of the longest chain of {@link Configuration#getExtendsFrom()} starting at the provided
+   * {@code configuration}, {@code 0} for a configuration that does not extend from any configuration.
+   *
+   * @param configuration the configuration
+   * @return the depth of the hierarchy of the configuration
+   * @throws IllegalArgumentException if {@code configuration} is not in this snapshot
+   */
+  public int hierarchyDepth(final Configuration configuration) {
+    return depths[id(configuration)];
+  }
+
+  /**
+   * Longest chain of {@link Configuration#getExtendsFrom()} starting at the provided {@code configuration}.
+   *
+   * @param configuration the configuration
+   * @return the configurations of the chain, starting with {@code configuration}
+   * @throws IllegalArgumentException if {@code configuration} is not in this snapshot
+   */
+  public List<Configuration> deepestChain(final Configuration configuration) {
+    final List<Configuration> chain = new ArrayList<>();
+    for (int id = id(configuration); id != -1; id = deepestParents[id]) {
+      chain.add(configurations.get(id));
+    }
+    return chain;
+  }
+
+  /**
+   * Configurations that the provided {@code configuration} extends from directly that it also inherits through
+   * another configuration it extends from, so removing them does not change its hierarchy.
+   *
+   * @param configuration the configuration
+   * @return the redundant {@code extendsFrom} configurations
+   * @throws IllegalArgumentException if {@code configuration} is not in this snapshot
+   */
+  public Set<Configuration> redundantExtendsFrom(final Configuration configuration) {
+    final BitSet redundantIds = redundant[id(configuration)];
+    final Set<Configuration> redundantConfigurations = new LinkedHashSet<>();
+    for (int id = redundantIds.nextSetBit(0); id >= 0; id = redundantIds.nextSetBit(id + 1)) {
+      redundantConfigurations.add(configurations.get(id));
+    }
+    return redundantConfigurations;
+  }
+
+  private int id(final Configuration configuration) {
+    final @Nullable Integer id = ids.get(Objects.requireNonNull(configuration, "configuration"));
+    if (id == null) {
+      throw new IllegalArgumentException("Configuration " + configuration.getName() + " is not in this graph");
+    }
+    return id;
+  }
+}
@@ -0,0 +1,217 @@
+package com.mkobit.gradle.test.assertj.api.artifacts.result;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.result.ResolutionResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Assertion methods for the {@link ResolutionResult} of a resolved configuration.
+ *
+ * Each assertion walks the graph of {@link ResolvedComponentResult} breadth first from the root and stops as soon as
+ * the outcome is known. {@link ResolutionResult#getAllComponents()} is not used, because Gradle computes it with a
+ * walk of the whole graph.
+ * Components are selected with a project path like {@code :core}, a module like {@code com.google.guava:guava} or the
+ * display name of the component.
+ * <pre>{@code
+ * assertThat(configurations.getByName("runtimeClasspath"))
+ *     .resolutionResult()
+ *     .hasComponent("com.google.guava:guava", "27.+")
+ *     .reachesComponentOnlyThrough("com.google.guava:guava", ":core");
+ * }</pre>
+ *
+ * @see com.mkobit.gradle.test.assertj.api.artifacts.ConfigurationAssert#resolutionResult()
+ */
+@GenerateSoftAssertions
+public class ResolutionResultAssert extends AbstractAssert<ResolutionResultAssert, ResolutionResult> {
+  public ResolutionResultAssert(final @Nullable ResolutionResult actual) {
+    super(actual, ResolutionResultAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  ResolutionResultAssert(final @Nullable ResolutionResultAssert source) {
+    this(source == null ? null : source.actual);
+  }
+
+  /**
+   * Verifies that the {@code actual} contains the provided {@code module} at the provided {@code version}.
+   * A {@code version} that ends with {@code +}, like {@code 27.+}, matches every resolved version that starts with the
+   * characters before the {@code +}, like a Gradle dynamic version does.
+   * The search stops at the first matching component.
+   *
+   * @param module the module, like {@code com.google.guava:guava}
+   * @param version the resolved version of the module, or a version prefix followed by {@code +}
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} does not contain the module at the version
+   * @throws NullPointerException if the provided {@code module} or {@code version} is {@code null}
+   */
+  public ResolutionResultAssert hasComponent(final CharSequence module, final CharSequence version) {
+    isNotNull();
+    Objects.requireNonNull(module, "module");
+    Objects.requireNonNull(version, "version");
+    final String moduleNotation = module.toString();
+    final String versionValue = version.toString();
+    final boolean isPrefix = versionValue.endsWith("+");
+    final String expectedVersion = isPrefix ? versionValue.substring(0, versionValue.length() - 1) : versionValue;
+    final Set<String> otherVersions = new TreeSet<>();
+    final @Nullable ResolvedComponentResult found = new ResolvedComponentSearch().breadthFirst(
+        root(),
+        component -> true,
+        (component, depth) -> {
+          final @Nullable ModuleVersionIdentifier moduleVersion = component.getModuleVersion();
+          if (moduleVersion == null || !ResolvedComponentSearch.isModule(moduleVersion, moduleNotation)) {
+            return false;
+          }
+          final String resolvedVersion = moduleVersion.getVersion();
+          if (isPrefix ? resolvedVersion.startsWith(expectedVersion) : resolvedVersion.equals(expectedVersion)) {
+            return true;
+          }
+          otherVersions.add(resolvedVersion);
+          return false;
+        });
+    if (found == null) {
+      if (otherVersions.isEmpty()) {
+        failWithMessage("%nExpecting resolution result to contain component:%n <%s:%s>%nbut module was not resolved",
+                        moduleNotation, versionValue);
+      } else {
+        failWithMessage("%nExpecting resolution result to contain component:%n <%s:%s>%nbut module was resolved at:%n"
+                            + " <%s>",
+                        moduleNotation, versionValue, otherVersions);
+      }
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the component selected by {@code to} can not be reached from the component selected by
+   * {@code from} through resolved dependencies.
+   * The search from the root stops at the {@code from} component, and the search from {@code from} stops as soon as
+   * {@code to} is reached.
+   *
+   * @param from the component to start from
+   * @param to the component that must not be reachable
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} does not contain the {@code from} component
+   * @throws AssertionError if there is a dependency path from {@code from} to {@code to}
+   * @throws NullPointerException if the provided {@code from} or {@code to} is {@code null}
+   */
+  public ResolutionResultAssert hasNoDependencyPath(final CharSequence from, final CharSequence to) {
+    isNotNull();
+    Objects.requireNonNull(from, "from");
+    Objects.requireNonNull(to, "to");
+    final String fromNotation = from.toString();
+    final String toNotation = to.toString();
+    final @Nullable ResolvedComponentResult start = new ResolvedComponentSearch().breadthFirst(
+        root(),
+        component -> true,
+        (component, depth) -> ResolvedComponentSearch.matches(component, fromNotation));
+    if (start == null) {
+      failWithMessage("%nExpecting resolution result to contain component:%n <%s>%nbut it did not", fromNotation);
+      return myself;
+    }
+    final ResolvedComponentSearch search = new ResolvedComponentSearch();
+    final @Nullable ResolvedComponentResult reached = search.breadthFirst(
+        Collections.singleton(start),
+        component -> true,
+        (component, depth) -> depth > 0 && ResolvedComponentSearch.matches(component, toNotation));
+    if (reached != null) {
+      failWithMessage("%nExpecting no dependency path from:%n <%s>%nto:%n <%s>%nbut found:%n <%s>",
+                      fromNotation, toNotation, search.pathTo(reached));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that every dependency path from the root to the component selected by {@code to} goes through the
+   * component selected by {@code through}.
+   * The search skips {@code through} and stops as soon as {@code to} is reached. If it does not reach {@code to}, it
+   * continues from the skipped {@code through} components, without visiting a component twice, to verify that
+   * {@code to} was resolved at all.
+   *
+   * @param to the component that must only be reached through {@code through}
+   * @param through the component all paths must go through
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} does not contain the {@code to} component
+   * @throws AssertionError if {@code to} is reachable from the root without going through {@code through}
+   * @throws NullPointerException if the provided {@code to} or {@code through} is {@code null}
+   */
+  public ResolutionResultAssert reachesComponentOnlyThrough(final CharSequence to, final CharSequence through) {
+    isNotNull();
+    Objects.requireNonNull(to, "to");
+    Objects.requireNonNull(through, "through");
+    final String toNotation = to.toString();
+    final String throughNotation = through.toString();
+    final List<ResolvedComponentResult> skipped = new ArrayList<>();
+    final ResolvedComponentSearch search = new ResolvedComponentSearch();
+    final @Nullable ResolvedComponentResult reached = search.breadthFirst(
+        root(),
+        component -> {
+          if (ResolvedComponentSearch.matches(component, throughNotation)) {
+            skipped.add(component);
+            return false;
+          }
+          return true;
+        },
+        (component, depth) -> ResolvedComponentSearch.matches(component, toNotation));
+    if (reached != null) {
+      failWithMessage("%nExpecting every dependency path to:%n <%s>%nto go through:%n <%s>%nbut found:%n <%s>",
+                      toNotation, throughNotation, search.pathTo(reached));
+      return myself;
+    }
+    // Components visited so far do not lead to the target without going through, so continuing with the same search
+    // only visits the components that are below the skipped ones
+    final @Nullable ResolvedComponentResult reachedThrough = search.breadthFirst(
+        skipped,
+        component -> true,
+        (component, depth) -> ResolvedComponentSearch.matches(component, toNotation));
+    if (reachedThrough == null) {
+      failWithMessage("%nExpecting resolution result to contain component:%n <%s>%nbut it did not", toNotation);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that every resolved component can be reached from the root through at most {@code depth} dependencies.
+   * The search stops at the first component that is farther away.
+   *
+   * @param depth the maximum length of the shortest dependency path to any component
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if a component is farther than {@code depth} dependencies from the root
+   * @throws IllegalArgumentException if {@code depth} is negative
+   */
+  public ResolutionResultAssert maxDepthAtMost(final int depth) {
+    isNotNull();
+    if (depth < 0) {
+      throw new IllegalArgumentException("depth must not be negative but was " + depth);
+    }
+    final ResolvedComponentSearch search = new ResolvedComponentSearch();
+    final @Nullable ResolvedComponentResult tooDeep = search.breadthFirst(
+        root(),
+        component -> true,
+        (component, componentDepth) -> componentDepth > depth);
+    if (tooDeep != null) {
+      failWithMessage("%nExpecting resolved components to be at most <%s> dependencies from the root but found:%n <%s>",
+                      depth, search.pathTo(tooDeep));
+    }
+    return myself;
+  }
+
+  private Set<ResolvedComponentResult> root() {
+    return Collections.singleton(actual.getRoot());
+  }
+}
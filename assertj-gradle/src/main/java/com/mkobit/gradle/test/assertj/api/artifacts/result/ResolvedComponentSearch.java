@@ -0,0 +1,124 @@
+package com.mkobit.gradle.test.assertj.api.artifacts.result;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Breadth first search over the resolved components of a dependency graph that stops as soon as its visitor asks it
+ * to, so an assertion only walks as much of the graph as it needs.
+ *
+ * Components are identified by their {@link ComponentIdentifier}, and each component is visited once at the length of
+ * the shortest path to it. Unresolved dependencies are not followed.
+ */
+final class ResolvedComponentSearch {
+  private final Map<ComponentIdentifier, @Nullable ResolvedComponentResult> parents = new HashMap<>();
+
+  interface Visitor {
+    /**
+     * Visits a component.
+     *
+     * @param component the component
+     * @param depth the length of the shortest path from a start component to {@code component}
+     * @return {@code true} to stop the search at {@code component}
+     */
+    boolean stopAt(ResolvedComponentResult component, int depth);
+  }
+
+  /**
+   * Searches from the {@code starts} components.
+   *
+   * @param starts the components to start from, at depth {@code 0}
+   * @param include whether a component reached from another component is visited and its dependencies followed
+   * @param visitor visits each component
+   * @return the component the search stopped at, or {@code null} if every reachable component was visited
+   */
+  @Nullable ResolvedComponentResult breadthFirst(final Iterable<? extends ResolvedComponentResult> starts,
+                                                 final Predicate<ResolvedComponentResult> include,
+                                                 final Visitor visitor) {
+    final Deque<ResolvedComponentResult> level = new ArrayDeque<>();
+    for (final ResolvedComponentResult start : starts) {
+      if (!parents.containsKey(start.getId())) {
+        parents.put(start.getId(), null);
+        level.add(start);
+      }
+    }
+    int depth = 0;
+    while (!level.isEmpty()) {
+      for (int remaining = level.size(); remaining > 0; remaining--) {
+        final ResolvedComponentResult component = level.removeFirst();
+        if (visitor.stopAt(component, depth)) {
+          return component;
+        }
+        for (final DependencyResult dependency : component.getDependencies()) {
+          if (!(dependency instanceof ResolvedDependencyResult)) {
+            continue;
+          }
+          final ResolvedComponentResult selected = ((ResolvedDependencyResult) dependency).getSelected();
+          if (!parents.containsKey(selected.getId()) && include.test(selected)) {
+            parents.put(selected.getId(), component);
+            level.addLast(selected);
+          }
+        }
+      }
+      depth++;
+    }
+    return null;
+  }
+
+  /**
+   * The shortest path found from a start component to the provided {@code component}.
+   *
+   * @param component a component visited by this search
+   * @return the display names of the components on the path, starting with a start component
+   */
+  List<String> pathTo(final ResolvedComponentResult component) {
+    final List<String> path = new ArrayList<>();
+    for (@Nullable ResolvedComponentResult current = component;
+         current != null;
+         current = parents.get(current.getId())) {
+      path.add(current.getId().getDisplayName());
+    }
+    Collections.reverse(path);
+    return path;
+  }
+
+  /**
+   * Whether the {@code component} is selected by the provided {@code notation}, which is either a project path like
+   * {@code :core}, a module like {@code com.google.guava:guava} or the display name of the component.
+   */
+  static boolean matches(final ResolvedComponentResult component, final String notation) {
+    final ComponentIdentifier id = component.getId();
+    if (id instanceof ProjectComponentIdentifier
+        && ((ProjectComponentIdentifier) id).getProjectPath().equals(notation)) {
+      return true;
+    }
+    final @Nullable ModuleVersionIdentifier moduleVersion = component.getModuleVersion();
+    if (moduleVersion != null && isModule(moduleVersion, notation)) {
+      return true;
+    }
+    return id.getDisplayName().equals(notation);
+  }
+
+  static boolean isModule(final ModuleVersionIdentifier moduleVersion, final String module) {
+    final String group = moduleVersion.getGroup();
+    final String name = moduleVersion.getName();
+    return module.length() == group.length() + 1 + name.length()
+        && module.startsWith(group)
+        && module.charAt(group.length()) == ':'
+        && module.endsWith(name);
+  }
+}
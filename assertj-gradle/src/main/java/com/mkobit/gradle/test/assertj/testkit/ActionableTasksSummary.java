@@ -0,0 +1,144 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The {@code N actionable tasks: X executed, Y from cache, Z up-to-date} summary printed at the end of a build.
+ *
+ * @see BuildResultAssert#actionableTasksSummary()
+ */
+public final class ActionableTasksSummary {
+  private final int total;
+  private final int executed;
+  private final int fromCache;
+  private final int upToDate;
+
+  ActionableTasksSummary(final int total, final int executed, final int fromCache, final int upToDate) {
+    this.total = total;
+    this.executed = executed;
+    this.fromCache = fromCache;
+    this.upToDate = upToDate;
+  }
+
+  /**
+   * Parses a summary line.
+   *
+   * @param line the line, for example {@code 3 actionable tasks: 2 executed, 1 up-to-date}
+   * @return the summary or {@code null} if the {@code line} is not a summary line
+   */
+  static @Nullable ActionableTasksSummary parse(final String line) {
+    final int colon = line.indexOf(':');
+    if (colon < 0) {
+      return null;
+    }
+    final String head = line.substring(0, colon);
+    final int space = head.indexOf(' ');
+    final String label = space < 0 ? "" : head.substring(space + 1);
+    if (!label.equals("actionable task") && !label.equals("actionable tasks")) {
+      return null;
+    }
+    final int total = parseCount(head.substring(0, space));
+    if (total < 0) {
+      return null;
+    }
+    int executed = 0;
+    int fromCache = 0;
+    int upToDate = 0;
+    for (final String part : line.substring(colon + 1).split(",")) {
+      final String trimmed = part.trim();
+      final int separator = trimmed.indexOf(' ');
+      if (separator < 0) {
+        continue;
+      }
+      final int count = parseCount(trimmed.substring(0, separator));
+      if (count < 0) {
+        continue;
+      }
+      switch (trimmed.substring(separator + 1)) {
+        case "executed":
+          executed = count;
+          break;
+        case "from cache":
+          fromCache = count;
+          break;
+        case "up-to-date":
+          upToDate = count;
+          break;
+        default:
+          // Categories added by newer Gradle versions are only reflected in the total
+      }
+    }
+    return new ActionableTasksSummary(total, executed, fromCache, upToDate);
+  }
+
+  private static int parseCount(final String count) {
+    try {
+      return Integer.parseInt(count);
+    } catch (final NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * The number of actionable tasks.
+   *
+   * @return the total count
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * The number of tasks that executed their actions.
+   *
+   * @return the executed count
+   */
+  public int getExecuted() {
+    return executed;
+  }
+
+  /**
+   * The number of tasks whose outputs were loaded from the build cache.
+   *
+   * @return the from cache count
+   */
+  public int getFromCache() {
+    return fromCache;
+  }
+
+  /**
+   * The number of tasks that were up-to-date.
+   *
+   * @return the up-to-date count
+   */
+  public int getUpToDate() {
+    return upToDate;
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ActionableTasksSummary)) {
+      return false;
+    }
+    final ActionableTasksSummary that = (ActionableTasksSummary) o;
+    return total == that.total && executed == that.executed && fromCache == that.fromCache && upToDate == that.upToDate;
+  }
+
+  @Override
+  public int hashCode() {
+    return ((total * 31 + executed) * 31 + fromCache) * 31 + upToDate;
+  }
+
+  @Override
+  public String toString() {
+    return "ActionableTasksSummary("
+        + "total=" + total
+        + ", executed=" + executed
+        + ", fromCache=" + fromCache
+        + ", upToDate=" + upToDate
+        + ")";
+  }
+}
@@ -0,0 +1,90 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Assertion methods for {@link ActionableTasksSummary}.
+ *
+ * @see BuildResultAssert#actionableTasksSummary()
+ * @see com.mkobit.gradle.test.assertj.GradleAssertions
+ * @see com.mkobit.gradle.test.assertj.GradleSoftAssertions
+ */
+@GenerateSoftAssertions
+public class ActionableTasksSummaryAssert
+    extends AbstractAssert<ActionableTasksSummaryAssert, ActionableTasksSummary> {
+  public ActionableTasksSummaryAssert(final @Nullable ActionableTasksSummary actual) {
+    super(actual, ActionableTasksSummaryAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  ActionableTasksSummaryAssert(final @Nullable ActionableTasksSummaryAssert source) {
+    this(source == null ? null : source.actual);
+  }
+
+  /**
+   * Verifies that the number of actionable tasks is equal to the provided {@code count}.
+   *
+   * @param count the expected count
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} total is not equal to {@code count}
+   */
+  public ActionableTasksSummaryAssert hasTotal(final int count) {
+    isNotNull();
+    return hasCount("actionable tasks", actual.getTotal(), count);
+  }
+
+  /**
+   * Verifies that the number of executed tasks is equal to the provided {@code count}.
+   *
+   * @param count the expected count
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} executed count is not equal to {@code count}
+   */
+  public ActionableTasksSummaryAssert hasExecuted(final int count) {
+    isNotNull();
+    return hasCount("executed tasks", actual.getExecuted(), count);
+  }
+
+  /**
+   * Verifies that the number of tasks loaded from the build cache is equal to the provided {@code count}.
+   *
+   * @param count the expected count
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} from cache count is not equal to {@code count}
+   */
+  public ActionableTasksSummaryAssert hasFromCache(final int count) {
+    isNotNull();
+    return hasCount("tasks from cache", actual.getFromCache(), count);
+  }
+
+  /**
+   * Verifies that the number of up-to-date tasks is equal to the provided {@code count}.
+   *
+   * @param count the expected count
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} up-to-date count is not equal to {@code count}
+   */
+  public ActionableTasksSummaryAssert hasUpToDate(final int count) {
+    isNotNull();
+    return hasCount("up-to-date tasks", actual.getUpToDate(), count);
+  }
+
+  private ActionableTasksSummaryAssert hasCount(final String description, final int actualCount, final int count) {
+    if (actualCount != count) {
+      failWithMessage("%nExpecting build summary:%n <%s>%nto have <%s> %s but had <%s>",
+                      actual,
+                      count,
+                      description,
+                      actualCount);
+    }
+    return myself;
+  }
+}
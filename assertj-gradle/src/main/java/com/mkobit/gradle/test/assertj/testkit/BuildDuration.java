@@ -0,0 +1,133 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Parses the duration of the {@code BUILD SUCCESSFUL in 1m 3s} and {@code BUILD FAILED in 250ms} summary lines.
+ *
+ * Gradle prints the duration as {@code [Nh ][Nm ]Ns} or {@code Nms}, truncated to whole seconds once it is at least a
+ * second.
+ */
+final class BuildDuration {
+  /**
+   * Number of characters at the end of the output that are searched for the summary line.
+   */
+  static final int TAIL_WINDOW = 64 * 1024;
+
+  private static final String[] SUMMARY_PREFIXES = {"BUILD SUCCESSFUL in ", "BUILD FAILED in "};
+
+  private BuildDuration() {
+  }
+
+  /**
+   * Finds the last summary line within the last {@link #TAIL_WINDOW} characters of the {@code output} and parses its
+   * duration. Only the tail is read, from the end backwards.
+   *
+   * @return the duration or {@code null} if there is no summary line with a valid duration in the tail
+   */
+  static @Nullable Duration findInTail(final CharSequence output) {
+    final int length = output.length();
+    final int limit = Math.max(0, length - TAIL_WINDOW);
+    int lineEnd = length > 0 && output.charAt(length - 1) == '\r' ? length - 1 : length;
+    for (int i = length - 1; i >= limit - 1; i--) {
+      if (i >= 0 && output.charAt(i) != '\n') {
+        continue;
+      }
+      final int lineStart = i + 1;
+      for (final String prefix : SUMMARY_PREFIXES) {
+        if (startsWith(output, lineStart, lineEnd, prefix)) {
+          return parse(output.subSequence(lineStart + prefix.length(), lineEnd));
+        }
+      }
+      lineEnd = i > 0 && output.charAt(i - 1) == '\r' ? i - 1 : i;
+    }
+    return null;
+  }
+
+  /**
+   * Parses a duration such as {@code 3s}, {@code 1m 3s}, {@code 1h 0m 5s} or {@code 250ms}.
+   *
+   * @return the duration or {@code null} if {@code text} is not a duration
+   */
+  static @Nullable Duration parse(final CharSequence text) {
+    Duration duration = Duration.ZERO;
+    int i = 0;
+    final int length = text.length();
+    boolean parsedAny = false;
+    while (i < length) {
+      if (text.charAt(i) == ' ') {
+        i++;
+        continue;
+      }
+      long value = 0;
+      final int digitsStart = i;
+      while (i < length && Character.isDigit(text.charAt(i)) && i - digitsStart < 18) {
+        value = value * 10 + (text.charAt(i) - '0');
+        i++;
+      }
+      if (i == digitsStart) {
+        return null;
+      }
+      if (i + 1 < length && text.charAt(i) == 'm' && text.charAt(i + 1) == 's') {
+        duration = duration.plusMillis(value);
+        i += 2;
+      } else if (i < length && text.charAt(i) == 'h') {
+        duration = duration.plusHours(value);
+        i++;
+      } else if (i < length && text.charAt(i) == 'm') {
+        duration = duration.plusMinutes(value);
+        i++;
+      } else if (i < length && text.charAt(i) == 's') {
+        duration = duration.plusSeconds(value);
+        i++;
+      } else {
+        return null;
+      }
+      if (i < length && text.charAt(i) != ' ') {
+        return null;
+      }
+      parsedAny = true;
+    }
+    return parsedAny ? duration : null;
+  }
+
+  /**
+   * Formats a duration the way Gradle prints it, keeping milliseconds when there are any.
+   */
+  static String format(final Duration duration) {
+    final long millis = duration.toMillis();
+    if (millis < 1000) {
+      return millis + "ms";
+    }
+    final StringBuilder builder = new StringBuilder();
+    final long hours = millis / 3_600_000;
+    final long minutes = millis % 3_600_000 / 60_000;
+    final long seconds = millis % 60_000 / 1000;
+    final long remainder = millis % 1000;
+    if (hours > 0) {
+      builder.append(hours).append("h ");
+    }
+    if (hours > 0 || minutes > 0) {
+      builder.append(minutes).append("m ");
+    }
+    builder.append(seconds).append('s');
+    if (remainder > 0) {
+      builder.append(' ').append(remainder).append("ms");
+    }
+    return builder.toString();
+  }
+
+  private static boolean startsWith(final CharSequence output, final int start, final int end, final String prefix) {
+    if (end - start < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (output.charAt(start + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
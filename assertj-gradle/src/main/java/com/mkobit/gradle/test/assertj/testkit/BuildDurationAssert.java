@@ -0,0 +1,26 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractComparableAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Assertion methods for the duration of the {@code BUILD SUCCESSFUL in} or {@code BUILD FAILED in} summary line.
+ *
+ * @see BuildResultAssert#buildDuration()
+ */
+@GenerateSoftAssertions
+public class BuildDurationAssert extends AbstractComparableAssert<BuildDurationAssert, Duration> {
+  public BuildDurationAssert(final @Nullable Duration actual) {
+    super(actual, BuildDurationAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  BuildDurationAssert(final @Nullable BuildDurationAssert source) {
+    this(source == null ? null : source.actual);
+  }
+}
@@ -0,0 +1,432 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.BuildResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index over {@link BuildResult#getOutput()} that is built once per result and shared by every output assertion.
+ *
+ * The index records line boundaries, a hash per line and a trigram filter over the whole output.
+ * The filter answers "definitely absent" for most sequences that are not in the output without scanning it.
+ * Indexes are cached by the identity of the {@link BuildResult} and are dropped when the result is garbage collected,
+ * so {@link BuildResultAssert} instances created by {@link com.mkobit.gradle.test.assertj.GradleAssertions} and
+ * {@link com.mkobit.gradle.test.assertj.GradleSoftAssertions} for the same result reuse one index.
+ */
+final class BuildOutputIndex {
+  private static final WeakIdentityCache<BuildResult, BuildOutputIndex> CACHE = new WeakIdentityCache<>();
+
+  private static final int MIN_FILTER_BITS = 1 << 10;
+  private static final int MAX_FILTER_BITS = 1 << 23;
+
+  private final CharSequence output;
+  private final int[] lineStarts;
+  private final int[] lineEnds;
+  private final int[] lineHashes;
+  private final int lineCount;
+  private final long[] trigramFilter;
+  private final int trigramMask;
+  private @Nullable Path writtenDirectory;
+  private @Nullable Path writtenFile;
+  private @Nullable ConsoleOutput consoleOutput;
+  private @Nullable Map<OutputNormalizer, BuildOutputIndex> normalizedIndexes;
+
+  BuildOutputIndex(final CharSequence output) {
+    this.output = output;
+    final int length = output.length();
+    final int filterBits = Math.min(MAX_FILTER_BITS, Math.max(MIN_FILTER_BITS, Integer.highestOneBit(length) << 1));
+    this.trigramFilter = new long[filterBits >>> 6];
+    this.trigramMask = filterBits - 1;
+
+    int[] starts = new int[16];
+    int[] ends = new int[16];
+    int[] hashes = new int[16];
+    int lines = 0;
+    int lineStart = 0;
+    int hash = 0;
+    int hashBeforeLast = 0;
+    for (int i = 0; i < length; i++) {
+      final char c = output.charAt(i);
+      if (i >= 2) {
+        setTrigram(output.charAt(i - 2), output.charAt(i - 1), c);
+      }
+      if (c == '\n') {
+        if (lines == starts.length) {
+          starts = Arrays.copyOf(starts, lines << 1);
+          ends = Arrays.copyOf(ends, lines << 1);
+          hashes = Arrays.copyOf(hashes, lines << 1);
+        }
+        final boolean carriageReturn = i > lineStart && output.charAt(i - 1) == '\r';
+        starts[lines] = lineStart;
+        ends[lines] = carriageReturn ? i - 1 : i;
+        hashes[lines] = carriageReturn ? hashBeforeLast : hash;
+        lines++;
+        lineStart = i + 1;
+        hash = 0;
+      } else {
+        hashBeforeLast = hash;
+        hash = 31 * hash + c;
+      }
+    }
+    if (lineStart < length) {
+      if (lines == starts.length) {
+        starts = Arrays.copyOf(starts, lines + 1);
+        ends = Arrays.copyOf(ends, lines + 1);
+        hashes = Arrays.copyOf(hashes, lines + 1);
+      }
+      final boolean carriageReturn = output.charAt(length - 1) == '\r';
+      starts[lines] = lineStart;
+      ends[lines] = carriageReturn ? length - 1 : length;
+      hashes[lines] = carriageReturn ? hashBeforeLast : hash;
+      lines++;
+    }
+    this.lineStarts = starts;
+    this.lineEnds = ends;
+    this.lineHashes = hashes;
+    this.lineCount = lines;
+  }
+
+  /**
+   * Retrieves the shared index for the output of the provided {@code result}, building it if necessary.
+   * The index is rebuilt if the result starts returning a different output instance.
+   *
+   * @param result the build result
+   * @return the index for the current output of {@code result}
+   */
+  static BuildOutputIndex of(final BuildResult result) {
+    final String output = result.getOutput();
+    return CACHE.computeIfAbsent(result, cached -> cached.output == output, key -> new BuildOutputIndex(output));
+  }
+
+  /**
+   * The indexed output. This is a {@link String} unless the index was built over a {@link FileBackedOutput}.
+   */
+  CharSequence output() {
+    return output;
+  }
+
+  int lineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Start offset of a line in {@link #output()}.
+   */
+  int lineStart(final int line) {
+    return lineStarts[line];
+  }
+
+  /**
+   * End offset (exclusive, not including the line terminator) of a line in {@link #output()}.
+   */
+  int lineEnd(final int line) {
+    return lineEnds[line];
+  }
+
+  /**
+   * Finds the line that contains the character at {@code offset}.
+   *
+   * @param offset a character offset in {@link #output()}
+   * @return the line number
+   */
+  int lineOf(final int offset) {
+    final int search = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+    final int line = search >= 0 ? search : -search - 2;
+    return Math.max(0, Math.min(line, lineCount - 1));
+  }
+
+  /**
+   * Determines whether the output contains the provided {@code sequence}.
+   * The trigram filter is consulted before falling back to a scan of the output.
+   */
+  boolean contains(final CharSequence sequence) {
+    return indexOf(sequence) >= 0;
+  }
+
+  /**
+   * Finds the first occurrence of the provided {@code sequence} in the output.
+   *
+   * @return the start offset of the first occurrence or {@code -1} if there is none
+   */
+  int indexOf(final CharSequence sequence) {
+    return indexOf(sequence, 0, output.length());
+  }
+
+  /**
+   * Finds the first occurrence of the provided {@code sequence} that lies entirely within {@code [from, to)}.
+   *
+   * @return the start offset of the first occurrence or {@code -1} if there is none
+   */
+  int indexOf(final CharSequence sequence, final int from, final int to) {
+    final int length = sequence.length();
+    if (length > to - from || !mightContain(sequence)) {
+      return -1;
+    }
+    if (output instanceof String) {
+      final int offset = ((String) output).indexOf(sequence.toString(), from);
+      return offset >= 0 && offset + length <= to ? offset : -1;
+    }
+    if (length == 0) {
+      return from;
+    }
+    final char first = sequence.charAt(0);
+    final int last = to - length;
+    for (int i = from; i <= last; i++) {
+      if (output.charAt(i) == first && regionMatches(i, sequence, length)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Hash of the characters of a line, excluding its terminator.
+   */
+  int lineHash(final int line) {
+    return lineHashes[line];
+  }
+
+  /**
+   * Determines whether line {@code i} of {@code first} and line {@code j} of {@code second} have the same characters.
+   */
+  static boolean linesEqual(final BuildOutputIndex first, final int i, final BuildOutputIndex second, final int j) {
+    final int length = first.lineEnds[i] - first.lineStarts[i];
+    if (first.lineHashes[i] != second.lineHashes[j] || length != second.lineEnds[j] - second.lineStarts[j]) {
+      return false;
+    }
+    final int firstStart = first.lineStarts[i];
+    final int secondStart = second.lineStarts[j];
+    for (int k = 0; k < length; k++) {
+      if (first.output.charAt(firstStart + k) != second.output.charAt(secondStart + k)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the provided {@code output} to the {@code writer}.
+   * An output that is not a {@link String} is written in chunks so that it is never copied onto the heap as a whole.
+   */
+  static void write(final Writer writer, final CharSequence output) throws IOException {
+    if (output instanceof String) {
+      writer.write((String) output);
+      return;
+    }
+    final int chunk = 8192;
+    for (int start = 0; start < output.length(); start += chunk) {
+      writer.append(output, start, Math.min(output.length(), start + chunk));
+    }
+  }
+
+  /**
+   * Determines whether the provided {@code line} starts with {@code prefix}.
+   */
+  boolean lineStartsWith(final int line, final CharSequence prefix) {
+    return lineEnds[line] - lineStarts[line] >= prefix.length()
+        && regionMatches(lineStarts[line], prefix, prefix.length());
+  }
+
+  /**
+   * Copies the provided {@code line} out of the output.
+   */
+  String lineText(final int line) {
+    return output.subSequence(lineStarts[line], lineEnds[line]).toString();
+  }
+
+  /**
+   * The console model of the output, parsed on first use.
+   */
+  synchronized ConsoleOutput consoleOutput() {
+    final @Nullable ConsoleOutput existing = consoleOutput;
+    if (existing != null) {
+      return existing;
+    }
+    final ConsoleOutput parsed = ConsoleOutput.parse(this);
+    consoleOutput = parsed;
+    return parsed;
+  }
+
+  /**
+   * The index over the output normalized by the provided {@code normalizer}, built once per normalizer.
+   * If no rule of the {@code normalizer} matches, this index is returned and the output is not copied.
+   */
+  synchronized BuildOutputIndex normalized(final OutputNormalizer normalizer) {
+    @Nullable Map<OutputNormalizer, BuildOutputIndex> indexes = normalizedIndexes;
+    if (indexes == null) {
+      indexes = new HashMap<>(4);
+      normalizedIndexes = indexes;
+    }
+    final @Nullable BuildOutputIndex existing = indexes.get(normalizer);
+    if (existing != null) {
+      return existing;
+    }
+    final @Nullable String normalized = normalizer.normalizeIfChanged(output);
+    final BuildOutputIndex index = normalized != null ? new BuildOutputIndex(normalized) : this;
+    indexes.put(normalizer, index);
+    return index;
+  }
+
+  /**
+   * Determines whether the output may contain the provided {@code sequence}.
+   * A {@code false} result is definitive, a {@code true} result is not.
+   */
+  boolean mightContain(final CharSequence sequence) {
+    final int length = sequence.length();
+    if (length > output.length()) {
+      return false;
+    }
+    for (int i = 2; i < length; i++) {
+      if (!hasTrigram(sequence.charAt(i - 2), sequence.charAt(i - 1), sequence.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the first line that is exactly equal to the provided {@code line}.
+   *
+   * @return the line number or {@code -1} if there is no such line
+   */
+  int indexOfLine(final CharSequence line) {
+    if (!mightContain(line)) {
+      return -1;
+    }
+    final int hash = hash(line);
+    for (int i = 0; i < lineCount; i++) {
+      if (lineEquals(i, line, hash)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Determines whether a line is exactly equal to the provided {@code text}.
+   *
+   * @param hash the {@link #hash(CharSequence)} of {@code text}
+   */
+  boolean lineEquals(final int line, final CharSequence text, final int hash) {
+    final int length = text.length();
+    return lineHashes[line] == hash
+        && lineEnds[line] - lineStarts[line] == length
+        && regionMatches(lineStarts[line], text, length);
+  }
+
+  /**
+   * Hash of {@code text} as it is computed for each line of the index.
+   */
+  static int hash(final CharSequence text) {
+    int hash = 0;
+    for (int i = 0; i < text.length(); i++) {
+      hash = 31 * hash + text.charAt(i);
+    }
+    return hash;
+  }
+
+  /**
+   * Finds the first line that entirely matches the provided {@code pattern}.
+   * Each line is matched as a region of the output so no line is copied, and when the pattern starts with a literal
+   * only the lines that start with that literal are matched against the pattern.
+   *
+   * @return the line number or {@code -1} if there is no such line
+   */
+  int indexOfLineMatching(final Pattern pattern) {
+    final String prefix = Patterns.literalPrefix(pattern);
+    if (!mightContain(prefix)) {
+      return -1;
+    }
+    final int prefixLength = prefix.length();
+    @Nullable Matcher matcher = null;
+    for (int i = 0; i < lineCount; i++) {
+      final int start = lineStarts[i];
+      if (prefixLength > 0
+          && (lineEnds[i] - start < prefixLength || !regionMatches(start, prefix, prefixLength))) {
+        continue;
+      }
+      if (matcher == null) {
+        matcher = pattern.matcher(output);
+      }
+      matcher.region(start, lineEnds[i]);
+      if (matcher.matches()) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds the first subsequence of the output that matches the provided {@code pattern}.
+   * If the pattern starts with a literal that the trigram filter rules out, the output is not scanned.
+   *
+   * @return the start offset of the match or {@code -1} if there is no match
+   */
+  int find(final Pattern pattern) {
+    if (!mightContain(Patterns.literalPrefix(pattern))) {
+      return -1;
+    }
+    final Matcher matcher = pattern.matcher(output);
+    return matcher.find() ? matcher.start() : -1;
+  }
+
+  /**
+   * Writes the output into the provided {@code directory} unless it was already written there.
+   *
+   * @param directory the directory to write into
+   * @param writer writes the output and returns the file it was written to
+   * @return the file containing the output
+   * @throws IOException if the output could not be written
+   */
+  synchronized Path writtenTo(final Path directory, final OutputWriter writer) throws IOException {
+    final @Nullable Path existing = writtenFile;
+    if (existing != null && directory.equals(writtenDirectory)) {
+      return existing;
+    }
+    final Path file = writer.write(directory, output);
+    writtenDirectory = directory;
+    writtenFile = file;
+    return file;
+  }
+
+  @FunctionalInterface
+  interface OutputWriter {
+    Path write(Path directory, CharSequence output) throws IOException;
+  }
+
+  private boolean regionMatches(final int offset, final CharSequence other, final int length) {
+    if (output instanceof String && other instanceof String) {
+      return ((String) output).regionMatches(offset, (String) other, 0, length);
+    }
+    for (int i = 0; i < length; i++) {
+      if (output.charAt(offset + i) != other.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void setTrigram(final char first, final char second, final char third) {
+    final int bit = trigramBit(first, second, third);
+    trigramFilter[bit >>> 6] |= 1L << bit;
+  }
+
+  private boolean hasTrigram(final char first, final char second, final char third) {
+    final int bit = trigramBit(first, second, third);
+    return (trigramFilter[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  private int trigramBit(final char first, final char second, final char third) {
+    int hash = (first * 961 + second * 31 + third) * 0x9E3779B1;
+    hash ^= hash >>> 15;
+    return hash & trigramMask;
+  }
+}
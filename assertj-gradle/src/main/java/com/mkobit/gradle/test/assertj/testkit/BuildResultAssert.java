@@ -1,13 +1,26 @@
 package com.mkobit.gradle.test.assertj.testkit;
 
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
 import org.assertj.core.api.AbstractAssert;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.testkit.runner.BuildResult;
 import org.gradle.testkit.runner.BuildTask;
 import org.gradle.testkit.runner.TaskOutcome;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
@@ -20,10 +33,72 @@ import java.util.stream.Collectors;
  * @see com.mkobit.gradle.test.assertj.GradleSoftAssertions
  * @see BuildTaskAssert
  */
+@GenerateSoftAssertions
 public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildResult> {
+  /**
+   * System property that enables snapshot update mode when set to {@code true}.
+   * In update mode {@link #outputMatchesSnapshot(Path)} rewrites snapshots that are missing or differ from the output
+   * instead of failing.
+   */
+  public static final String UPDATE_SNAPSHOTS_PROPERTY = "assertj-gradle.updateSnapshots";
+
+  private static final int SNAPSHOT_CONTEXT_LINES = 3;
+  private static final int SNAPSHOT_MAX_HUNKS = 10;
+  private static final int MAX_LISTED_TASKS = 50;
+  private static final int MAX_TASK_PATH_SUGGESTIONS = 5;
+  private static final int MIN_SUGGESTION_DISTANCE = 3;
+
+  private OutputFailureFormat outputFailureFormat = OutputFailureFormat.bounded();
+  private @Nullable FileBackedOutput fileBackedOutput;
+  private @Nullable OutputNormalizer outputNormalizer;
+
   public BuildResultAssert(final @Nullable BuildResult actual) {
     super(actual, BuildResultAssert.class);
   }
+
+  /**
+   * Uses the provided {@code format} to render build output in failure messages of this assertion object.
+   * Defaults to {@link OutputFailureFormat#bounded()}.
+   *
+   * @param format the format to use
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code format} is {@code null}
+   */
+  public BuildResultAssert withOutputFailureFormat(final OutputFailureFormat format) {
+    this.outputFailureFormat = Objects.requireNonNull(format, "format");
+    return myself;
+  }
+
+  /**
+   * Runs the output assertions of this assertion object against the provided {@code output} instead of
+   * {@link BuildResult#getOutput()}.
+   * The output is read from its memory-mapped file, so no full copy of it is made on the heap except by
+   * {@link #outputSatisfies(Consumer)}.
+   *
+   * @param output the output captured from the build that produced {@code actual}
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code output} is {@code null}
+   */
+  public BuildResultAssert withOutputFrom(final FileBackedOutput output) {
+    this.fileBackedOutput = Objects.requireNonNull(output, "output");
+    return myself;
+  }
+
+  /**
+   * Runs the output assertions of this assertion object against the output normalized by the provided
+   * {@code normalizer}.
+   * The normalized output is computed once per output and normalizer and shared by all assertion objects for the same
+   * {@link BuildResult}.
+   * Failure messages show the normalized output.
+   *
+   * @param normalizer the normalizer to apply
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code normalizer} is {@code null}
+   */
+  public BuildResultAssert normalizedWith(final OutputNormalizer normalizer) {
+    this.outputNormalizer = Objects.requireNonNull(normalizer, "normalizer");
+    return myself;
+  }
   //  String getOutput();
 
   /**
@@ -39,10 +114,12 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     isNotNull();
     Objects.requireNonNull(sequence, "sequence");
 
-    if (!actual.getOutput().contains(sequence)) {
-      failWithMessage("%nExpecting build result output:%n <%s>%nto contain sequence:%n <%s>",
-                      actual.getOutput(),
-                      sequence);
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (!outputIndex.contains(sequence)) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto contain sequence:%n <%s>%s",
+                      renderOutput(outputIndex),
+                      sequence,
+                      renderClosestMatch(outputIndex, sequence));
     }
 
     return myself;
@@ -61,12 +138,140 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     isNotNull();
     Objects.requireNonNull(sequence, "sequence");
 
-    if (actual.getOutput().contains(sequence)) {
-      failWithMessage("%nExpecting build result output:%n <%s>%nto not contain sequence:%n <%s>",
-                      actual.getOutput(),
-                      sequence);
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (outputIndex.contains(sequence)) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto not contain sequence:%n <%s>%s",
+                      renderOutput(outputIndex),
+                      sequence,
+                      renderOccurrence(outputIndex, sequence));
+    }
+
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} contains all of the provided sequences.
+   * All sequences are searched for in a single pass over the output and every missing sequence is reported.
+   *
+   * @param sequences the sequences to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code sequences} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output does not contain any of the provided {@code sequences}
+   */
+  public BuildResultAssert outputContainsAll(final CharSequence... sequences) {
+    isNotNull();
+    final List<CharSequence> sequenceList = requireNonNullElements(sequences, "sequences");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final BitSet found = findSequences(outputIndex, sequenceList, sequenceList.size());
+    if (found.cardinality() != sequenceList.size()) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto contain all of:%n <%s>%nbut could not find:%n <%s>",
+                      renderOutput(outputIndex),
+                      sequenceList,
+                      selectSequences(sequenceList, found, false));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} contains at least one of the provided sequences.
+   * Scanning stops as soon as one of the sequences is found.
+   *
+   * @param sequences the sequences to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code sequences} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output contains none of the provided {@code sequences}
+   */
+  public BuildResultAssert outputContainsAnyOf(final CharSequence... sequences) {
+    isNotNull();
+    final List<CharSequence> sequenceList = requireNonNullElements(sequences, "sequences");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (findSequences(outputIndex, sequenceList, 1).isEmpty()) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto contain any of:%n <%s>%nbut contained none",
+                      renderOutput(outputIndex),
+                      sequenceList);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} contains none of the provided sequences.
+   * All sequences are searched for in a single pass over the output and every present sequence is reported.
+   *
+   * @param sequences the sequences to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code sequences} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output contains any of the provided {@code sequences}
+   */
+  public BuildResultAssert outputContainsNoneOf(final CharSequence... sequences) {
+    isNotNull();
+    final List<CharSequence> sequenceList = requireNonNullElements(sequences, "sequences");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final BitSet found = findSequences(outputIndex, sequenceList, sequenceList.size());
+    if (!found.isEmpty()) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto contain none of:%n <%s>%nbut found:%n <%s>",
+                      renderOutput(outputIndex),
+                      sequenceList,
+                      selectSequences(sequenceList, found, true));
     }
+    return myself;
+  }
 
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} contains the provided sequences in order, each one starting after
+   * the end of the previous one.
+   * The output is read once from start to end.
+   *
+   * @param sequences the sequences to test, in the order they are expected
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code sequences} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output does not contain the provided {@code sequences} in order
+   */
+  public BuildResultAssert outputContainsSubsequence(final CharSequence... sequences) {
+    isNotNull();
+    final List<CharSequence> sequenceList = requireNonNullElements(sequences, "sequences");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final SubsequenceScan scan = SubsequenceScan.of(outputIndex.output(), sequenceList);
+    if (scan.matchedCount() != sequenceList.size()) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto contain subsequence:%n <%s>%n%s",
+                      renderOutput(outputIndex),
+                      sequenceList,
+                      renderSubsequenceMismatch(outputIndex, sequenceList, scan));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} has lines equal to the provided lines in order, possibly with
+   * other lines between them.
+   * The output is read once from start to end.
+   *
+   * @param lines the lines to test, in the order they are expected
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code lines} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output does not have the provided {@code lines} in order
+   * @see #outputHasLine(CharSequence)
+   */
+  public BuildResultAssert outputHasLineSubsequence(final CharSequence... lines) {
+    isNotNull();
+    final List<CharSequence> lineList = requireNonNullElements(lines, "lines");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final SubsequenceScan scan = SubsequenceScan.ofLines(outputIndex, lineList);
+    if (scan.matchedCount() != lineList.size()) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto have lines in order:%n <%s>%n%s",
+                      renderOutput(outputIndex),
+                      lineList,
+                      renderSubsequenceMismatch(outputIndex, lineList, scan));
+    }
     return myself;
   }
 
@@ -83,13 +288,31 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     isNotNull();
     Objects.requireNonNull(pattern, "pattern");
 
-    if (!pattern.matcher(actual.getOutput()).matches()) {
-      failWithMessage("%nExpecting build output to match:%n <%s>%nbut was:%n <%s>", pattern, actual.getOutput());
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (!pattern.matcher(outputIndex.output()).matches()) {
+      failWithMessage("%nExpecting build output to match:%n <%s>%nbut was:%n <%s>", pattern, renderOutput(outputIndex));
     }
 
     return myself;
   }
 
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} matches the provided regular expression.
+   * The compiled pattern is cached and reused by later assertions with the same {@code regex}.
+   *
+   * @param regex the regular expression to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code regex} is {@code null}
+   * @throws java.util.regex.PatternSyntaxException if the provided {@code regex} is invalid
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output does not match with the provided {@code regex}
+   * @see #outputMatches(Pattern)
+   */
+  public BuildResultAssert outputMatches(final String regex) {
+    Objects.requireNonNull(regex, "regex");
+    return outputMatches(Patterns.compile(regex));
+  }
+
   /**
    * Verifies that the {@link BuildResult#getOutput()} does not match the provided pattern.
    *
@@ -103,15 +326,37 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     isNotNull();
     Objects.requireNonNull(pattern, "pattern");
 
-    if (pattern.matcher(actual.getOutput()).matches()) {
-      failWithMessage("%nExpecting build output not to match:%n <%s>%nbut was:%n <%s>", pattern, actual.getOutput());
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (pattern.matcher(outputIndex.output()).matches()) {
+      failWithMessage("%nExpecting build output not to match:%n <%s>%nbut was:%n <%s>",
+                      pattern,
+                      renderOutput(outputIndex));
     }
 
     return myself;
   }
 
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} does not match the provided regular expression.
+   * The compiled pattern is cached and reused by later assertions with the same {@code regex}.
+   *
+   * @param regex the regular expression to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code regex} is {@code null}
+   * @throws java.util.regex.PatternSyntaxException if the provided {@code regex} is invalid
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output matches the provided {@code regex}
+   * @see #outputDoesNotMatch(Pattern)
+   */
+  public BuildResultAssert outputDoesNotMatch(final String regex) {
+    Objects.requireNonNull(regex, "regex");
+    return outputDoesNotMatch(Patterns.compile(regex));
+  }
+
   /**
    * Verifies that the {@link BuildResult#getOutput()} satisfies the provided requirements.
+   * When {@link #withOutputFrom(FileBackedOutput)} is used the output is copied into a {@link String} for the
+   * {@code requirements}.
    *
    * @param requirements the requirements for the output
    * @return {@code this} assertion object
@@ -123,7 +368,358 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     isNotNull();
     Objects.requireNonNull(requirements,
                            "Consumer<String> of output expressing assertions requirements must not be null");
-    requirements.accept(actual.getOutput());
+    requirements.accept(outputIndex().output().toString());
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} has a line that is equal to the provided {@code line}.
+   * Line terminators ({@code \n} or {@code \r\n}) are not part of the compared line.
+   *
+   * @param line the expected line
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code line} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output does not have a line equal to the provided {@code line}
+   */
+  public BuildResultAssert outputHasLine(final CharSequence line) {
+    isNotNull();
+    Objects.requireNonNull(line, "line");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (outputIndex.indexOfLine(line) < 0) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto have line:%n <%s>%s",
+                      renderOutput(outputIndex),
+                      line,
+                      renderClosestMatch(outputIndex, line));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} has a line that entirely matches the provided {@code pattern}.
+   * Line terminators ({@code \n} or {@code \r\n}) are not part of the matched line.
+   *
+   * @param pattern the pattern a line must match
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code pattern} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if no line of the {@code actual} output matches the provided {@code pattern}
+   */
+  public BuildResultAssert outputHasLineMatching(final Pattern pattern) {
+    isNotNull();
+    Objects.requireNonNull(pattern, "pattern");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (outputIndex.indexOfLineMatching(pattern) < 0) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto have line matching:%n <%s>",
+                      renderOutput(outputIndex),
+                      pattern);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} has a line that entirely matches the provided {@code regex}.
+   * The compiled pattern is cached and reused by later assertions with the same {@code regex}.
+   *
+   * @param regex the regular expression a line must match
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code regex} is {@code null}
+   * @throws java.util.regex.PatternSyntaxException if the provided {@code regex} is invalid
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if no line of the {@code actual} output matches the provided {@code regex}
+   * @see #outputHasLineMatching(Pattern)
+   */
+  public BuildResultAssert outputHasLineMatching(final String regex) {
+    Objects.requireNonNull(regex, "regex");
+    return outputHasLineMatching(Patterns.compile(regex));
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} contains a subsequence that matches the provided
+   * {@code pattern}. Unlike {@link #outputMatches(Pattern)}, the pattern does not need to match the entire output, so
+   * there is no need for patterns like {@code (?s).*text.*} that backtrack across the whole output.
+   *
+   * @param pattern the pattern to find
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code pattern} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if no part of the {@code actual} output matches the provided {@code pattern}
+   * @see java.util.regex.Matcher#find()
+   */
+  public BuildResultAssert outputContainsMatch(final Pattern pattern) {
+    isNotNull();
+    Objects.requireNonNull(pattern, "pattern");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    if (outputIndex.find(pattern) < 0) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto contain a match for:%n <%s>",
+                      renderOutput(outputIndex),
+                      pattern);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} contains a subsequence that matches the provided {@code regex}.
+   * The compiled pattern is cached and reused by later assertions with the same {@code regex}.
+   *
+   * @param regex the regular expression to find
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code regex} is {@code null}
+   * @throws java.util.regex.PatternSyntaxException if the provided {@code regex} is invalid
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if no part of the {@code actual} output matches the provided {@code regex}
+   * @see #outputContainsMatch(Pattern)
+   */
+  public BuildResultAssert outputContainsMatch(final String regex) {
+    Objects.requireNonNull(regex, "regex");
+    return outputContainsMatch(Patterns.compile(regex));
+  }
+
+  /**
+   * Verifies that the region of {@link BuildResult#getOutput()} between the character offsets {@code start}
+   * (inclusive) and {@code end} (exclusive) entirely matches the provided {@code pattern}.
+   * Characters outside of the region are not examined by the pattern, and {@code ^} and {@code $} anchor to the
+   * region bounds.
+   *
+   * @param pattern the pattern the region must match
+   * @param start the start offset of the region, inclusive
+   * @param end the end offset of the region, exclusive
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code pattern} is {@code null}
+   * @throws IllegalArgumentException if {@code start} is negative or greater than {@code end}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output is shorter than {@code end}
+   * @throws AssertionError if the region does not match the provided {@code pattern}
+   * @see java.util.regex.Matcher#region(int, int)
+   */
+  public BuildResultAssert outputMatchesInRegion(final Pattern pattern, final int start, final int end) {
+    isNotNull();
+    Objects.requireNonNull(pattern, "pattern");
+    if (start < 0 || start > end) {
+      throw new IllegalArgumentException("Invalid region [" + start + ", " + end + ")");
+    }
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final CharSequence output = outputIndex.output();
+    if (end > output.length()) {
+      failWithMessage("%nExpecting build result output to have a region [%d, %d) to match against:%n <%s>%n"
+                          + "but output length was:%n <%d>",
+                      start,
+                      end,
+                      pattern,
+                      output.length());
+    } else if (!pattern.matcher(output).region(start, end).matches()) {
+      failWithMessage("%nExpecting build result output region [%d, %d) starting at line %d:%n%s%nto match:%n <%s>",
+                      start,
+                      end,
+                      outputIndex.lineOf(start) + 1,
+                      outputFailureFormat.renderContext(outputIndex, start),
+                      pattern);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the region of {@link BuildResult#getOutput()} between the character offsets {@code start}
+   * (inclusive) and {@code end} (exclusive) entirely matches the provided {@code regex}.
+   * The compiled pattern is cached and reused by later assertions with the same {@code regex}.
+   *
+   * @param regex the regular expression the region must match
+   * @param start the start offset of the region, inclusive
+   * @param end the end offset of the region, exclusive
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code regex} is {@code null}
+   * @throws java.util.regex.PatternSyntaxException if the provided {@code regex} is invalid
+   * @throws IllegalArgumentException if {@code start} is negative or greater than {@code end}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output is shorter than {@code end}
+   * @throws AssertionError if the region does not match the provided {@code regex}
+   * @see #outputMatchesInRegion(Pattern, int, int)
+   */
+  public BuildResultAssert outputMatchesInRegion(final String regex, final int start, final int end) {
+    Objects.requireNonNull(regex, "regex");
+    return outputMatchesInRegion(Patterns.compile(regex), start, end);
+  }
+
+  /**
+   * Verifies that the output printed under the {@code > Task} header of the task at the provided {@code path}
+   * contains the provided sequence.
+   * The output of a task runs from its header to the next {@code >} header or the end of build block.
+   *
+   * @param path the task path
+   * @param sequence the sequence to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code path} or {@code sequence} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output has no header for the task at {@code path}
+   * @throws AssertionError if the output of the task does not contain the provided {@code sequence}
+   */
+  public BuildResultAssert taskOutputContains(final CharSequence path, final CharSequence sequence) {
+    isNotNull();
+    Objects.requireNonNull(path, "path");
+    Objects.requireNonNull(sequence, "sequence");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final ConsoleOutput consoleOutput = outputIndex.consoleOutput();
+    final String taskPath = path.toString();
+    if (!consoleOutput.hasTaskSection(taskPath)) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto have output for task:%n <%s>"
+                          + "%nbut tasks with output were:%n <%s>",
+                      renderOutput(outputIndex),
+                      taskPath,
+                      consoleOutput.taskPaths());
+    } else if (consoleOutput.indexOfInTaskOutput(taskPath, sequence) < 0) {
+      failWithMessage("%nExpecting output of task <%s>:%n <%s>%nto contain sequence:%n <%s>",
+                      taskPath,
+                      consoleOutput.renderTaskOutput(taskPath),
+                      sequence);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that a {@code * What went wrong:} failure cause in the output contains the provided sequence.
+   *
+   * @param sequence the sequence to test
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code sequence} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output has no failure cause
+   * @throws AssertionError if no failure cause contains the provided {@code sequence}
+   */
+  public BuildResultAssert failureCauseContains(final CharSequence sequence) {
+    isNotNull();
+    Objects.requireNonNull(sequence, "sequence");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final ConsoleOutput consoleOutput = outputIndex.consoleOutput();
+    if (consoleOutput.failureCauseCount() == 0) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto have a failure cause containing:%n <%s>"
+                          + "%nbut it had no failure cause",
+                      renderOutput(outputIndex),
+                      sequence);
+    } else if (consoleOutput.indexOfInFailureCauses(sequence) < 0) {
+      failWithMessage("%nExpecting build failure causes:%n <%s>%nto contain sequence:%n <%s>",
+                      consoleOutput.renderFailureCauses(),
+                      sequence);
+    }
+    return myself;
+  }
+
+  /**
+   * Navigates to the {@code N actionable tasks} summary printed at the end of the build output.
+   *
+   * @return a new assertion object for the summary
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output has no actionable tasks summary
+   */
+  public ActionableTasksSummaryAssert actionableTasksSummary() {
+    isNotNull();
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final @Nullable ActionableTasksSummary summary = outputIndex.consoleOutput().actionableTasksSummary();
+    if (summary == null) {
+      failWithMessage("%nExpecting build result output:%n <%s>%nto have an actionable tasks summary",
+                      renderOutput(outputIndex));
+    }
+    return new ActionableTasksSummaryAssert(summary);
+  }
+
+  /**
+   * Verifies that the duration of the {@code BUILD SUCCESSFUL in} or {@code BUILD FAILED in} summary line is at most
+   * the provided {@code budget}.
+   * Gradle truncates durations of at least a second to whole seconds.
+   * The summary is searched for in the last 64K characters of the output only, and is not affected by
+   * {@link #normalizedWith(OutputNormalizer)}.
+   *
+   * @param budget the maximum duration
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code budget} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output has no summary line with a duration
+   * @throws AssertionError if the duration is longer than the {@code budget}
+   */
+  public BuildResultAssert hasBuildDurationAtMost(final Duration budget) {
+    isNotNull();
+    Objects.requireNonNull(budget, "budget");
+
+    final Duration duration = requireBuildDuration();
+    if (duration.compareTo(budget) > 0) {
+      failWithMessage("%nExpecting build duration:%n <%s>%nto be at most:%n <%s>"
+                          + "%nbut it exceeded the budget by:%n <%s>",
+                      BuildDuration.format(duration),
+                      BuildDuration.format(budget),
+                      BuildDuration.format(duration.minus(budget)));
+    }
+    return myself;
+  }
+
+  /**
+   * Navigates to the duration of the {@code BUILD SUCCESSFUL in} or {@code BUILD FAILED in} summary line.
+   *
+   * @return a new assertion object for the duration
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} output has no summary line with a duration
+   * @see #hasBuildDurationAtMost(Duration)
+   */
+  public BuildDurationAssert buildDuration() {
+    isNotNull();
+    return new BuildDurationAssert(requireBuildDuration());
+  }
+
+  /**
+   * Verifies that the {@link BuildResult#getOutput()} has the same lines as the provided {@code snapshot} file.
+   * Line terminators are not compared.
+   * The failure message shows a line diff limited to the first few hunks.
+   * When the {@value #UPDATE_SNAPSHOTS_PROPERTY} system property is {@code true}, a missing or different snapshot is
+   * written with the output instead.
+   *
+   * @param snapshot the {@code UTF-8} file that contains the expected output
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code snapshot} is {@code null}
+   * @throws UncheckedIOException if the {@code snapshot} could not be read or written
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code snapshot} does not exist and update mode is disabled
+   * @throws AssertionError if the {@code actual} output differs from the {@code snapshot} and update mode is disabled
+   */
+  public BuildResultAssert outputMatchesSnapshot(final Path snapshot) {
+    isNotNull();
+    Objects.requireNonNull(snapshot, "snapshot");
+
+    final BuildOutputIndex outputIndex = outputIndex();
+    final boolean update = Boolean.getBoolean(UPDATE_SNAPSHOTS_PROPERTY);
+    if (!Files.exists(snapshot)) {
+      if (update) {
+        writeSnapshot(snapshot, outputIndex);
+      } else {
+        failWithMessage("%nExpecting snapshot file:%n <%s>%nto exist but it did not."
+                            + "%nSet the system property <%s> to <true> to create it",
+                        snapshot,
+                        UPDATE_SNAPSHOTS_PROPERTY);
+      }
+      return myself;
+    }
+    final String expected;
+    try {
+      expected = new String(Files.readAllBytes(snapshot), StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not read snapshot " + snapshot, e);
+    }
+    final LineDiff diff = new LineDiff(new BuildOutputIndex(expected), outputIndex);
+    if (diff.isIdentical()) {
+      return myself;
+    }
+    if (update) {
+      writeSnapshot(snapshot, outputIndex);
+    } else {
+      failWithMessage("%nExpecting build result output to match snapshot:%n <%s>%nbut found <%s> differing hunks:%n%s",
+                      snapshot,
+                      diff.hunkCount(SNAPSHOT_CONTEXT_LINES),
+                      diff.render(SNAPSHOT_CONTEXT_LINES, SNAPSHOT_MAX_HUNKS));
+    }
     return myself;
   }
   //  List<String> taskPaths(TaskOutcome var1);
@@ -148,9 +744,11 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     Objects.requireNonNull(path, "path");
 
     final String taskPath = path.toString();
-    final BuildTask buildTask = actual.task(taskPath);
+    final BuildTask buildTask = task(taskPath);
     if (buildTask == null) {
-      failWithMessage("%nExpecting build to have task at path:%n <%s>%nbut did not", taskPath);
+      failWithMessage("%nExpecting build to have task at path:%n <%s>%nbut did not%s",
+                      taskPath,
+                      renderTaskPathSuggestions(taskPath));
     }
     return myself;
   }
@@ -170,7 +768,7 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     Objects.requireNonNull(path, "path");
 
     final String taskPath = path.toString();
-    final BuildTask buildTask = actual.task(taskPath);
+    final BuildTask buildTask = task(taskPath);
     if (buildTask != null) {
       failWithMessage("%nExpecting build to not have task at path:%n <%s>%nbut did", taskPath);
     }
@@ -196,11 +794,12 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     Objects.requireNonNull(requirements, "requirements");
 
     final String taskPath = path.toString();
-    final BuildTask buildTask = actual.task(taskPath);
+    final BuildTask buildTask = task(taskPath);
     if (buildTask == null) {
       failWithMessage(
-          "%nExpecting build to have task at path:%n <%s>%nto check requirements against but did not",
-          taskPath);
+          "%nExpecting build to have task at path:%n <%s>%nto check requirements against but did not%s",
+          taskPath,
+          renderTaskPathSuggestions(taskPath));
     }
     requirements.accept(buildTask);
     return myself;
@@ -267,6 +866,185 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     return myself;
   }
 
+  /**
+   * Navigates to the tasks in this build result, in execution order.
+   * <pre>{@code
+   * assertThat(result).tasks()
+   *     .filteredOnOutcome(TaskOutcome.SUCCESS)
+   *     .extractingPaths()
+   *     .containsExactly(":compileJava", ":jar");
+   * }</pre>
+   *
+   * @return a new {@link BuildTasksAssert} over {@link BuildResult#getTasks()}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public BuildTasksAssert tasks() {
+    isNotNull();
+    return new BuildTasksAssert(actual.getTasks());
+  }
+
+  /**
+   * Navigates to the tasks of the project at the provided {@code projectPath} and of all of its subprojects, in
+   * execution order.
+   * Tasks are looked up in a trie of task paths, so only the tasks of the project are visited.
+   * <pre>{@code
+   * assertThat(result).tasksUnderProject(":services:billing")
+   *     .allSatisfy(task -> assertThat(task).isUpToDate());
+   * assertThat(result).tasksUnderProject(":services").filteredOnOutcome(TaskOutcome.FAILED).isEmpty();
+   * }</pre>
+   *
+   * @param projectPath the absolute project path, or {@code :} for all tasks
+   * @return a new {@link BuildTasksAssert} over the matched tasks
+   * @throws NullPointerException if the provided {@code projectPath} is {@code null}
+   * @throws IllegalArgumentException if the provided {@code projectPath} does not start with {@code :}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public BuildTasksAssert tasksUnderProject(final CharSequence projectPath) {
+    isNotNull();
+    Objects.requireNonNull(projectPath, "projectPath");
+
+    final List<BuildTask> tasks = BuildTaskIndex.of(actual).pathTrie().tasksUnderProject(projectPath.toString());
+    return new BuildTasksAssert(tasks).as("tasks under project <%s>", projectPath);
+  }
+
+  /**
+   * Navigates to the tasks whose path matches the provided {@code glob}, in execution order.
+   * Within a path segment {@code *} matches any characters and {@code ?} matches a single character.
+   * A {@code **} segment matches zero or more project segments.
+   * <pre>{@code
+   * assertThat(result).tasksMatchingGlob(":**:test").isEmpty();
+   * assertThat(result).tasksMatchingGlob(":services:*:compile*").hasSize(6);
+   * }</pre>
+   *
+   * @param glob the absolute task path glob
+   * @return a new {@link BuildTasksAssert} over the matched tasks
+   * @throws NullPointerException if the provided {@code glob} is {@code null}
+   * @throws IllegalArgumentException if the provided {@code glob} does not start with {@code :}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public BuildTasksAssert tasksMatchingGlob(final CharSequence glob) {
+    isNotNull();
+    Objects.requireNonNull(glob, "glob");
+
+    final List<BuildTask> tasks = BuildTaskIndex.of(actual).pathTrie().tasksMatchingGlob(glob.toString());
+    return new BuildTasksAssert(tasks).as("tasks matching <%s>", glob);
+  }
+
+  /**
+   * Verifies that the task at {@code path} was executed before the task at {@code laterPath}.
+   * Positions come from {@link BuildResult#getTasks()}, which lists tasks in execution order.
+   *
+   * @param path the path of the task that executed first
+   * @param laterPath the path of the task that executed later
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code path} or {@code laterPath} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if either task was not executed
+   * @throws AssertionError if the task at {@code path} was not executed before the task at {@code laterPath}
+   */
+  public BuildResultAssert hasTaskExecutedBefore(final CharSequence path, final CharSequence laterPath) {
+    isNotNull();
+    Objects.requireNonNull(path, "path");
+    Objects.requireNonNull(laterPath, "laterPath");
+
+    return hasTasksExecutedInOrder(path, laterPath);
+  }
+
+  /**
+   * Verifies that the tasks at the provided {@code paths} were executed in the provided order.
+   * Other tasks may have executed between them.
+   * <pre>{@code
+   * assertThat(result).hasTasksExecutedInOrder(":a:jar", ":b:compileJava", ":b:test");
+   * }</pre>
+   *
+   * @param paths the task paths in their expected execution order
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code paths} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if any of the tasks was not executed
+   * @throws AssertionError if the tasks were not executed in the provided order
+   */
+  public BuildResultAssert hasTasksExecutedInOrder(final CharSequence... paths) {
+    isNotNull();
+    final List<CharSequence> taskPaths = requireNonNullElements(paths, "paths");
+
+    final BuildTaskIndex taskIndex = BuildTaskIndex.of(actual);
+    final int[] positions = requireTaskPositions(taskIndex, taskPaths);
+    final List<String> inversions = new ArrayList<>();
+    for (int i = 1; i < positions.length; i++) {
+      if (positions[i - 1] >= positions[i]) {
+        inversions.add(String.format(" <%s> (position %d) did not execute before <%s> (position %d)",
+                                     taskPaths.get(i - 1),
+                                     positions[i - 1],
+                                     taskPaths.get(i),
+                                     positions[i]));
+      }
+    }
+    if (!inversions.isEmpty()) {
+      failWithMessage("%nExpecting build to execute tasks in order:%n <%s>%nbut:%n%s",
+                      taskPaths,
+                      String.join(String.format("%n"), inversions));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the task at {@code path} was not executed after the task at {@code startPath} and before the task
+   * at {@code endPath}.
+   * The assertion passes if the task at {@code path} was not executed at all.
+   *
+   * @param path the path of the task that must not execute in between
+   * @param startPath the path of the task that starts the range
+   * @param endPath the path of the task that ends the range
+   * @return {@code this} assertion object
+   * @throws NullPointerException if any of the provided paths is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the task at {@code startPath} or {@code endPath} was not executed
+   * @throws AssertionError if the task at {@code startPath} was not executed before the task at {@code endPath}
+   * @throws AssertionError if the task at {@code path} was executed between them
+   */
+  public BuildResultAssert hasTaskNotExecutedBetween(final CharSequence path,
+                                                     final CharSequence startPath,
+                                                     final CharSequence endPath) {
+    isNotNull();
+    Objects.requireNonNull(path, "path");
+    Objects.requireNonNull(startPath, "startPath");
+    Objects.requireNonNull(endPath, "endPath");
+
+    final BuildTaskIndex taskIndex = BuildTaskIndex.of(actual);
+    hasTasksExecutedInOrder(startPath, endPath);
+    final int start = taskIndex.position(startPath.toString());
+    final int end = taskIndex.position(endPath.toString());
+    final int position = taskIndex.position(path.toString());
+    if (position > start && position < end) {
+      failWithMessage("%nExpecting task:%n <%s>%nto not execute between <%s> (position %d) and <%s> (position %d)"
+                          + "%nbut it executed at position %d",
+                      path,
+                      startPath,
+                      start,
+                      endPath,
+                      end,
+                      position);
+    }
+    return myself;
+  }
+
+  /**
+   * Navigates to assertions that compare the tasks of the provided {@code later} build with the tasks of
+   * {@code actual}, such as a second build that is expected to be up-to-date.
+   * <pre>{@code
+   * assertThat(firstBuild).comparedTo(secondBuild).allTasksAvoided();
+   * }</pre>
+   *
+   * @param later the later build of the same project
+   * @return a new {@link BuildResultComparisonAssert} for the {@code later} build
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public BuildResultComparisonAssert comparedTo(final @Nullable BuildResult later) {
+    isNotNull();
+    return new BuildResultComparisonAssert(actual, later);
+  }
+
   /**
    * Verifies that a task exists at the provided {@code path} with outcome {@link TaskOutcome#FAILED}.
    *
@@ -369,12 +1147,14 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     isNotNull();
     Objects.requireNonNull(outcome, "outcome must not be null");
     final String taskPath = path.toString();
-    final BuildTask buildTask = actual.task(taskPath);
+    final BuildTask buildTask = task(taskPath);
     if (buildTask == null) {
       failWithMessage(
-          "Build task at path %s was not executed so could not be checked for outcome %s.%nTasks executed by build were:%n %s",
+          "Build task at path %s was not executed so could not be checked for outcome %s.%s"
+              + "%nTasks executed by build were:%n %s",
           taskPath,
           outcome,
+          renderTaskPathSuggestions(taskPath),
           formatTasksForFailureMessage(actual.getTasks()));
     }
     if (buildTask.getOutcome() != outcome) {
@@ -386,11 +1166,344 @@ public class BuildResultAssert extends AbstractAssert<BuildResultAssert, BuildRe
     return myself;
   }
 
+  /**
+   * Verifies that a task exists at each path of the provided {@code outcomes} with the outcome it is mapped to.
+   * All entries are checked and every missing task and unexpected outcome is reported in a single failure.
+   * <pre>{@code
+   * Map<String, TaskOutcome> outcomes = new LinkedHashMap<>();
+   * outcomes.put(":compileJava", TaskOutcome.FROM_CACHE);
+   * outcomes.put(":test", TaskOutcome.SUCCESS);
+   * assertThat(result).hasTasksWithOutcomes(outcomes);
+   * }</pre>
+   *
+   * @param outcomes the expected outcome of each task path
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code outcomes} or any of its keys or values is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if any task does not exist or does not have its expected outcome
+   */
+  public BuildResultAssert hasTasksWithOutcomes(final Map<String, TaskOutcome> outcomes) {
+    isNotNull();
+    Objects.requireNonNull(outcomes, "outcomes");
+
+    final List<String> mismatches = new ArrayList<>();
+    for (final Map.Entry<String, TaskOutcome> entry : outcomes.entrySet()) {
+      final String taskPath = Objects.requireNonNull(entry.getKey(), "outcomes key");
+      final TaskOutcome outcome = Objects.requireNonNull(entry.getValue(), "outcomes[" + taskPath + "]");
+      final @Nullable BuildTask buildTask = task(taskPath);
+      if (buildTask == null) {
+        final List<String> suggestions = suggestTaskPaths(taskPath);
+        mismatches.add(suggestions.isEmpty()
+                           ? String.format(" <%s> was not executed", taskPath)
+                           : String.format(" <%s> was not executed, did you mean <%s>?", taskPath, suggestions));
+      } else if (buildTask.getOutcome() != outcome) {
+        mismatches.add(String.format(" <%s> had outcome <%s> instead of <%s>",
+                                     taskPath,
+                                     buildTask.getOutcome(),
+                                     outcome));
+      }
+    }
+    if (!mismatches.isEmpty()) {
+      failWithMessage("%nExpecting build tasks to have outcomes:%n <%s>%nbut <%d> of <%d> did not:%n%s",
+                      outcomes,
+                      mismatches.size(),
+                      outcomes.size(),
+                      String.join(String.format("%n"), mismatches));
+    }
+    return myself;
+  }
+
+  /**
+   * Navigates to the number of tasks with each {@link TaskOutcome}, counted in a single pass over
+   * {@link BuildResult#getTasks()}.
+   * The map has an entry for every outcome, so outcomes that no task has are mapped to {@code 0}.
+   * <pre>{@code
+   * assertThat(result).outcomeCounts().containsEntry(TaskOutcome.FAILED, 0);
+   * }</pre>
+   *
+   * @return a new {@link TaskOutcomeCountsAssert} over an {@link EnumMap} of the outcome counts
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public TaskOutcomeCountsAssert outcomeCounts() {
+    isNotNull();
+    return new TaskOutcomeCountsAssert(BuildTaskIndex.of(actual).outcomeCounts());
+  }
+
+  /**
+   * Verifies that exactly {@code count} tasks have the provided {@code outcome}.
+   *
+   * @param outcome the outcome to count
+   * @param count the expected number of tasks
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code outcome} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the number of tasks with the {@code outcome} is not {@code count}
+   */
+  public BuildResultAssert hasOutcomeCount(final TaskOutcome outcome, final int count) {
+    isNotNull();
+    Objects.requireNonNull(outcome, "outcome");
+
+    final BuildTaskIndex taskIndex = BuildTaskIndex.of(actual);
+    final int actualCount = taskIndex.count(outcome);
+    if (actualCount != count) {
+      failWithMessage("%nExpecting build to have <%d> tasks with outcome <%s> but had <%d>."
+                          + "%nOutcome counts were:%n <%s>",
+                      count,
+                      outcome,
+                      actualCount,
+                      taskIndex.outcomeCounts());
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that at most {@code count} tasks were executed, which are the tasks with outcome
+   * {@link TaskOutcome#SUCCESS} or {@link TaskOutcome#FAILED}.
+   * This is the number of tasks that an incremental or cached build could not avoid running.
+   *
+   * @param count the maximum number of executed tasks
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if more than {@code count} tasks were executed
+   */
+  public BuildResultAssert hasAtMostExecutedTasks(final int count) {
+    isNotNull();
+
+    final BuildTaskIndex taskIndex = BuildTaskIndex.of(actual);
+    final int executed = executedCount(taskIndex);
+    if (executed > count) {
+      failWithMessage("%nExpecting build to execute at most <%d> tasks but executed <%d>:%n <%s>",
+                      count,
+                      executed,
+                      executedTaskPaths(taskIndex));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the share of tasks that were avoided, because they were {@link TaskOutcome#UP_TO_DATE} or
+   * {@link TaskOutcome#FROM_CACHE}, is at least the provided {@code ratio}.
+   * The share is taken over the tasks that were either avoided or executed, so {@link TaskOutcome#SKIPPED} and
+   * {@link TaskOutcome#NO_SOURCE} tasks are not counted. A build without such tasks has a ratio of {@code 1}.
+   * <pre>{@code
+   * assertThat(secondBuild).hasAvoidanceRatioAtLeast(0.95);
+   * }</pre>
+   *
+   * @param ratio the minimum ratio, between {@code 0} and {@code 1}
+   * @return {@code this} assertion object
+   * @throws IllegalArgumentException if the provided {@code ratio} is not between {@code 0} and {@code 1}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the avoidance ratio is less than {@code ratio}
+   */
+  public BuildResultAssert hasAvoidanceRatioAtLeast(final double ratio) {
+    if (!(ratio >= 0.0 && ratio <= 1.0)) {
+      throw new IllegalArgumentException("ratio must be between 0 and 1 but was " + ratio);
+    }
+    isNotNull();
+
+    final BuildTaskIndex taskIndex = BuildTaskIndex.of(actual);
+    final int avoided = taskIndex.count(TaskOutcome.UP_TO_DATE) + taskIndex.count(TaskOutcome.FROM_CACHE);
+    final int executed = executedCount(taskIndex);
+    final double actualRatio = avoided + executed == 0 ? 1.0 : (double) avoided / (avoided + executed);
+    if (actualRatio < ratio) {
+      failWithMessage("%nExpecting build to avoid at least <%s> of its tasks but avoided <%s> (<%d> of <%d>)."
+                          + "%nExecuted tasks were:%n <%s>",
+                      ratio,
+                      actualRatio,
+                      avoided,
+                      avoided + executed,
+                      executedTaskPaths(taskIndex));
+    }
+    return myself;
+  }
+
+  /**
+   * Looks up the execution position of each of the {@code paths}, failing with all of the paths that were not executed.
+   */
+  private int[] requireTaskPositions(final BuildTaskIndex taskIndex, final List<CharSequence> paths) {
+    final int[] positions = new int[paths.size()];
+    final List<CharSequence> missing = new ArrayList<>();
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = taskIndex.position(paths.get(i).toString());
+      if (positions[i] < 0) {
+        missing.add(paths.get(i));
+      }
+    }
+    if (!missing.isEmpty()) {
+      failWithMessage("%nExpecting build to have executed tasks:%n <%s>%nbut these were not executed:%n <%s>",
+                      paths,
+                      missing);
+    }
+    return positions;
+  }
+
+  private static int executedCount(final BuildTaskIndex taskIndex) {
+    return taskIndex.count(TaskOutcome.SUCCESS) + taskIndex.count(TaskOutcome.FAILED);
+  }
+
+  private static List<String> executedTaskPaths(final BuildTaskIndex taskIndex) {
+    return taskIndex.tasks()
+                    .stream()
+                    .filter(BuildTaskIndex::isExecuted)
+                    .map(BuildTask::getPath)
+                    .collect(Collectors.toList());
+  }
+
+  /**
+   * Looks up the task at the provided {@code path} in the shared {@link BuildTaskIndex}.
+   */
+  private @Nullable BuildTask task(final String path) {
+    return BuildTaskIndex.of(actual).task(path);
+  }
+
+  private static void writeSnapshot(final Path snapshot, final BuildOutputIndex outputIndex) {
+    try {
+      final @Nullable Path parent = snapshot.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (Writer writer = Files.newBufferedWriter(snapshot, StandardCharsets.UTF_8)) {
+        BuildOutputIndex.write(writer, outputIndex.output());
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not write snapshot " + snapshot, e);
+    }
+  }
+
+  private Duration requireBuildDuration() {
+    final @Nullable FileBackedOutput output = fileBackedOutput;
+    final @Nullable Duration duration = BuildDuration.findInTail(output != null ? output.view() : actual.getOutput());
+    if (duration == null) {
+      failWithMessage("%nExpecting build result output to end with a BUILD SUCCESSFUL or BUILD FAILED summary line"
+                          + " within its last <%s> characters but it did not",
+                      BuildDuration.TAIL_WINDOW);
+      return Duration.ZERO;
+    }
+    return duration;
+  }
+
+  private BuildOutputIndex outputIndex() {
+    final @Nullable FileBackedOutput output = fileBackedOutput;
+    final BuildOutputIndex index = output != null ? output.index() : BuildOutputIndex.of(actual);
+    final @Nullable OutputNormalizer normalizer = outputNormalizer;
+    return normalizer != null ? index.normalized(normalizer) : index;
+  }
+
+  private String renderOutput(final BuildOutputIndex outputIndex) {
+    return outputFailureFormat.render(outputIndex);
+  }
+
+  private String renderClosestMatch(final BuildOutputIndex outputIndex, final CharSequence expected) {
+    final @Nullable String closestMatch = outputFailureFormat.renderClosestMatch(outputIndex, expected);
+    return closestMatch == null ? "" : String.format("%n%s", closestMatch);
+  }
+
+  private String renderOccurrence(final BuildOutputIndex outputIndex, final CharSequence sequence) {
+    final int offset = outputIndex.indexOf(sequence);
+    if (offset < 0 || outputFailureFormat == OutputFailureFormat.full()) {
+      return "";
+    }
+    return String.format("%nfound at line %d:%n%s",
+                         outputIndex.lineOf(offset) + 1,
+                         outputFailureFormat.renderContext(outputIndex, offset));
+  }
+
+  /**
+   * Finds which of the {@code sequences} occur in the output.
+   * Sequences that the index rules out are never added to the automaton, and if none remain the output is not scanned.
+   */
+  private static BitSet findSequences(final BuildOutputIndex outputIndex,
+                                      final List<CharSequence> sequences,
+                                      final int stopAfter) {
+    final List<CharSequence> candidates = new ArrayList<>(sequences.size());
+    final int[] candidateToSequence = new int[sequences.size()];
+    for (int i = 0; i < sequences.size(); i++) {
+      if (outputIndex.mightContain(sequences.get(i))) {
+        candidateToSequence[candidates.size()] = i;
+        candidates.add(sequences.get(i));
+      }
+    }
+    final BitSet found = new BitSet(sequences.size());
+    if (candidates.isEmpty()) {
+      return found;
+    }
+    final BitSet candidatesFound = new MultiSequenceMatcher(candidates).find(outputIndex.output(), stopAfter);
+    for (int i = candidatesFound.nextSetBit(0); i >= 0; i = candidatesFound.nextSetBit(i + 1)) {
+      found.set(candidateToSequence[i]);
+    }
+    return found;
+  }
+
+  private static List<CharSequence> selectSequences(final List<CharSequence> sequences,
+                                                    final BitSet found,
+                                                    final boolean present) {
+    final List<CharSequence> selected = new ArrayList<>();
+    for (int i = 0; i < sequences.size(); i++) {
+      if (found.get(i) == present) {
+        selected.add(sequences.get(i));
+      }
+    }
+    return selected;
+  }
+
+  private String renderSubsequenceMismatch(final BuildOutputIndex outputIndex,
+                                           final List<CharSequence> expected,
+                                           final SubsequenceScan scan) {
+    final int matched = scan.matchedCount();
+    final int offset = scan.stopOffset();
+    final String matchedPrefix = String.format("but only the first <%d> matched: <%s>"
+                                                   + "%nand <%s> was not found after offset <%d>",
+                                               matched,
+                                               expected.subList(0, matched),
+                                               expected.get(matched),
+                                               offset);
+    if (matched == 0 || offset >= outputIndex.output().length()) {
+      return matchedPrefix;
+    }
+    return String.format("%s (line %d):%n%s",
+                         matchedPrefix,
+                         outputIndex.lineOf(offset) + 1,
+                         outputFailureFormat.renderContext(outputIndex, offset));
+  }
+
+  private static List<CharSequence> requireNonNullElements(final CharSequence[] sequences, final String name) {
+    Objects.requireNonNull(sequences, name);
+    for (int i = 0; i < sequences.length; i++) {
+      Objects.requireNonNull(sequences[i], name + "[" + i + "]");
+    }
+    return Arrays.asList(sequences);
+  }
+
+  /**
+   * Finds the task paths closest to the provided {@code path} by edit distance, or none if they are all too different
+   * to be a likely typo.
+   */
+  private List<String> suggestTaskPaths(final String path) {
+    final int maxDistance = Math.max(MIN_SUGGESTION_DISTANCE, path.length() / 3);
+    return BuildTaskIndex.of(actual).pathBkTree().nearest(path, MAX_TASK_PATH_SUGGESTIONS, maxDistance);
+  }
+
+  private String renderTaskPathSuggestions(final String path) {
+    final List<String> suggestions = suggestTaskPaths(path);
+    return suggestions.isEmpty() ? "" : String.format("%nDid you mean:%n <%s>", suggestions);
+  }
+
+  /**
+   * Lists the tasks sorted by path. Builds with more than {@link #MAX_LISTED_TASKS} tasks are listed in execution
+   * order up to that many tasks instead, so large builds are not sorted for a failure message.
+   */
   private String formatTasksForFailureMessage(final List<BuildTask> tasks) {
+    if (tasks.size() > MAX_LISTED_TASKS) {
+      return tasks.subList(0, MAX_LISTED_TASKS)
+                  .stream()
+                  .map(buildTask -> "(path=" + buildTask.getPath() + ", " + "outcome="
+                      + buildTask.getOutcome() + ")")
+                  .collect(Collectors.joining(", ", "[", ", ... " + (tasks.size() - MAX_LISTED_TASKS) + " more]"));
+    }
     return tasks.stream()
                 .sorted(Comparator.comparing(BuildTask::getPath))
                 .map(buildTask -> "(path=" + buildTask.getPath() + ", " + "outcome="
-                    + buildTask.getOutcome())
+                    + buildTask.getOutcome() + ")")
                 .collect(Collectors.joining(", ", "[", "]"));
   }
 }
@@ -0,0 +1,207 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Assertion methods that compare the tasks of a {@link BuildResult} with the tasks of an earlier build of the same
+ * project, such as a second identical build that should be up-to-date.
+ * The {@code actual} is the later build.
+ *
+ * Tasks of both builds are joined by path through the {@link BuildTaskIndex} of the first build, so a comparison
+ * costs a single pass over the tasks of the later build.
+ * Failure messages show the outcome of each offending task in both builds as a table.
+ *
+ * @see BuildResultAssert#comparedTo(BuildResult)
+ */
+@GenerateSoftAssertions
+public class BuildResultComparisonAssert extends AbstractAssert<BuildResultComparisonAssert, BuildResult> {
+  private static final int MAX_TABLE_ROWS = 50;
+  private static final String NOT_EXECUTED = "-";
+
+  private final @Nullable BuildResult first;
+
+  public BuildResultComparisonAssert(final BuildResult first, final @Nullable BuildResult actual) {
+    super(actual, BuildResultComparisonAssert.class);
+    this.first = Objects.requireNonNull(first, "first");
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   * The placeholder created without a {@code source} has no first build and a {@code null} {@code actual}, so every
+   * assertion on it fails before the first build is used.
+   */
+  BuildResultComparisonAssert(final @Nullable BuildResultComparisonAssert source) {
+    super(source == null ? null : source.actual, BuildResultComparisonAssert.class);
+    this.first = source == null ? null : source.first;
+  }
+
+  /**
+   * Verifies that the tasks at the provided {@code paths} are exactly the tasks that were executed by the later
+   * build, meaning that they had outcome {@link org.gradle.testkit.runner.TaskOutcome#SUCCESS} or
+   * {@link org.gradle.testkit.runner.TaskOutcome#FAILED}.
+   * <pre>{@code
+   * assertThat(firstBuild).comparedTo(buildAfterEdit).onlyTasksRerun(":lib:compileJava", ":lib:jar");
+   * }</pre>
+   *
+   * @param paths the paths of the tasks that are expected to be rerun
+   * @return {@code this} assertion object
+   * @throws NullPointerException if the provided {@code paths} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if any other task was executed or any of the tasks was not executed
+   */
+  public BuildResultComparisonAssert onlyTasksRerun(final CharSequence... paths) {
+    isNotNull();
+    Objects.requireNonNull(paths, "paths");
+    final Set<String> expected = new LinkedHashSet<>(paths.length * 2);
+    for (int i = 0; i < paths.length; i++) {
+      expected.add(Objects.requireNonNull(paths[i], "paths[" + i + "]").toString());
+    }
+
+    final BuildTaskIndex firstIndex = firstIndex();
+    final BuildTaskIndex actualIndex = BuildTaskIndex.of(actual);
+    final List<String[]> unexpected = new ArrayList<>();
+    for (final BuildTask task : actualIndex.tasks()) {
+      if (BuildTaskIndex.isExecuted(task) && !expected.contains(task.getPath())) {
+        unexpected.add(transition(firstIndex, task.getPath(), task));
+      }
+    }
+    final List<String[]> notRerun = new ArrayList<>();
+    for (final String path : expected) {
+      final @Nullable BuildTask task = actualIndex.task(path);
+      if (task == null || !BuildTaskIndex.isExecuted(task)) {
+        notRerun.add(transition(firstIndex, path, task));
+      }
+    }
+    if (!unexpected.isEmpty() || !notRerun.isEmpty()) {
+      failWithMessage("%nExpecting only tasks:%n <%s>%nto be rerun by the later build but%n"
+                          + "these tasks were also rerun:%n%s%nand these tasks were not rerun:%n%s",
+                      expected,
+                      table(unexpected),
+                      table(notRerun));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that the later build did not execute any task, so every task was up-to-date, loaded from the build
+   * cache, skipped or without sources.
+   *
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the later build executed any task
+   */
+  public BuildResultComparisonAssert allTasksAvoided() {
+    isNotNull();
+
+    final BuildTaskIndex firstIndex = firstIndex();
+    final List<String[]> executed = new ArrayList<>();
+    for (final BuildTask task : BuildTaskIndex.of(actual).tasks()) {
+      if (BuildTaskIndex.isExecuted(task)) {
+        executed.add(transition(firstIndex, task.getPath(), task));
+      }
+    }
+    if (!executed.isEmpty()) {
+      failWithMessage("%nExpecting later build to avoid all tasks but it executed <%d>:%n%s",
+                      executed.size(),
+                      table(executed));
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that every task executed by the later build was also a task of the first build.
+   * New tasks that were up-to-date, loaded from the build cache, skipped or without sources are not executed.
+   *
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the later build executed a task that the first build did not have
+   */
+  public BuildResultComparisonAssert noNewTasksExecuted() {
+    isNotNull();
+
+    final BuildTaskIndex firstIndex = firstIndex();
+    final List<String[]> added = new ArrayList<>();
+    for (final BuildTask task : BuildTaskIndex.of(actual).tasks()) {
+      if (BuildTaskIndex.isExecuted(task) && firstIndex.position(task.getPath()) < 0) {
+        added.add(transition(firstIndex, task.getPath(), task));
+      }
+    }
+    if (!added.isEmpty()) {
+      failWithMessage("%nExpecting later build to execute no tasks that the first build did not have but it "
+                          + "executed <%d>:%n%s",
+                      added.size(),
+                      table(added));
+    }
+    return myself;
+  }
+
+  /**
+   * Index of the first build. Only called after {@link #isNotNull()}, which fails for the placeholder without a first
+   * build.
+   */
+  private BuildTaskIndex firstIndex() {
+    return BuildTaskIndex.of(Objects.requireNonNull(first, "first"));
+  }
+
+  private static String[] transition(final BuildTaskIndex firstIndex,
+                                     final String path,
+                                     final @Nullable BuildTask later) {
+    final @Nullable BuildTask earlier = firstIndex.task(path);
+    return new String[] {
+        path,
+        earlier != null ? earlier.getOutcome().toString() : NOT_EXECUTED,
+        later != null ? later.getOutcome().toString() : NOT_EXECUTED
+    };
+  }
+
+  /**
+   * Renders rows of task path, first outcome and later outcome as a table with aligned columns.
+   * Rows after {@link #MAX_TABLE_ROWS} are only counted.
+   */
+  private static String table(final List<String[]> rows) {
+    if (rows.isEmpty()) {
+      return " <none>";
+    }
+    final String[] header = {"task", "first", "later"};
+    final int shown = Math.min(rows.size(), MAX_TABLE_ROWS);
+    final int[] widths = new int[header.length];
+    for (int column = 0; column < header.length; column++) {
+      widths[column] = header[column].length();
+      for (int row = 0; row < shown; row++) {
+        widths[column] = Math.max(widths[column], rows.get(row)[column].length());
+      }
+    }
+    final String newline = String.format("%n");
+    final StringBuilder builder = new StringBuilder();
+    appendRow(builder, header, widths);
+    for (int row = 0; row < shown; row++) {
+      builder.append(newline);
+      appendRow(builder, rows.get(row), widths);
+    }
+    if (rows.size() > shown) {
+      builder.append(newline).append(" ... ").append(rows.size() - shown).append(" more");
+    }
+    return builder.toString();
+  }
+
+  private static void appendRow(final StringBuilder builder, final String[] cells, final int[] widths) {
+    for (int column = 0; column < cells.length; column++) {
+      builder.append(column == 0 ? " " : " | ").append(cells[column]);
+      if (column < cells.length - 1) {
+        for (int pad = cells[column].length(); pad < widths[column]; pad++) {
+          builder.append(' ');
+        }
+      }
+    }
+  }
+}
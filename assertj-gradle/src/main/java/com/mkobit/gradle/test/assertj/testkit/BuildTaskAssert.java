@@ -1,5 +1,6 @@
 package com.mkobit.gradle.test.assertj.testkit;
 
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
 import org.assertj.core.api.AbstractAssert;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.testkit.runner.BuildTask;
@@ -15,11 +16,19 @@ import java.util.regex.Pattern;
  * @see com.mkobit.gradle.test.assertj.GradleAssertions
  * @see com.mkobit.gradle.test.assertj.GradleSoftAssertions
  */
+@GenerateSoftAssertions
 public class BuildTaskAssert extends AbstractAssert<BuildTaskAssert, BuildTask> {
   public BuildTaskAssert(@Nullable final BuildTask actual) {
     super(actual, BuildTaskAssert.class);
   }
 
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  BuildTaskAssert(@Nullable final BuildTaskAssert source) {
+    this(source == null ? null : source.actual);
+  }
+
   /**
    * Verifies that the {@link BuildTask#getPath()} ia equal to the provided path.
    * @param path the value to test
@@ -0,0 +1,134 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path to task hash index over {@link BuildResult#getTasks()} that is built once per result and shared by every task
+ * assertion.
+ *
+ * {@link BuildResult#task(String)} scans all tasks on each call, which makes many path assertions against a build with
+ * many tasks quadratic. Indexes are cached by the identity of the {@link BuildResult} like {@link BuildOutputIndex}.
+ * The position of each task in execution order and the number of tasks with each {@link TaskOutcome} are recorded in
+ * the same pass.
+ */
+final class BuildTaskIndex {
+  private static final WeakIdentityCache<BuildResult, BuildTaskIndex> CACHE = new WeakIdentityCache<>();
+
+  private final List<BuildTask> tasks;
+  private final Map<String, Integer> positionsByPath;
+  private final int[] outcomeCounts = new int[TaskOutcome.values().length];
+  private @Nullable TaskPathTrie pathTrie;
+  private @Nullable TaskPathBkTree pathBkTree;
+
+  BuildTaskIndex(final List<BuildTask> tasks) {
+    this.tasks = tasks;
+    this.positionsByPath = new HashMap<>(Math.max(16, tasks.size() * 4 / 3 + 1));
+    for (int position = 0; position < tasks.size(); position++) {
+      final BuildTask task = tasks.get(position);
+      // BuildResult#task(String) returns the first task with the path
+      positionsByPath.putIfAbsent(task.getPath(), position);
+      outcomeCounts[task.getOutcome().ordinal()]++;
+    }
+  }
+
+  /**
+   * Whether the actions of the {@code task} ran, which is the case for {@link TaskOutcome#SUCCESS} and
+   * {@link TaskOutcome#FAILED}.
+   */
+  static boolean isExecuted(final BuildTask task) {
+    return task.getOutcome() == TaskOutcome.SUCCESS || task.getOutcome() == TaskOutcome.FAILED;
+  }
+
+  /**
+   * Retrieves the shared index for the tasks of the provided {@code result}, building it if necessary.
+   * The index is rebuilt if the result starts returning a different task list instance.
+   *
+   * @param result the build result
+   * @return the index for the current tasks of {@code result}
+   */
+  static BuildTaskIndex of(final BuildResult result) {
+    final List<BuildTask> tasks = result.getTasks();
+    return CACHE.computeIfAbsent(result, cached -> cached.tasks == tasks, key -> new BuildTaskIndex(tasks));
+  }
+
+  /**
+   * The indexed tasks, in execution order.
+   */
+  List<BuildTask> tasks() {
+    return tasks;
+  }
+
+  /**
+   * Finds the task at the provided {@code path}.
+   *
+   * @return the task or {@code null} if no task has the {@code path}
+   */
+  @Nullable BuildTask task(final String path) {
+    final int position = position(path);
+    return position >= 0 ? tasks.get(position) : null;
+  }
+
+  /**
+   * Finds the position of the task at the provided {@code path} in execution order.
+   *
+   * @return the zero based position or {@code -1} if no task has the {@code path}
+   */
+  int position(final String path) {
+    final @Nullable Integer position = positionsByPath.get(path);
+    return position != null ? position : -1;
+  }
+
+  /**
+   * Trie of the task paths for project and glob queries, built on first use.
+   */
+  synchronized TaskPathTrie pathTrie() {
+    final @Nullable TaskPathTrie existing = pathTrie;
+    if (existing != null) {
+      return existing;
+    }
+    final TaskPathTrie built = new TaskPathTrie(tasks);
+    pathTrie = built;
+    return built;
+  }
+
+  /**
+   * Edit distance tree of the task paths for suggestions in failure messages, built on first use.
+   */
+  synchronized TaskPathBkTree pathBkTree() {
+    final @Nullable TaskPathBkTree existing = pathBkTree;
+    if (existing != null) {
+      return existing;
+    }
+    final TaskPathBkTree built = new TaskPathBkTree(positionsByPath.keySet());
+    pathBkTree = built;
+    return built;
+  }
+
+  /**
+   * Number of tasks with the provided {@code outcome}.
+   */
+  int count(final TaskOutcome outcome) {
+    return outcomeCounts[outcome.ordinal()];
+  }
+
+  /**
+   * Number of tasks with each outcome, including outcomes that no task has.
+   *
+   * @return a new map that the caller may modify
+   */
+  EnumMap<TaskOutcome, Integer> outcomeCounts() {
+    final EnumMap<TaskOutcome, Integer> counts = new EnumMap<>(TaskOutcome.class);
+    for (final TaskOutcome outcome : TaskOutcome.values()) {
+      counts.put(outcome, outcomeCounts[outcome.ordinal()]);
+    }
+    return counts;
+  }
+}
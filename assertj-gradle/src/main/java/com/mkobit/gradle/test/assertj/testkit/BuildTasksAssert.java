@@ -0,0 +1,165 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractIterableAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Assertion methods for the tasks of a build, with {@link BuildTaskAssert} as the element assertion.
+ *
+ * Filters do not copy the tasks. Each filter returns an assertion object over a view of the same underlying tasks
+ * with the filters combined into one predicate, so a chain of filters is evaluated in a single pass over the
+ * underlying tasks when an assertion iterates them.
+ * <pre>{@code
+ * assertThat(result).tasks()
+ *     .filteredOnPathPrefix(":services:")
+ *     .filteredOnOutcome(TaskOutcome.SUCCESS, TaskOutcome.FAILED)
+ *     .extractingPaths()
+ *     .containsOnly(":services:billing:compileJava");
+ * }</pre>
+ *
+ * @see BuildResultAssert#tasks()
+ */
+@GenerateSoftAssertions
+public class BuildTasksAssert
+    extends AbstractIterableAssert<BuildTasksAssert, Iterable<? extends BuildTask>, BuildTask, BuildTaskAssert> {
+  public BuildTasksAssert(final @Nullable Iterable<? extends BuildTask> actual) {
+    super(actual, BuildTasksAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  BuildTasksAssert(final @Nullable BuildTasksAssert source) {
+    this(source == null ? null : source.actual);
+  }
+
+  /**
+   * Filters the tasks to the tasks with any of the provided {@code outcomes}.
+   *
+   * @param outcomes the outcomes to keep
+   * @return a new assertion object over the filtered tasks
+   * @throws NullPointerException if the provided {@code outcomes} or any of its elements is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public BuildTasksAssert filteredOnOutcome(final TaskOutcome... outcomes) {
+    isNotNull();
+    Objects.requireNonNull(outcomes, "outcomes");
+    final Set<TaskOutcome> kept = EnumSet.noneOf(TaskOutcome.class);
+    for (int i = 0; i < outcomes.length; i++) {
+      kept.add(Objects.requireNonNull(outcomes[i], "outcomes[" + i + "]"));
+    }
+    return filtered(task -> kept.contains(task.getOutcome()));
+  }
+
+  /**
+   * Filters the tasks to the tasks whose path starts with the provided {@code prefix}.
+   *
+   * @param prefix the path prefix, for example {@code :services:billing:} for the tasks of a project
+   * @return a new assertion object over the filtered tasks
+   * @throws NullPointerException if the provided {@code prefix} is {@code null}
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public BuildTasksAssert filteredOnPathPrefix(final CharSequence prefix) {
+    isNotNull();
+    Objects.requireNonNull(prefix, "prefix");
+    final String pathPrefix = prefix.toString();
+    return filtered(task -> task.getPath().startsWith(pathPrefix));
+  }
+
+  /**
+   * Navigates to the paths of the tasks, in iteration order.
+   *
+   * @return a new {@link TaskPathsAssert} over the task paths
+   * @throws AssertionError if the {@code actual} is {@code null}
+   */
+  public TaskPathsAssert extractingPaths() {
+    isNotNull();
+    final List<String> paths = new ArrayList<>();
+    for (final BuildTask task : actual) {
+      paths.add(task.getPath());
+    }
+    return new TaskPathsAssert(paths).as(info.description());
+  }
+
+  @Override
+  protected BuildTaskAssert toAssert(final BuildTask value, final String description) {
+    return new BuildTaskAssert(value).as(description);
+  }
+
+  @Override
+  protected BuildTasksAssert newAbstractIterableAssert(final Iterable<? extends BuildTask> iterable) {
+    return new BuildTasksAssert(iterable);
+  }
+
+  private BuildTasksAssert filtered(final Predicate<BuildTask> filter) {
+    final FilteredTasks view = actual instanceof FilteredTasks
+        ? ((FilteredTasks) actual).and(filter)
+        : new FilteredTasks(actual, filter);
+    return new BuildTasksAssert(view).as(info.description());
+  }
+
+  /**
+   * Lazy view of the tasks of an iterable that match a predicate.
+   */
+  private static final class FilteredTasks implements Iterable<BuildTask> {
+    private final Iterable<? extends BuildTask> source;
+    private final Predicate<BuildTask> filter;
+
+    private FilteredTasks(final Iterable<? extends BuildTask> source, final Predicate<BuildTask> filter) {
+      this.source = source;
+      this.filter = filter;
+    }
+
+    private FilteredTasks and(final Predicate<BuildTask> other) {
+      return new FilteredTasks(source, filter.and(other));
+    }
+
+    @Override
+    public Iterator<BuildTask> iterator() {
+      final Iterator<? extends BuildTask> tasks = source.iterator();
+      return new Iterator<BuildTask>() {
+        private @Nullable BuildTask next;
+
+        @Override
+        public boolean hasNext() {
+          while (next == null && tasks.hasNext()) {
+            final BuildTask candidate = tasks.next();
+            if (filter.test(candidate)) {
+              next = candidate;
+            }
+          }
+          return next != null;
+        }
+
+        @Override
+        public BuildTask next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          final BuildTask task = Objects.requireNonNull(next);
+          next = null;
+          return task;
+        }
+      };
+    }
+
+    @Override
+    public String toString() {
+      final List<BuildTask> tasks = new ArrayList<>();
+      forEach(tasks::add);
+      return tasks.toString();
+    }
+  }
+}
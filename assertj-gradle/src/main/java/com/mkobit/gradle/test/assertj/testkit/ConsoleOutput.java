@@ -0,0 +1,244 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable model of plain console output, parsed in a single pass over the lines of a {@link BuildOutputIndex}.
+ *
+ * The model records
+ * <ul>
+ *   <li>the lines printed under each {@code > Task :path} header, until the next header or the end of build block</li>
+ *   <li>the lines of each {@code * What went wrong:} failure cause</li>
+ *   <li>the {@code BUILD SUCCESSFUL} or {@code BUILD FAILED} line</li>
+ *   <li>the {@link ActionableTasksSummary} printed after the build result line</li>
+ * </ul>
+ * Regions are stored as line ranges of the index, so no part of the output is copied until it is rendered.
+ */
+final class ConsoleOutput {
+  private static final String TASK_HEADER = "> Task ";
+  private static final String WHAT_WENT_WRONG = "* What went wrong:";
+  private static final String BUILD_SUCCESSFUL = "BUILD SUCCESSFUL";
+  private static final String BUILD_FAILED = "BUILD FAILED";
+  private static final int MAX_RENDERED_CHARACTERS = 4096;
+
+  private final BuildOutputIndex index;
+  private final Map<String, List<LineRange>> taskSections;
+  private final List<LineRange> failureCauses;
+  private final int buildResultLine;
+  private final @Nullable ActionableTasksSummary actionableTasksSummary;
+
+  private ConsoleOutput(final BuildOutputIndex index,
+                        final Map<String, List<LineRange>> taskSections,
+                        final List<LineRange> failureCauses,
+                        final int buildResultLine,
+                        final @Nullable ActionableTasksSummary actionableTasksSummary) {
+    this.index = index;
+    this.taskSections = taskSections;
+    this.failureCauses = failureCauses;
+    this.buildResultLine = buildResultLine;
+    this.actionableTasksSummary = actionableTasksSummary;
+  }
+
+  static ConsoleOutput parse(final BuildOutputIndex index) {
+    final Map<String, List<LineRange>> taskSections = new LinkedHashMap<>();
+    final List<LineRange> failureCauses = new ArrayList<>();
+    int buildResultLine = -1;
+    @Nullable ActionableTasksSummary summary = null;
+
+    @Nullable String currentTask = null;
+    int sectionStart = 0;
+    int causeStart = -1;
+    final int lineCount = index.lineCount();
+    for (int line = 0; line < lineCount; line++) {
+      final boolean taskHeader = index.lineStartsWith(line, TASK_HEADER);
+      final boolean failureBlockHeader = isFailureBlockHeader(index, line);
+      final boolean blockHeader = failureBlockHeader || index.lineStartsWith(line, "> ");
+      if (currentTask != null && blockHeader) {
+        addRange(taskSections, currentTask, trimTrailingBlankLines(index, sectionStart, line));
+        currentTask = null;
+      }
+      // Causes are not ended by "> " lines, Gradle prints nested causes that way
+      if (causeStart >= 0 && (failureBlockHeader || index.lineStartsWith(line, "====="))) {
+        failureCauses.add(trimTrailingBlankLines(index, causeStart, line));
+        causeStart = -1;
+      }
+      if (taskHeader) {
+        currentTask = taskPath(index.lineText(line));
+        sectionStart = line + 1;
+      } else if (index.lineStartsWith(line, WHAT_WENT_WRONG)) {
+        causeStart = line + 1;
+      } else if (index.lineStartsWith(line, BUILD_SUCCESSFUL) || index.lineStartsWith(line, BUILD_FAILED)) {
+        buildResultLine = line;
+        // A nested build prints its own result and summary, only the summary after the last result line is kept
+        summary = null;
+      } else if (buildResultLine >= 0 && summary == null && isSummaryCandidate(index, line)) {
+        summary = ActionableTasksSummary.parse(index.lineText(line));
+      }
+    }
+    if (currentTask != null) {
+      addRange(taskSections, currentTask, trimTrailingBlankLines(index, sectionStart, lineCount));
+    }
+    if (causeStart >= 0) {
+      failureCauses.add(trimTrailingBlankLines(index, causeStart, lineCount));
+    }
+    return new ConsoleOutput(index,
+                             Collections.unmodifiableMap(taskSections),
+                             Collections.unmodifiableList(failureCauses),
+                             buildResultLine,
+                             summary);
+  }
+
+  /**
+   * Paths of the tasks that have a header in the output, in the order they first appear.
+   */
+  Set<String> taskPaths() {
+    return taskSections.keySet();
+  }
+
+  boolean hasTaskSection(final String path) {
+    return taskSections.containsKey(path);
+  }
+
+  /**
+   * Finds the provided {@code sequence} in the output printed under the header of the task at {@code path}.
+   *
+   * @return the offset of the first occurrence or {@code -1} if there is none
+   */
+  int indexOfInTaskOutput(final String path, final CharSequence sequence) {
+    return indexOfInRanges(taskSections.getOrDefault(path, Collections.emptyList()), sequence);
+  }
+
+  /**
+   * Finds the provided {@code sequence} in any failure cause.
+   *
+   * @return the offset of the first occurrence or {@code -1} if there is none
+   */
+  int indexOfInFailureCauses(final CharSequence sequence) {
+    return indexOfInRanges(failureCauses, sequence);
+  }
+
+  int failureCauseCount() {
+    return failureCauses.size();
+  }
+
+  /**
+   * The {@code BUILD SUCCESSFUL} or {@code BUILD FAILED} line.
+   *
+   * @return the line number or {@code -1} if the output has no build result line
+   */
+  int buildResultLine() {
+    return buildResultLine;
+  }
+
+  @Nullable ActionableTasksSummary actionableTasksSummary() {
+    return actionableTasksSummary;
+  }
+
+  /**
+   * Renders the output of the task at {@code path} for a failure message, bounded to a few thousand characters.
+   */
+  String renderTaskOutput(final String path) {
+    return render(taskSections.getOrDefault(path, Collections.emptyList()));
+  }
+
+  /**
+   * Renders all failure causes for a failure message, bounded to a few thousand characters.
+   */
+  String renderFailureCauses() {
+    return render(failureCauses);
+  }
+
+  private int indexOfInRanges(final List<LineRange> ranges, final CharSequence sequence) {
+    for (final LineRange range : ranges) {
+      if (range.isEmpty()) {
+        continue;
+      }
+      final int offset = index.indexOf(sequence, index.lineStart(range.first), index.lineEnd(range.last - 1));
+      if (offset >= 0) {
+        return offset;
+      }
+    }
+    return -1;
+  }
+
+  private String render(final List<LineRange> ranges) {
+    final StringBuilder builder = new StringBuilder();
+    final CharSequence output = index.output();
+    for (final LineRange range : ranges) {
+      for (int line = range.first; line < range.last; line++) {
+        if (builder.length() > 0) {
+          builder.append(System.lineSeparator());
+        }
+        final int start = index.lineStart(line);
+        final int end = Math.min(index.lineEnd(line), start + Math.max(0, MAX_RENDERED_CHARACTERS - builder.length()));
+        builder.append(output, start, end);
+        if (builder.length() >= MAX_RENDERED_CHARACTERS) {
+          return builder.append("...").toString();
+        }
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Whether the {@code line} is short and starts with a digit, checked before the line text is copied for parsing.
+   */
+  private static boolean isSummaryCandidate(final BuildOutputIndex index, final int line) {
+    final int start = index.lineStart(line);
+    final int end = index.lineEnd(line);
+    return end > start && end - start < 256 && Character.isDigit(index.output().charAt(start));
+  }
+
+  private static boolean isFailureBlockHeader(final BuildOutputIndex index, final int line) {
+    return index.lineStartsWith(line, "FAILURE: ")
+        || index.lineStartsWith(line, WHAT_WENT_WRONG)
+        || index.lineStartsWith(line, "* Where:")
+        || index.lineStartsWith(line, "* Try:")
+        || index.lineStartsWith(line, "* Exception is:")
+        || index.lineStartsWith(line, "* Get more help at")
+        || index.lineStartsWith(line, BUILD_SUCCESSFUL)
+        || index.lineStartsWith(line, BUILD_FAILED)
+        || index.lineStartsWith(line, "Deprecated Gradle features were used");
+  }
+
+  private static String taskPath(final String header) {
+    final int end = header.indexOf(' ', TASK_HEADER.length());
+    return end < 0 ? header.substring(TASK_HEADER.length()) : header.substring(TASK_HEADER.length(), end);
+  }
+
+  private static void addRange(final Map<String, List<LineRange>> sections, final String path, final LineRange range) {
+    sections.computeIfAbsent(path, key -> new ArrayList<>(1)).add(range);
+  }
+
+  private static LineRange trimTrailingBlankLines(final BuildOutputIndex index, final int first, final int last) {
+    int end = last;
+    while (end > first && index.lineEnd(end - 1) == index.lineStart(end - 1)) {
+      end--;
+    }
+    return new LineRange(first, end);
+  }
+
+  /**
+   * Lines {@code [first, last)} of the index.
+   */
+  private static final class LineRange {
+    private final int first;
+    private final int last;
+
+    private LineRange(final int first, final int last) {
+      this.first = first;
+      this.last = last;
+    }
+
+    private boolean isEmpty() {
+      return first >= last;
+    }
+  }
+}
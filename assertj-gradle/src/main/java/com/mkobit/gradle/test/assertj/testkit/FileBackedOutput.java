@@ -0,0 +1,165 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Build output captured to a file and read back as a memory-mapped {@link CharSequence}.
+ *
+ * Pass {@link #writer()} to {@link org.gradle.testkit.runner.GradleRunner#forwardStdOutput(Writer)} and
+ * {@link org.gradle.testkit.runner.GradleRunner#forwardStdError(Writer)}, then use
+ * {@link BuildResultAssert#withOutputFrom(FileBackedOutput)} so that output assertions run against the file instead of
+ * {@link org.gradle.testkit.runner.BuildResult#getOutput()}.
+ * Output is stored as {@code UTF-16BE} so that the mapped file can be indexed by character without decoding it onto
+ * the heap.
+ *
+ * <pre>{@code
+ * try (FileBackedOutput output = FileBackedOutput.createTempFile()) {
+ *   final BuildResult result = runner.forwardStdOutput(output.writer()).forwardStdError(output.writer()).build();
+ *   assertThat(result).withOutputFrom(output).outputContains("BUILD SUCCESSFUL");
+ * }
+ * }</pre>
+ */
+public final class FileBackedOutput implements Closeable {
+  private static final Charset CHARSET = StandardCharsets.UTF_16BE;
+  private static final int BYTES_PER_CHAR = 2;
+
+  private final Path path;
+  private final boolean deleteOnClose;
+  private final Writer writer;
+  private @Nullable CharSequence view;
+  private @Nullable BuildOutputIndex index;
+
+  private FileBackedOutput(final Path path, final boolean deleteOnClose) throws IOException {
+    this.path = path;
+    this.deleteOnClose = deleteOnClose;
+    this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), CHARSET));
+  }
+
+  /**
+   * Captures output to a new temporary file that is deleted when this object is {@link #close() closed}.
+   *
+   * @return the new file backed output
+   * @throws IOException if the file could not be created
+   */
+  public static FileBackedOutput createTempFile() throws IOException {
+    return new FileBackedOutput(Files.createTempFile("build-output-", ".utf16"), true);
+  }
+
+  /**
+   * Captures output to the provided {@code file}, replacing any existing content.
+   * The file is kept when this object is {@link #close() closed}.
+   *
+   * @param file the file to write output to
+   * @return the new file backed output
+   * @throws NullPointerException if the provided {@code file} is {@code null}
+   * @throws IOException if the file could not be opened for writing
+   */
+  public static FileBackedOutput create(final Path file) throws IOException {
+    Objects.requireNonNull(file, "file");
+    return new FileBackedOutput(file, false);
+  }
+
+  /**
+   * The file that output is written to.
+   *
+   * @return the output file
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * The writer that captures output.
+   * The same writer can be forwarded both standard output and standard error, writes are synchronized.
+   *
+   * @return the writer
+   */
+  public Writer writer() {
+    return writer;
+  }
+
+  /**
+   * Flushes and closes the {@link #writer()} and maps the file into memory.
+   * Nothing more can be written once the view is created.
+   *
+   * @return the captured output, backed by the mapped file
+   * @throws UncheckedIOException if the file could not be read
+   * @throws IllegalStateException if the output is larger than can be mapped at once
+   */
+  public synchronized CharSequence view() {
+    final @Nullable CharSequence existing = view;
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      writer.close();
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+          throw new IllegalStateException("Output in " + path + " is " + size + " bytes, at most "
+                                              + Integer.MAX_VALUE + " bytes can be mapped");
+        }
+        // The mapping stays valid after the channel is closed
+        final CharSequence mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size - size % BYTES_PER_CHAR)
+                                           .asCharBuffer();
+        view = mapped;
+        return mapped;
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not map output in " + path, e);
+    }
+  }
+
+  /**
+   * The index over {@link #view()}, built once.
+   * It is kept here rather than in a weak cache keyed by this object because the index references the view.
+   */
+  synchronized BuildOutputIndex index() {
+    final @Nullable BuildOutputIndex existing = index;
+    if (existing != null) {
+      return existing;
+    }
+    final BuildOutputIndex created = new BuildOutputIndex(view());
+    index = created;
+    return created;
+  }
+
+  /**
+   * Closes the {@link #writer()} and deletes the file if it was created by {@link #createTempFile()}.
+   * A view that was already created must not be used afterwards.
+   *
+   * @throws IOException if the writer could not be closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    writer.close();
+    view = null;
+    index = null;
+    if (deleteOnClose) {
+      try {
+        Files.deleteIfExists(path);
+      } catch (final IOException ignored) {
+        // A mapped file cannot be deleted on some platforms and is left for the temporary directory cleanup
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FileBackedOutput(path=" + path + ")";
+  }
+}
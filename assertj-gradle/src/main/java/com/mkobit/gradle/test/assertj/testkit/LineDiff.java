@@ -0,0 +1,297 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Line diff between two indexed outputs using Myers' O(ND) algorithm in its linear space, divide and conquer form.
+ *
+ * Lines are first interned into integer identifiers using the line hashes of the {@link BuildOutputIndex}, so the
+ * diff itself only compares integers and no line is copied.
+ * Common leading and trailing lines are skipped before the diff runs, which makes the usual case of a few changed
+ * lines in a large output cost a single pass over both outputs.
+ * Line terminators are not compared, so {@code \r\n} and {@code \n} outputs with the same lines are identical.
+ */
+final class LineDiff {
+  private static final int MAX_RENDERED_LINE_LENGTH = 512;
+  private static final int MAX_RENDERED_LINES_PER_HUNK = 200;
+
+  private final BuildOutputIndex expected;
+  private final BuildOutputIndex actual;
+  private final int[] expectedIds;
+  private final int[] actualIds;
+  private final boolean[] deleted;
+  private final boolean[] inserted;
+  private final int[] forward;
+  private final int[] backward;
+  private final List<Change> changes;
+
+  LineDiff(final BuildOutputIndex expected, final BuildOutputIndex actual) {
+    this.expected = expected;
+    this.actual = actual;
+    final int expectedCount = expected.lineCount();
+    final int actualCount = actual.lineCount();
+    this.expectedIds = new int[expectedCount];
+    this.actualIds = new int[actualCount];
+    internLines();
+    this.deleted = new boolean[expectedCount];
+    this.inserted = new boolean[actualCount];
+    final int diagonals = 2 * (expectedCount + actualCount) + 3;
+    this.forward = new int[diagonals];
+    this.backward = new int[diagonals];
+    compare(0, expectedCount, 0, actualCount);
+    this.changes = collectChanges();
+  }
+
+  boolean isIdentical() {
+    return changes.isEmpty();
+  }
+
+  /**
+   * Number of hunks when the changes are rendered with the provided number of context lines.
+   */
+  int hunkCount(final int contextLines) {
+    return hunks(contextLines).size();
+  }
+
+  /**
+   * Renders the changes as unified diff hunks.
+   *
+   * @param contextLines number of unchanged lines shown around each change
+   * @param maxHunks hunks after this many are only counted, and each hunk is cut off after a few hundred lines
+   * @return the rendered diff
+   */
+  String render(final int contextLines, final int maxHunks) {
+    final List<int[]> hunks = hunks(contextLines);
+    final StringBuilder builder = new StringBuilder();
+    final String newline = System.lineSeparator();
+    for (int h = 0; h < hunks.size() && h < maxHunks; h++) {
+      final int[] hunk = hunks.get(h);
+      final int expectedStart = hunk[0];
+      final int expectedEnd = hunk[1];
+      final int actualStart = hunk[2];
+      final int actualEnd = hunk[3];
+      builder.append("@@ -").append(expectedStart + 1).append(',').append(expectedEnd - expectedStart)
+             .append(" +").append(actualStart + 1).append(',').append(actualEnd - actualStart)
+             .append(" @@").append(newline);
+      int i = expectedStart;
+      int j = actualStart;
+      for (int rendered = 0; i < expectedEnd || j < actualEnd; rendered++) {
+        if (rendered == MAX_RENDERED_LINES_PER_HUNK) {
+          builder.append("... hunk continues").append(newline);
+          break;
+        }
+        if (i < expectedEnd && deleted[i]) {
+          appendLine(builder, '-', expected, i++);
+        } else if (j < actualEnd && inserted[j]) {
+          appendLine(builder, '+', actual, j++);
+        } else {
+          appendLine(builder, ' ', expected, i++);
+          j++;
+        }
+      }
+    }
+    if (hunks.size() > maxHunks) {
+      builder.append("... ").append(hunks.size() - maxHunks).append(" more hunks").append(newline);
+    }
+    return builder.toString();
+  }
+
+  private static void appendLine(final StringBuilder builder,
+                                 final char marker,
+                                 final BuildOutputIndex index,
+                                 final int line) {
+    final int start = index.lineStart(line);
+    final int end = index.lineEnd(line);
+    builder.append(marker).append(index.output(), start, Math.min(end, start + MAX_RENDERED_LINE_LENGTH));
+    if (end - start > MAX_RENDERED_LINE_LENGTH) {
+      builder.append("...");
+    }
+    builder.append(System.lineSeparator());
+  }
+
+  /**
+   * Groups the changes into hunks of {@code [expectedStart, expectedEnd, actualStart, actualEnd]}, merging changes
+   * whose context would overlap.
+   */
+  private List<int[]> hunks(final int contextLines) {
+    final List<int[]> hunks = new ArrayList<>();
+    int @Nullable [] current = null;
+    for (final Change change : changes) {
+      final int expectedStart = Math.max(0, change.expectedStart - contextLines);
+      final int actualStart = Math.max(0, change.actualStart - contextLines);
+      final int expectedEnd = Math.min(expectedIds.length, change.expectedEnd + contextLines);
+      final int actualEnd = Math.min(actualIds.length, change.actualEnd + contextLines);
+      if (current != null && expectedStart <= current[1]) {
+        current[1] = expectedEnd;
+        current[3] = actualEnd;
+      } else {
+        current = new int[] {expectedStart, expectedEnd, actualStart, actualEnd};
+        hunks.add(current);
+      }
+    }
+    return hunks;
+  }
+
+  private List<Change> collectChanges() {
+    final List<Change> collected = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while (i < deleted.length || j < inserted.length) {
+      if ((i < deleted.length && deleted[i]) || (j < inserted.length && inserted[j])) {
+        final int expectedStart = i;
+        final int actualStart = j;
+        while (i < deleted.length && deleted[i]) {
+          i++;
+        }
+        while (j < inserted.length && inserted[j]) {
+          j++;
+        }
+        collected.add(new Change(expectedStart, i, actualStart, j));
+      } else {
+        i++;
+        j++;
+      }
+    }
+    return collected;
+  }
+
+  /**
+   * Assigns equal lines of both outputs the same identifier with an open addressing table keyed by line hash.
+   */
+  private void internLines() {
+    final int total = expectedIds.length + actualIds.length;
+    final int capacity = Integer.highestOneBit(Math.max(16, total * 2 - 1)) << 1;
+    final int mask = capacity - 1;
+    // Each slot holds the first occurrence of a distinct line, encoded as a line number in expected or actual
+    final int[] slots = new int[capacity];
+    Arrays.fill(slots, -1);
+    int nextId = 0;
+    final int[] ids = new int[total];
+    for (int n = 0; n < total; n++) {
+      final BuildOutputIndex index = n < expectedIds.length ? expected : actual;
+      final int line = n < expectedIds.length ? n : n - expectedIds.length;
+      int slot = mix(index.lineHash(line)) & mask;
+      while (true) {
+        final int occupant = slots[slot];
+        if (occupant < 0) {
+          slots[slot] = n;
+          ids[n] = nextId++;
+          break;
+        }
+        final BuildOutputIndex occupantIndex = occupant < expectedIds.length ? expected : actual;
+        final int occupantLine = occupant < expectedIds.length ? occupant : occupant - expectedIds.length;
+        if (BuildOutputIndex.linesEqual(occupantIndex, occupantLine, index, line)) {
+          ids[n] = ids[occupant];
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+    System.arraycopy(ids, 0, expectedIds, 0, expectedIds.length);
+    System.arraycopy(ids, expectedIds.length, actualIds, 0, actualIds.length);
+  }
+
+  private static int mix(final int hash) {
+    final int mixed = hash * 0x9E3779B1;
+    return mixed ^ (mixed >>> 16);
+  }
+
+  private void compare(int expectedLow, int expectedHigh, int actualLow, int actualHigh) {
+    while (expectedLow < expectedHigh && actualLow < actualHigh
+        && expectedIds[expectedLow] == actualIds[actualLow]) {
+      expectedLow++;
+      actualLow++;
+    }
+    while (expectedLow < expectedHigh && actualLow < actualHigh
+        && expectedIds[expectedHigh - 1] == actualIds[actualHigh - 1]) {
+      expectedHigh--;
+      actualHigh--;
+    }
+    if (expectedLow == expectedHigh) {
+      Arrays.fill(inserted, actualLow, actualHigh, true);
+    } else if (actualLow == actualHigh) {
+      Arrays.fill(deleted, expectedLow, expectedHigh, true);
+    } else {
+      final long split = middleSnake(expectedLow, expectedHigh, actualLow, actualHigh);
+      final int expectedSplit = (int) (split >>> 32);
+      final int actualSplit = (int) split;
+      compare(expectedLow, expectedSplit, actualLow, actualSplit);
+      compare(expectedSplit, expectedHigh, actualSplit, actualHigh);
+    }
+  }
+
+  /**
+   * Finds a point on an optimal edit path between the two ranges by running the forward and the reverse search until
+   * they overlap.
+   * Both ranges must be non-empty and differ in their first and last lines, so the point is never a corner.
+   *
+   * @return the expected line number in the high 32 bits and the actual line number in the low 32 bits
+   */
+  private long middleSnake(final int expectedLow, final int expectedHigh, final int actualLow, final int actualHigh) {
+    final int n = expectedHigh - expectedLow;
+    final int m = actualHigh - actualLow;
+    final int delta = n - m;
+    final boolean odd = (delta & 1) != 0;
+    final int offset = n + m + 1;
+    forward[offset + 1] = 0;
+    backward[offset + 1] = 0;
+    final int maxD = (n + m + 1) / 2;
+    for (int d = 0; d <= maxD; d++) {
+      for (int k = -d; k <= d; k += 2) {
+        int x = k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])
+            ? forward[offset + k + 1]
+            : forward[offset + k - 1] + 1;
+        int y = x - k;
+        while (x < n && y < m && expectedIds[expectedLow + x] == actualIds[actualLow + y]) {
+          x++;
+          y++;
+        }
+        forward[offset + k] = x;
+        final int reverseK = delta - k;
+        if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + backward[offset + reverseK] >= n) {
+          return ((long) (expectedLow + x) << 32) | (actualLow + y);
+        }
+      }
+      for (int k = -d; k <= d; k += 2) {
+        int x = k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1])
+            ? backward[offset + k + 1]
+            : backward[offset + k - 1] + 1;
+        int y = x - k;
+        while (x < n && y < m && expectedIds[expectedHigh - 1 - x] == actualIds[actualHigh - 1 - y]) {
+          x++;
+          y++;
+        }
+        backward[offset + k] = x;
+        final int forwardK = delta - k;
+        if (!odd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n) {
+          // Split at the end of the forward path on the overlapping diagonal, as in the odd case
+          final int forwardX = forward[offset + forwardK];
+          return ((long) (expectedLow + forwardX) << 32) | (actualLow + forwardX - forwardK);
+        }
+      }
+    }
+    throw new IllegalStateException("No middle snake found between non-empty ranges");
+  }
+
+  /**
+   * A run of deleted expected lines {@code [expectedStart, expectedEnd)} replaced by inserted actual lines
+   * {@code [actualStart, actualEnd)}.
+   */
+  private static final class Change {
+    private final int expectedStart;
+    private final int expectedEnd;
+    private final int actualStart;
+    private final int actualEnd;
+
+    private Change(final int expectedStart, final int expectedEnd, final int actualStart, final int actualEnd) {
+      this.expectedStart = expectedStart;
+      this.expectedEnd = expectedEnd;
+      this.actualStart = actualStart;
+      this.actualEnd = actualEnd;
+    }
+  }
+}
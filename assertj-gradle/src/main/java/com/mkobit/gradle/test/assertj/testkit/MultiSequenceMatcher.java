@@ -0,0 +1,184 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton that finds any number of sequences in a single pass over a text.
+ *
+ * Used by the multi-sequence output assertions so that checking {@code n} sequences costs one scan of the output
+ * instead of {@code n}.
+ */
+final class MultiSequenceMatcher {
+  private static final int ROOT = 0;
+
+  private final int sequenceCount;
+  private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+  private final List<int[]> matchesAtNode = new ArrayList<>();
+  private int[] failure;
+  private int[] dictionarySuffix;
+  private final BitSet emptySequences = new BitSet();
+
+  /**
+   * Compiles a matcher for the provided {@code sequences}.
+   * The index of each sequence in the list is its identifier in results returned by {@link #find(CharSequence, int)}.
+   *
+   * @param sequences the sequences to search for
+   */
+  MultiSequenceMatcher(final List<? extends CharSequence> sequences) {
+    this.sequenceCount = sequences.size();
+    newNode();
+    for (int i = 0; i < sequences.size(); i++) {
+      final CharSequence sequence = sequences.get(i);
+      if (sequence.length() == 0) {
+        emptySequences.set(i);
+        continue;
+      }
+      int node = ROOT;
+      for (int j = 0; j < sequence.length(); j++) {
+        final Character c = sequence.charAt(j);
+        Integer next = transitions.get(node).get(c);
+        if (next == null) {
+          next = newNode();
+          transitions.get(node).put(c, next);
+        }
+        node = next;
+      }
+      final int[] existing = matchesAtNode.get(node);
+      final int[] updated = new int[existing.length + 1];
+      System.arraycopy(existing, 0, updated, 0, existing.length);
+      updated[existing.length] = i;
+      matchesAtNode.set(node, updated);
+    }
+    buildFailureLinks();
+  }
+
+  int sequenceCount() {
+    return sequenceCount;
+  }
+
+  /**
+   * Scans the provided {@code text} once and reports the sequences that occur in it.
+   *
+   * @param text the text to search
+   * @param stopAfter stop scanning once this many distinct sequences have been found
+   * @return the identifiers of the sequences found
+   */
+  BitSet find(final CharSequence text, final int stopAfter) {
+    final BitSet found = (BitSet) emptySequences.clone();
+    int foundCount = found.cardinality();
+    if (foundCount >= stopAfter || transitions.get(ROOT).isEmpty()) {
+      return found;
+    }
+    int node = ROOT;
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      node = step(node, text.charAt(i));
+      for (int match = matchesAtNode.get(node).length > 0 ? node : dictionarySuffix[node];
+           match != ROOT;
+           match = dictionarySuffix[match]) {
+        for (final int sequence : matchesAtNode.get(match)) {
+          if (!found.get(sequence)) {
+            found.set(sequence);
+            if (++foundCount >= stopAfter) {
+              return found;
+            }
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * State to start an incremental scan from with {@link #next(int, char)}.
+   */
+  int initialState() {
+    return ROOT;
+  }
+
+  /**
+   * Advances an incremental scan by one character.
+   *
+   * @param state the current state
+   * @param c the next character of the text
+   * @return the new state
+   */
+  int next(final int state, final char c) {
+    return step(state, c);
+  }
+
+  /**
+   * Reports every sequence that ends at the provided {@code state}.
+   *
+   * @param state the current state of an incremental scan
+   * @param consumer receives the identifier of each sequence that ends at the last character scanned
+   */
+  void forEachMatch(final int state, final IntConsumer consumer) {
+    for (int match = matchesAtNode.get(state).length > 0 ? state : dictionarySuffix[state];
+         match != ROOT;
+         match = dictionarySuffix[match]) {
+      for (final int sequence : matchesAtNode.get(match)) {
+        consumer.accept(sequence);
+      }
+    }
+  }
+
+  /**
+   * Identifiers of the empty sequences, which every text contains.
+   */
+  BitSet emptySequences() {
+    return (BitSet) emptySequences.clone();
+  }
+
+  private int step(int node, final char c) {
+    while (true) {
+      final Integer next = transitions.get(node).get(c);
+      if (next != null) {
+        return next;
+      }
+      if (node == ROOT) {
+        return ROOT;
+      }
+      node = failure[node];
+    }
+  }
+
+  private int newNode() {
+    transitions.add(new HashMap<>());
+    matchesAtNode.add(new int[0]);
+    return transitions.size() - 1;
+  }
+
+  private void buildFailureLinks() {
+    final int nodeCount = transitions.size();
+    failure = new int[nodeCount];
+    dictionarySuffix = new int[nodeCount];
+    final Queue<Integer> queue = new ArrayDeque<>();
+    for (final int child : transitions.get(ROOT).values()) {
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      final int node = queue.remove();
+      for (final Map.Entry<Character, Integer> transition : transitions.get(node).entrySet()) {
+        final int child = transition.getValue();
+        int fallback = failure[node];
+        while (fallback != ROOT && !transitions.get(fallback).containsKey(transition.getKey())) {
+          fallback = failure[fallback];
+        }
+        final Integer fallbackChild = transitions.get(fallback).get(transition.getKey());
+        failure[child] = fallbackChild != null && fallbackChild != child ? fallbackChild : ROOT;
+        dictionarySuffix[child] = matchesAtNode.get(failure[child]).length > 0
+            ? failure[child]
+            : dictionarySuffix[failure[child]];
+        queue.add(child);
+      }
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Controls how build output is rendered into {@link BuildResultAssert} failure messages.
+ *
+ * Build outputs can be very large, and a failure message that embeds all of it is expensive to build and to keep in
+ * memory (for example when many failures are collected by {@link com.mkobit.gradle.test.assertj.GradleSoftAssertions}).
+ * The default format keeps the head and the tail of the output, shows a few lines of context around the closest
+ * partial match of an expected sequence, and can write the full output to a file that the message points to.
+ *
+ * @see BuildResultAssert#withOutputFailureFormat(OutputFailureFormat)
+ */
+public final class OutputFailureFormat {
+  private static final OutputFailureFormat FULL = new OutputFailureFormat(Integer.MAX_VALUE, 0, 0, null);
+  private static final OutputFailureFormat BOUNDED = new OutputFailureFormat(4096, 4096, 3, null);
+
+  private final int headCharacters;
+  private final int tailCharacters;
+  private final int contextLines;
+  private final @Nullable Path fullOutputDirectory;
+
+  private OutputFailureFormat(final int headCharacters,
+                              final int tailCharacters,
+                              final int contextLines,
+                              final @Nullable Path fullOutputDirectory) {
+    this.headCharacters = headCharacters;
+    this.tailCharacters = tailCharacters;
+    this.contextLines = contextLines;
+    this.fullOutputDirectory = fullOutputDirectory;
+  }
+
+  /**
+   * Format that includes the entire output in failure messages.
+   *
+   * @return the unbounded format
+   */
+  public static OutputFailureFormat full() {
+    return FULL;
+  }
+
+  /**
+   * Format that includes at most the first and last 4096 characters of the output and 3 lines of context around the
+   * closest match.
+   *
+   * @return the bounded format
+   */
+  public static OutputFailureFormat bounded() {
+    return BOUNDED;
+  }
+
+  /**
+   * Copy of this format that keeps the provided number of characters from each end of the output.
+   *
+   * @param head number of characters kept from the start of the output
+   * @param tail number of characters kept from the end of the output
+   * @return a new format
+   * @throws IllegalArgumentException if {@code head} or {@code tail} is negative
+   */
+  public OutputFailureFormat withHeadAndTail(final int head, final int tail) {
+    if (head < 0 || tail < 0) {
+      throw new IllegalArgumentException("head and tail must not be negative but were " + head + " and " + tail);
+    }
+    return new OutputFailureFormat(head, tail, contextLines, fullOutputDirectory);
+  }
+
+  /**
+   * Copy of this format that shows the provided number of lines before and after the closest match.
+   *
+   * @param lines number of lines of context, {@code 0} to only show the matching line
+   * @return a new format
+   * @throws IllegalArgumentException if {@code lines} is negative
+   */
+  public OutputFailureFormat withContextLines(final int lines) {
+    if (lines < 0) {
+      throw new IllegalArgumentException("lines must not be negative but was " + lines);
+    }
+    return new OutputFailureFormat(headCharacters, tailCharacters, lines, fullOutputDirectory);
+  }
+
+  /**
+   * Copy of this format that writes the full output to a file in the provided {@code directory} when it is truncated.
+   * The output of each {@link org.gradle.testkit.runner.BuildResult} is written at most once per directory.
+   *
+   * @param directory directory to write output files into, created if it does not exist
+   * @return a new format
+   * @throws NullPointerException if the provided {@code directory} is {@code null}
+   */
+  public OutputFailureFormat writingFullOutputTo(final Path directory) {
+    Objects.requireNonNull(directory, "directory");
+    return new OutputFailureFormat(headCharacters, tailCharacters, contextLines, directory);
+  }
+
+  /**
+   * Renders the output, truncated if it is longer than the head and tail limits.
+   */
+  String render(final BuildOutputIndex index) {
+    final CharSequence output = index.output();
+    final int length = output.length();
+    if (headCharacters == Integer.MAX_VALUE || (long) headCharacters + tailCharacters >= length) {
+      return output.toString();
+    }
+    final StringBuilder builder = new StringBuilder(headCharacters + tailCharacters + 160);
+    builder.append(output, 0, headCharacters)
+           .append(System.lineSeparator())
+           .append("... [")
+           .append(length - headCharacters - tailCharacters)
+           .append(" characters omitted");
+    final @Nullable String location = fullOutputLocation(index);
+    if (location != null) {
+      builder.append("; ").append(location);
+    }
+    builder.append("] ...")
+           .append(System.lineSeparator())
+           .append(output, length - tailCharacters, length);
+    return builder.toString();
+  }
+
+  /**
+   * Renders the lines around the closest partial match of {@code expected}, the longest prefix of it that is in the
+   * output.
+   *
+   * @return the rendered context or {@code null} if the format shows no context or not even one character matched
+   */
+  @Nullable String renderClosestMatch(final BuildOutputIndex index, final CharSequence expected) {
+    if (contextLines == 0 && headCharacters == Integer.MAX_VALUE) {
+      return null;
+    }
+    // Containment is monotonic in the prefix length, so binary search for the longest contained prefix
+    int low = 0;
+    int high = expected.length();
+    while (low < high) {
+      final int middle = (low + high + 1) >>> 1;
+      if (index.contains(expected.subSequence(0, middle))) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    if (low == 0) {
+      return null;
+    }
+    final String prefix = expected.subSequence(0, low).toString();
+    final int offset = index.indexOf(prefix);
+    return "closest match <" + prefix + "> at line " + (index.lineOf(offset) + 1) + ":"
+        + System.lineSeparator() + renderContext(index, offset);
+  }
+
+  /**
+   * Renders the lines around the provided {@code offset}, marking the line that contains it.
+   */
+  String renderContext(final BuildOutputIndex index, final int offset) {
+    if (index.lineCount() == 0) {
+      return "";
+    }
+    final int line = index.lineOf(offset);
+    final int first = Math.max(0, line - contextLines);
+    final int last = Math.min(index.lineCount() - 1, line + contextLines);
+    final CharSequence output = index.output();
+    final int width = String.valueOf(last + 1).length();
+    final StringBuilder builder = new StringBuilder();
+    for (int i = first; i <= last; i++) {
+      final String number = String.valueOf(i + 1);
+      builder.append(i == line ? "> " : "  ");
+      for (int pad = number.length(); pad < width; pad++) {
+        builder.append(' ');
+      }
+      builder.append(number).append("| ");
+      final int start = index.lineStart(i);
+      final int end = Math.min(index.lineEnd(i), start + Math.max(headCharacters, 256));
+      builder.append(output, start, end);
+      if (end < index.lineEnd(i)) {
+        builder.append("...");
+      }
+      if (i < last) {
+        builder.append(System.lineSeparator());
+      }
+    }
+    return builder.toString();
+  }
+
+  private @Nullable String fullOutputLocation(final BuildOutputIndex index) {
+    final @Nullable Path directory = fullOutputDirectory;
+    if (directory == null) {
+      return null;
+    }
+    try {
+      return "full output written to " + index.writtenTo(directory, OutputFailureFormat::writeOutput);
+    } catch (final IOException e) {
+      return "full output could not be written to " + directory + ": " + e;
+    }
+  }
+
+  private static Path writeOutput(final Path directory, final CharSequence output) throws IOException {
+    Files.createDirectories(directory);
+    final Path file = Files.createTempFile(directory, "build-output-", ".log");
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      BuildOutputIndex.write(writer, output);
+    }
+    return file;
+  }
+
+  @Override
+  public String toString() {
+    return "OutputFailureFormat("
+        + "headCharacters=" + (headCharacters == Integer.MAX_VALUE ? "unbounded" : String.valueOf(headCharacters))
+        + ", tailCharacters=" + tailCharacters
+        + ", contextLines=" + contextLines
+        + ", fullOutputDirectory=" + fullOutputDirectory
+        + ")";
+  }
+}
@@ -0,0 +1,299 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces volatile content such as durations, paths, hashes and timestamps in build output before it is asserted on.
+ *
+ * All rules are compiled into a single pattern, so normalizing an output is one scan and one copy no matter how many
+ * rules there are.
+ * When more than one rule matches at the same position the rule that was added first wins.
+ * Replacements are literal, {@code $} and {@code \} have no special meaning.
+ * <pre>{@code
+ * OutputNormalizer normalizer = OutputNormalizer.builder()
+ *     .stripAnsiEscapes()
+ *     .replaceBuildDurations("<duration>")
+ *     .replacePath(projectDir, "<project>")
+ *     .build();
+ * assertThat(result).normalizedWith(normalizer).outputMatchesSnapshot(snapshot);
+ * }</pre>
+ *
+ * @see BuildResultAssert#normalizedWith(OutputNormalizer)
+ */
+public final class OutputNormalizer {
+  private static final String ANSI_ESCAPE = "\\u001B\\[[0-9;?]*[ -/]*[@-~]";
+  private static final String BUILD_DURATION =
+      "(?<=BUILD SUCCESSFUL in |BUILD FAILED in )\\d+(?:\\.\\d+)?(?:ms|s|m|h)(?: \\d+(?:\\.\\d+)?(?:ms|s|m))*";
+  private static final String TIMESTAMP =
+      "\\d{4}-\\d{2}-\\d{2}[T ]\\d{2}:\\d{2}:\\d{2}(?:[.,]\\d+)?(?:Z|[+-]\\d{2}:?\\d{2})?";
+  private static final String HASH = "\\b[0-9a-fA-F]{32,}\\b";
+
+  private final List<String> regexes;
+  private final List<String> replacements;
+  private final int[] ruleGroups;
+  private final @Nullable Pattern combined;
+
+  private OutputNormalizer(final Builder builder) {
+    this.regexes = Collections.unmodifiableList(new ArrayList<>(builder.regexes));
+    this.replacements = Collections.unmodifiableList(new ArrayList<>(builder.replacements));
+    this.ruleGroups = new int[regexes.size()];
+    if (regexes.isEmpty()) {
+      this.combined = null;
+      return;
+    }
+    final StringBuilder alternation = new StringBuilder();
+    int group = 1;
+    for (int i = 0; i < regexes.size(); i++) {
+      if (i > 0) {
+        alternation.append('|');
+      }
+      alternation.append('(').append(regexes.get(i)).append(')');
+      ruleGroups[i] = group;
+      group += 1 + Pattern.compile(regexes.get(i)).matcher("").groupCount();
+    }
+    this.combined = Pattern.compile(alternation.toString());
+  }
+
+  /**
+   * Creates a builder with no rules.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Applies all rules to the provided {@code output} in a single pass.
+   *
+   * @param output the output to normalize
+   * @return the normalized output
+   * @throws NullPointerException if the provided {@code output} is {@code null}
+   */
+  public String normalize(final CharSequence output) {
+    Objects.requireNonNull(output, "output");
+    final @Nullable String normalized = normalizeIfChanged(output);
+    return normalized != null ? normalized : output.toString();
+  }
+
+  /**
+   * Applies all rules to the provided {@code output} in a single pass.
+   *
+   * @return the normalized output or {@code null} if no rule matched, in which case nothing was copied
+   */
+  @Nullable String normalizeIfChanged(final CharSequence output) {
+    final @Nullable Pattern pattern = combined;
+    if (pattern == null) {
+      return null;
+    }
+    final Matcher matcher = pattern.matcher(output);
+    if (!matcher.find()) {
+      return null;
+    }
+    final StringBuilder builder = new StringBuilder(output.length());
+    int last = 0;
+    do {
+      builder.append(output, last, matcher.start());
+      for (int rule = 0; rule < ruleGroups.length; rule++) {
+        if (matcher.start(ruleGroups[rule]) >= 0) {
+          builder.append(replacements.get(rule));
+          break;
+        }
+      }
+      last = matcher.end();
+    } while (matcher.find());
+    builder.append(output, last, output.length());
+    return builder.toString();
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof OutputNormalizer)) {
+      return false;
+    }
+    final OutputNormalizer that = (OutputNormalizer) o;
+    return regexes.equals(that.regexes) && replacements.equals(that.replacements);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * regexes.hashCode() + replacements.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "OutputNormalizer(rules=" + regexes.size() + ")";
+  }
+
+  /**
+   * Builder for {@link OutputNormalizer}.
+   */
+  public static final class Builder {
+    private final List<String> regexes = new ArrayList<>();
+    private final List<String> replacements = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Replaces every match of the provided {@code pattern}.
+     * The pattern must not use numbered back references, because its groups are renumbered when the rules are
+     * combined.
+     *
+     * @param pattern the pattern to replace
+     * @param replacement the literal replacement
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code pattern} or {@code replacement} is {@code null}
+     * @throws IllegalArgumentException if the {@code pattern} uses {@link Pattern#CANON_EQ}
+     */
+    public Builder replace(final Pattern pattern, final String replacement) {
+      Objects.requireNonNull(pattern, "pattern");
+      return addRule(withInlineFlags(pattern), replacement);
+    }
+
+    /**
+     * Replaces every match of the provided {@code regex}.
+     *
+     * @param regex the regular expression to replace
+     * @param replacement the literal replacement
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code regex} or {@code replacement} is {@code null}
+     * @throws java.util.regex.PatternSyntaxException if the provided {@code regex} is invalid
+     * @see #replace(Pattern, String)
+     */
+    public Builder replace(final String regex, final String replacement) {
+      Objects.requireNonNull(regex, "regex");
+      return replace(Patterns.compile(regex), replacement);
+    }
+
+    /**
+     * Replaces every occurrence of the provided {@code target}.
+     *
+     * @param target the literal sequence to replace
+     * @param replacement the literal replacement
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code target} or {@code replacement} is {@code null}
+     */
+    public Builder replaceLiteral(final CharSequence target, final String replacement) {
+      Objects.requireNonNull(target, "target");
+      return addRule(Pattern.quote(target.toString()), replacement);
+    }
+
+    /**
+     * Replaces the absolute form of the provided {@code path}, also when it is printed with {@code /} separators.
+     *
+     * @param path the path to replace, for example the project directory of the build
+     * @param replacement the literal replacement
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code path} or {@code replacement} is {@code null}
+     */
+    public Builder replacePath(final Path path, final String replacement) {
+      Objects.requireNonNull(path, "path");
+      final String absolute = path.toAbsolutePath().toString();
+      final String forwardSlashes = absolute.replace('\\', '/');
+      final String regex = absolute.equals(forwardSlashes)
+          ? Pattern.quote(absolute)
+          : Pattern.quote(absolute) + "|" + Pattern.quote(forwardSlashes);
+      return addRule(regex, replacement);
+    }
+
+    /**
+     * Removes ANSI escape sequences such as colors and cursor movement.
+     *
+     * @return {@code this} builder
+     */
+    public Builder stripAnsiEscapes() {
+      return addRule(ANSI_ESCAPE, "");
+    }
+
+    /**
+     * Replaces the duration of {@code BUILD SUCCESSFUL in 3s} and {@code BUILD FAILED in 1m 2s} lines.
+     *
+     * @param replacement the literal replacement for the duration
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code replacement} is {@code null}
+     */
+    public Builder replaceBuildDurations(final String replacement) {
+      return addRule(BUILD_DURATION, replacement);
+    }
+
+    /**
+     * Replaces ISO-8601 style timestamps such as {@code 2018-10-21T13:45:01.123Z} and {@code 2018-10-21 13:45:01}.
+     *
+     * @param replacement the literal replacement
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code replacement} is {@code null}
+     */
+    public Builder replaceTimestamps(final String replacement) {
+      return addRule(TIMESTAMP, replacement);
+    }
+
+    /**
+     * Replaces hexadecimal hashes of at least 32 digits, such as build cache keys and checksums.
+     *
+     * @param replacement the literal replacement
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code replacement} is {@code null}
+     */
+    public Builder replaceHashes(final String replacement) {
+      return addRule(HASH, replacement);
+    }
+
+    /**
+     * Creates the normalizer.
+     *
+     * @return a new normalizer with the rules added so far
+     */
+    public OutputNormalizer build() {
+      return new OutputNormalizer(this);
+    }
+
+    private Builder addRule(final String regex, final String replacement) {
+      Objects.requireNonNull(replacement, "replacement");
+      regexes.add(regex);
+      replacements.add(replacement);
+      return this;
+    }
+
+    private static String withInlineFlags(final Pattern pattern) {
+      final int flags = pattern.flags();
+      if ((flags & Pattern.CANON_EQ) != 0) {
+        throw new IllegalArgumentException("CANON_EQ cannot be combined with other rules: " + pattern);
+      }
+      if ((flags & Pattern.LITERAL) != 0) {
+        return Pattern.quote(pattern.pattern());
+      }
+      final StringBuilder inline = new StringBuilder();
+      appendFlag(inline, flags, Pattern.CASE_INSENSITIVE, 'i');
+      appendFlag(inline, flags, Pattern.MULTILINE, 'm');
+      appendFlag(inline, flags, Pattern.DOTALL, 's');
+      appendFlag(inline, flags, Pattern.UNICODE_CASE, 'u');
+      appendFlag(inline, flags, Pattern.UNIX_LINES, 'd');
+      appendFlag(inline, flags, Pattern.UNICODE_CHARACTER_CLASS, 'U');
+      appendFlag(inline, flags, Pattern.COMMENTS, 'x');
+      if (inline.length() == 0) {
+        return pattern.pattern();
+      }
+      // A trailing comment in COMMENTS mode would otherwise swallow the closing parenthesis
+      final String end = (flags & Pattern.COMMENTS) != 0 ? "\n)" : ")";
+      return "(?" + inline + ":" + pattern.pattern() + end;
+    }
+
+    private static void appendFlag(final StringBuilder inline, final int flags, final int flag, final char letter) {
+      if ((flags & flag) != 0) {
+        inline.append(letter);
+      }
+    }
+  }
+}
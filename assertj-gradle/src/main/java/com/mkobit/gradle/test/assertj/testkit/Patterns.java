@@ -0,0 +1,81 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled pattern cache and pattern analysis shared by the {@code String} accepting regex assertions.
+ */
+final class Patterns {
+  private static final int MAX_CACHED_PATTERNS = 256;
+  private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  private static final Map<String, Pattern> CACHE = new LinkedHashMap<String, Pattern>(64, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, Pattern> eldest) {
+      return size() > MAX_CACHED_PATTERNS;
+    }
+  };
+
+  private Patterns() {
+  }
+
+  /**
+   * Compiles the provided {@code regex}, reusing a previously compiled pattern if it is still in the bounded
+   * least-recently-used cache.
+   *
+   * @param regex the regular expression
+   * @return the compiled pattern
+   * @throws java.util.regex.PatternSyntaxException if the {@code regex} is invalid
+   */
+  static Pattern compile(final String regex) {
+    synchronized (CACHE) {
+      final Pattern cached = CACHE.get(regex);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final Pattern compiled = Pattern.compile(regex);
+    synchronized (CACHE) {
+      CACHE.put(regex, compiled);
+    }
+    return compiled;
+  }
+
+  static int cachedPatternCount() {
+    synchronized (CACHE) {
+      return CACHE.size();
+    }
+  }
+
+  /**
+   * Determines a literal that every match of the provided {@code pattern} starts with.
+   * The analysis is conservative and returns an empty string whenever the prefix is not obvious.
+   *
+   * @param pattern the pattern to analyze
+   * @return the literal prefix, possibly empty
+   */
+  static String literalPrefix(final Pattern pattern) {
+    final int flags = pattern.flags();
+    final String regex = pattern.pattern();
+    if ((flags & Pattern.LITERAL) != 0) {
+      return (flags & Pattern.CASE_INSENSITIVE) != 0 ? "" : regex;
+    }
+    if ((flags & (Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.CANON_EQ)) != 0 || regex.indexOf('|') >= 0) {
+      return "";
+    }
+    int end = 0;
+    while (end < regex.length() && METACHARACTERS.indexOf(regex.charAt(end)) < 0) {
+      end++;
+    }
+    if (end < regex.length()) {
+      final char next = regex.charAt(end);
+      if (next == '?' || next == '*' || next == '{' || next == '+') {
+        // The quantifier applies to the last literal character, which may then not be present
+        end = Math.max(0, end - 1);
+      }
+    }
+    return regex.substring(0, end);
+  }
+}
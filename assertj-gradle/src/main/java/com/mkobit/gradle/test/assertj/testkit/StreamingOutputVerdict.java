@@ -0,0 +1,161 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable result of checking build output with a {@link StreamingOutputVerifier}.
+ *
+ * @see StreamingOutputVerdictAssert
+ */
+public final class StreamingOutputVerdict {
+  private final List<String> missingSequences;
+  private final List<Pattern> missingLinePatterns;
+  private final @Nullable Violation firstViolation;
+  private final long charactersRead;
+  private final long linesRead;
+  private final long truncatedLines;
+  private final boolean failedWrites;
+
+  StreamingOutputVerdict(final List<String> missingSequences,
+                         final List<Pattern> missingLinePatterns,
+                         final @Nullable Violation firstViolation,
+                         final long charactersRead,
+                         final long linesRead,
+                         final long truncatedLines,
+                         final boolean failedWrites) {
+    this.missingSequences = Collections.unmodifiableList(missingSequences);
+    this.missingLinePatterns = Collections.unmodifiableList(missingLinePatterns);
+    this.firstViolation = firstViolation;
+    this.charactersRead = charactersRead;
+    this.linesRead = linesRead;
+    this.truncatedLines = truncatedLines;
+    this.failedWrites = failedWrites;
+  }
+
+  /**
+   * @return {@code true} if nothing expected is missing, no violation was recorded and no line was truncated
+   */
+  public boolean isSatisfied() {
+    return firstViolation == null && missingSequences.isEmpty() && missingLinePatterns.isEmpty()
+        && truncatedLines == 0L;
+  }
+
+  /**
+   * @return the expected sequences that were not seen in the output
+   */
+  public List<String> getMissingSequences() {
+    return missingSequences;
+  }
+
+  /**
+   * @return the expected line patterns that no line of the output matched
+   */
+  public List<Pattern> getMissingLinePatterns() {
+    return missingLinePatterns;
+  }
+
+  /**
+   * @return the first violation recorded, if any
+   */
+  public Optional<Violation> getFirstViolation() {
+    return Optional.ofNullable(firstViolation);
+  }
+
+  /**
+   * @return the number of characters of output that were checked
+   */
+  public long getCharactersRead() {
+    return charactersRead;
+  }
+
+  /**
+   * @return the number of complete lines of output that were checked
+   */
+  public long getLinesRead() {
+    return linesRead;
+  }
+
+  /**
+   * @return the number of lines that were too long for the buffer of the verifier and were not checked against the
+   * line patterns, always {@code 0} when no line patterns are configured
+   */
+  public long getTruncatedLines() {
+    return truncatedLines;
+  }
+
+  /**
+   * @return {@code true} if the verifier failed writes because of a violation, see
+   * {@link StreamingOutputVerifier.Builder#failWritesAfterViolation()}
+   */
+  public boolean hasFailedWrites() {
+    return failedWrites;
+  }
+
+  @Override
+  public String toString() {
+    return "StreamingOutputVerdict("
+        + "missingSequences=" + missingSequences
+        + ", missingLinePatterns=" + missingLinePatterns
+        + ", firstViolation=" + firstViolation
+        + ", charactersRead=" + charactersRead
+        + ", linesRead=" + linesRead
+        + ", truncatedLines=" + truncatedLines
+        + ", failedWrites=" + failedWrites
+        + ")";
+  }
+
+  /**
+   * A check that failed while output was being read.
+   */
+  public static final class Violation {
+    private final String description;
+    private final long offset;
+    private final long lineNumber;
+    private final String excerpt;
+
+    Violation(final String description, final long offset, final long lineNumber, final String excerpt) {
+      this.description = description;
+      this.offset = offset;
+      this.lineNumber = lineNumber;
+      this.excerpt = excerpt;
+    }
+
+    /**
+     * @return what was violated
+     */
+    public String getDescription() {
+      return description;
+    }
+
+    /**
+     * @return the character offset in the output where the violation starts
+     */
+    public long getOffset() {
+      return offset;
+    }
+
+    /**
+     * @return the 1-based line number the violation was found on
+     */
+    public long getLineNumber() {
+      return lineNumber;
+    }
+
+    /**
+     * @return the line the violation was found on, truncated to a bounded length
+     */
+    public String getExcerpt() {
+      return excerpt;
+    }
+
+    @Override
+    public String toString() {
+      return description + " at offset " + offset + " (line " + lineNumber + "): <" + excerpt + ">";
+    }
+  }
+}
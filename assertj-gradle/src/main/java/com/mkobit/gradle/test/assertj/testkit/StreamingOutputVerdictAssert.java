@@ -0,0 +1,98 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Assertion methods for {@link StreamingOutputVerdict}.
+ *
+ * @see com.mkobit.gradle.test.assertj.GradleAssertions
+ * @see com.mkobit.gradle.test.assertj.GradleSoftAssertions
+ * @see StreamingOutputVerifier
+ */
+@GenerateSoftAssertions
+public class StreamingOutputVerdictAssert extends AbstractAssert<StreamingOutputVerdictAssert, StreamingOutputVerdict> {
+  public StreamingOutputVerdictAssert(final @Nullable StreamingOutputVerdict actual) {
+    super(actual, StreamingOutputVerdictAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  StreamingOutputVerdictAssert(final @Nullable StreamingOutputVerdictAssert source) {
+    this(source == null ? null : source.actual);
+  }
+
+  /**
+   * Verifies that every expectation was met and no violation was recorded.
+   *
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} is not satisfied
+   */
+  public StreamingOutputVerdictAssert isSatisfied() {
+    isNotNull();
+    if (!actual.isSatisfied()) {
+      failWithMessage("%nExpecting streamed build output to satisfy all checks but:%n"
+                          + " missing sequences: <%s>%n missing line patterns: <%s>%n first violation: <%s>%n"
+                          + " truncated lines not checked: <%s>",
+                      actual.getMissingSequences(),
+                      actual.getMissingLinePatterns(),
+                      actual.getFirstViolation().map(Object::toString).orElse("none"),
+                      actual.getTruncatedLines());
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that no violation was recorded.
+   *
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} has a violation
+   */
+  public StreamingOutputVerdictAssert hasNoViolation() {
+    isNotNull();
+    actual.getFirstViolation().ifPresent(violation -> failWithMessage(
+        "%nExpecting streamed build output to have no violation but found:%n <%s>",
+        violation));
+    return myself;
+  }
+
+  /**
+   * Verifies that all expected sequences and line patterns were seen.
+   *
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} is missing any expected sequence or line pattern
+   */
+  public StreamingOutputVerdictAssert hasNoMissingExpectations() {
+    isNotNull();
+    if (!actual.getMissingSequences().isEmpty() || !actual.getMissingLinePatterns().isEmpty()) {
+      failWithMessage("%nExpecting streamed build output to contain all expectations but was missing:%n"
+                          + " sequences: <%s>%n line patterns: <%s>",
+                      actual.getMissingSequences(),
+                      actual.getMissingLinePatterns());
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that every line fit in the buffer of the verifier, so every line was checked against the line patterns.
+   *
+   * @return {@code this} assertion object
+   * @throws AssertionError if the {@code actual} is {@code null}
+   * @throws AssertionError if the {@code actual} has truncated lines
+   * @see StreamingOutputVerifier.Builder#bufferCapacity(int)
+   */
+  public StreamingOutputVerdictAssert hasNoTruncatedLines() {
+    isNotNull();
+    if (actual.getTruncatedLines() > 0L) {
+      failWithMessage("%nExpecting streamed build output to have no lines longer than the verifier buffer but found:%n"
+                          + " <%s> truncated lines",
+                      actual.getTruncatedLines());
+    }
+    return myself;
+  }
+}
@@ -0,0 +1,437 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerdict.Violation;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * {@link Writer} that checks build output while a build is still running.
+ *
+ * Pass an instance to {@code GradleRunner.forwardStdOutput(Writer)} or {@code GradleRunner.forwardStdError(Writer)}
+ * (one instance per stream) and inspect {@link #verdict()} once the build finishes:
+ * <pre>{@code
+ * StreamingOutputVerifier verifier = StreamingOutputVerifier.builder()
+ *     .outputContains("BUILD SUCCESSFUL")
+ *     .outputDoesNotContain("Exception")
+ *     .outputHasNoLineMatching(Pattern.compile("> Task :\\S+ FAILED"))
+ *     .build();
+ * GradleRunner.create().forwardStdOutput(verifier).build();
+ * GradleAssertions.assertThat(verifier.verdict()).isSatisfied();
+ * }</pre>
+ *
+ * Sequences are matched incrementally with a single automaton, so the cost per character does not depend on the
+ * number of checks. Line patterns are evaluated once per completed line against a bounded ring buffer, so memory use
+ * is bounded by {@link Builder#bufferCapacity(int)} regardless of how much output the build produces. A line that does
+ * not fit in the buffer is not checked against the line patterns, because only a fragment of it is retained. Such lines
+ * are counted as truncated and make the verdict unsatisfied when line patterns are configured.
+ *
+ * @see StreamingOutputVerdict
+ * @see StreamingOutputVerdictAssert
+ */
+public final class StreamingOutputVerifier extends Writer {
+  private static final int DEFAULT_BUFFER_CAPACITY = 64 * 1024;
+  private static final int MAX_EXCERPT_LENGTH = 256;
+
+  private final List<String> expectedSequences;
+  private final int expectedSequenceCount;
+  private final List<String> allSequences;
+  private final MultiSequenceMatcher sequenceMatcher;
+  private final List<Pattern> expectedLinePatterns;
+  private final List<Pattern> forbiddenLinePatterns;
+  private final boolean failWritesAfterViolation;
+  private final @Nullable Consumer<Violation> violationListener;
+
+  private final char[] buffer;
+  private final BitSet sequencesFound;
+  private final BitSet linePatternsFound = new BitSet();
+  private int matcherState;
+  private long charactersRead;
+  private long linesRead;
+  private long lineStartOffset;
+  private long truncatedLines;
+  private @Nullable Violation firstViolation;
+  private boolean closed;
+
+  private StreamingOutputVerifier(final Builder builder) {
+    this.expectedSequences = Collections.unmodifiableList(new ArrayList<>(builder.expectedSequences));
+    this.expectedSequenceCount = builder.expectedSequences.size();
+    final List<String> sequences = new ArrayList<>(builder.expectedSequences);
+    sequences.addAll(builder.forbiddenSequences);
+    this.allSequences = Collections.unmodifiableList(sequences);
+    this.sequenceMatcher = new MultiSequenceMatcher(sequences);
+    this.expectedLinePatterns = Collections.unmodifiableList(new ArrayList<>(builder.expectedLinePatterns));
+    this.forbiddenLinePatterns = Collections.unmodifiableList(new ArrayList<>(builder.forbiddenLinePatterns));
+    this.failWritesAfterViolation = builder.failWritesAfterViolation;
+    this.violationListener = builder.violationListener;
+    this.buffer = new char[builder.bufferCapacity];
+    this.matcherState = sequenceMatcher.initialState();
+    this.sequencesFound = sequenceMatcher.emptySequences();
+    for (int i = sequencesFound.nextSetBit(expectedSequenceCount); i >= 0; i = sequencesFound.nextSetBit(i + 1)) {
+      recordViolation("output contains forbidden sequence <" + allSequences.get(i) + ">", 0L);
+    }
+  }
+
+  /**
+   * Creates a builder for a new verifier.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public void write(final char[] cbuf, final int off, final int len) throws IOException {
+    Objects.requireNonNull(cbuf, "cbuf");
+    if (off < 0 || len < 0 || off + len > cbuf.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    synchronized (lock) {
+      if (closed) {
+        throw new IOException("Verifier has been closed");
+      }
+      throwIfFailingWrites();
+      for (int i = off; i < off + len; i++) {
+        accept(cbuf[i]);
+      }
+      throwIfFailingWrites();
+    }
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  /**
+   * Closes this verifier. The trailing line, if it was not terminated, is checked against the line patterns.
+   */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      if (!closed) {
+        if (charactersRead > lineStartOffset) {
+          completeLine(charactersRead);
+        }
+        closed = true;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the verdict for the output read so far.
+   * If the output does not end with a line terminator, the trailing line is checked as if the output was complete.
+   *
+   * @return an immutable snapshot of the verdict
+   */
+  public StreamingOutputVerdict verdict() {
+    synchronized (lock) {
+      final BitSet linePatterns = (BitSet) linePatternsFound.clone();
+      @Nullable Violation violation = firstViolation;
+      long truncated = truncatedLines;
+      if (!closed && charactersRead > lineStartOffset) {
+        if (isLineTruncated()) {
+          truncated++;
+        } else {
+          final @Nullable Violation trailingViolation = checkLine(lineView(charactersRead), linePatterns);
+          if (violation == null) {
+            violation = trailingViolation;
+          }
+        }
+      }
+      final List<String> missingSequences = new ArrayList<>();
+      for (int i = 0; i < expectedSequenceCount; i++) {
+        if (!sequencesFound.get(i)) {
+          missingSequences.add(expectedSequences.get(i));
+        }
+      }
+      final List<Pattern> missingLinePatterns = new ArrayList<>();
+      for (int i = 0; i < expectedLinePatterns.size(); i++) {
+        if (!linePatterns.get(i)) {
+          missingLinePatterns.add(expectedLinePatterns.get(i));
+        }
+      }
+      return new StreamingOutputVerdict(missingSequences,
+                                        missingLinePatterns,
+                                        violation,
+                                        charactersRead,
+                                        linesRead,
+                                        truncated,
+                                        failWritesAfterViolation && firstViolation != null);
+    }
+  }
+
+  private void accept(final char c) {
+    buffer[(int) (charactersRead % buffer.length)] = c;
+    charactersRead++;
+    matcherState = sequenceMatcher.next(matcherState, c);
+    sequenceMatcher.forEachMatch(matcherState, this::sequenceMatched);
+    if (c == '\n') {
+      completeLine(charactersRead - 1);
+      linesRead++;
+      lineStartOffset = charactersRead;
+    }
+  }
+
+  private void sequenceMatched(final int sequence) {
+    if (sequencesFound.get(sequence)) {
+      return;
+    }
+    sequencesFound.set(sequence);
+    if (sequence >= expectedSequenceCount) {
+      final String forbidden = allSequences.get(sequence);
+      recordViolation("output contains forbidden sequence <" + forbidden + ">", charactersRead - forbidden.length());
+    }
+  }
+
+  private void completeLine(final long lineEndOffset) {
+    if (isLineTruncated()) {
+      truncatedLines++;
+      return;
+    }
+    final @Nullable Violation violation = checkLine(lineView(lineEndOffset), linePatternsFound);
+    if (violation != null && firstViolation == null) {
+      firstViolation = violation;
+      notifyListener(violation);
+    }
+  }
+
+  private @Nullable Violation checkLine(final CharSequence line, final BitSet linePatterns) {
+    for (int i = linePatterns.nextClearBit(0); i < expectedLinePatterns.size(); i = linePatterns.nextClearBit(i + 1)) {
+      if (expectedLinePatterns.get(i).matcher(line).matches()) {
+        linePatterns.set(i);
+      }
+    }
+    for (final Pattern forbidden : forbiddenLinePatterns) {
+      if (forbidden.matcher(line).matches()) {
+        return new Violation("output has line matching forbidden pattern <" + forbidden + ">",
+                             lineStartOffset,
+                             linesRead + 1,
+                             excerpt(line));
+      }
+    }
+    return null;
+  }
+
+  private void recordViolation(final String description, final long offset) {
+    if (firstViolation != null) {
+      return;
+    }
+    final Violation violation = new Violation(description, offset, linesRead + 1, excerpt(lineView(charactersRead)));
+    firstViolation = violation;
+    notifyListener(violation);
+  }
+
+  private void notifyListener(final Violation violation) {
+    if (violationListener != null) {
+      violationListener.accept(violation);
+    }
+  }
+
+  private void throwIfFailingWrites() throws IOException {
+    if (failWritesAfterViolation && firstViolation != null) {
+      throw new IOException("Failing writes after first violation: " + firstViolation);
+    }
+  }
+
+  /**
+   * Whether line patterns are configured and the start of the current line is no longer held by the ring buffer.
+   */
+  private boolean isLineTruncated() {
+    return (!expectedLinePatterns.isEmpty() || !forbiddenLinePatterns.isEmpty())
+        && lineStartOffset < charactersRead - buffer.length;
+  }
+
+  /**
+   * View of the current line up to {@code lineEndOffset}, excluding a trailing {@code \r}.
+   * Only the characters still held by the ring buffer are visible.
+   */
+  private CharSequence lineView(final long lineEndOffset) {
+    final long oldestAvailable = Math.max(0L, charactersRead - buffer.length);
+    final long start = Math.max(lineStartOffset, oldestAvailable);
+    long end = lineEndOffset;
+    if (end > start && charAt(end - 1) == '\r') {
+      end--;
+    }
+    return new RingBufferView(start, end);
+  }
+
+  private char charAt(final long offset) {
+    return buffer[(int) (offset % buffer.length)];
+  }
+
+  private static String excerpt(final CharSequence line) {
+    final int length = line.length();
+    return length <= MAX_EXCERPT_LENGTH
+        ? line.toString()
+        : "..." + line.subSequence(length - MAX_EXCERPT_LENGTH, length);
+  }
+
+  private final class RingBufferView implements CharSequence {
+    private final long start;
+    private final long end;
+
+    RingBufferView(final long start, final long end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return (int) (end - start);
+    }
+
+    @Override
+    public char charAt(final int index) {
+      if (index < 0 || index >= length()) {
+        throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length());
+      }
+      return StreamingOutputVerifier.this.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int from, final int to) {
+      if (from < 0 || to > length() || from > to) {
+        throw new IndexOutOfBoundsException("range [" + from + ", " + to + ") out of bounds for length " + length());
+      }
+      return new RingBufferView(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder builder = new StringBuilder(length());
+      for (long offset = start; offset < end; offset++) {
+        builder.append(StreamingOutputVerifier.this.charAt(offset));
+      }
+      return builder.toString();
+    }
+  }
+
+  /**
+   * Builder for {@link StreamingOutputVerifier}.
+   */
+  public static final class Builder {
+    private final List<String> expectedSequences = new ArrayList<>();
+    private final List<String> forbiddenSequences = new ArrayList<>();
+    private final List<Pattern> expectedLinePatterns = new ArrayList<>();
+    private final List<Pattern> forbiddenLinePatterns = new ArrayList<>();
+    private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
+    private boolean failWritesAfterViolation;
+    private @Nullable Consumer<Violation> violationListener;
+
+    private Builder() {
+    }
+
+    /**
+     * Expects the output to contain the provided {@code sequence}.
+     *
+     * @param sequence the expected sequence
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code sequence} is {@code null}
+     * @see BuildResultAssert#outputContains(CharSequence)
+     */
+    public Builder outputContains(final CharSequence sequence) {
+      Objects.requireNonNull(sequence, "sequence");
+      expectedSequences.add(sequence.toString());
+      return this;
+    }
+
+    /**
+     * Records a violation as soon as the output contains the provided {@code sequence}.
+     *
+     * @param sequence the forbidden sequence
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code sequence} is {@code null}
+     * @see BuildResultAssert#outputDoesNotContain(CharSequence)
+     */
+    public Builder outputDoesNotContain(final CharSequence sequence) {
+      Objects.requireNonNull(sequence, "sequence");
+      forbiddenSequences.add(sequence.toString());
+      return this;
+    }
+
+    /**
+     * Expects the output to have a line that entirely matches the provided {@code pattern}.
+     *
+     * @param pattern the pattern a line must match
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code pattern} is {@code null}
+     * @see BuildResultAssert#outputHasLineMatching(Pattern)
+     */
+    public Builder outputHasLineMatching(final Pattern pattern) {
+      Objects.requireNonNull(pattern, "pattern");
+      expectedLinePatterns.add(pattern);
+      return this;
+    }
+
+    /**
+     * Records a violation as soon as a line of the output entirely matches the provided {@code pattern}.
+     *
+     * @param pattern the pattern no line may match
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code pattern} is {@code null}
+     */
+    public Builder outputHasNoLineMatching(final Pattern pattern) {
+      Objects.requireNonNull(pattern, "pattern");
+      forbiddenLinePatterns.add(pattern);
+      return this;
+    }
+
+    /**
+     * Sets the number of characters retained for line pattern checks and violation excerpts.
+     *
+     * @param capacity the capacity in characters
+     * @return {@code this} builder
+     * @throws IllegalArgumentException if the provided {@code capacity} is not positive
+     */
+    public Builder bufferCapacity(final int capacity) {
+      if (capacity <= 0) {
+        throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+      }
+      this.bufferCapacity = capacity;
+      return this;
+    }
+
+    /**
+     * Makes the write that records the first violation, and every write after it, fail with an {@link IOException},
+     * so no more output is checked.
+     * This does not stop the build: a {@code GradleRunner} that forwards output to the verifier keeps running the build
+     * to completion, and how it reports the failed writes is up to it.
+     *
+     * @return {@code this} builder
+     */
+    public Builder failWritesAfterViolation() {
+      this.failWritesAfterViolation = true;
+      return this;
+    }
+
+    /**
+     * Sets a listener that is called once, on the writing thread, when the first violation is recorded.
+     *
+     * @param listener the listener
+     * @return {@code this} builder
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     */
+    public Builder onViolation(final Consumer<Violation> listener) {
+      this.violationListener = Objects.requireNonNull(listener, "listener");
+      return this;
+    }
+
+    /**
+     * Creates the verifier.
+     *
+     * @return a new verifier
+     */
+    public StreamingOutputVerifier build() {
+      return new StreamingOutputVerifier(this);
+    }
+  }
+}
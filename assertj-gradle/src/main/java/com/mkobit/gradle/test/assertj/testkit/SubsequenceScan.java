@@ -0,0 +1,107 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import java.util.List;
+
+/**
+ * Result of searching for sequences that occur in order, each one after the end of the previous one.
+ *
+ * The text is read once from start to end. Each sequence is searched for with a Knuth-Morris-Pratt automaton, so a
+ * partial match never causes characters to be read again.
+ */
+final class SubsequenceScan {
+  private final int matchedCount;
+  private final int stopOffset;
+
+  private SubsequenceScan(final int matchedCount, final int stopOffset) {
+    this.matchedCount = matchedCount;
+    this.stopOffset = stopOffset;
+  }
+
+  /**
+   * Searches the {@code text} for the {@code sequences} in order.
+   */
+  static SubsequenceScan of(final CharSequence text, final List<? extends CharSequence> sequences) {
+    int matched = 0;
+    int offset = 0;
+    while (matched < sequences.size() && sequences.get(matched).length() == 0) {
+      matched++;
+    }
+    if (matched == sequences.size()) {
+      return new SubsequenceScan(matched, offset);
+    }
+    CharSequence pattern = sequences.get(matched);
+    int[] failure = failureFunction(pattern);
+    int state = 0;
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      final char c = text.charAt(i);
+      while (state > 0 && c != pattern.charAt(state)) {
+        state = failure[state - 1];
+      }
+      if (c == pattern.charAt(state)) {
+        state++;
+      }
+      if (state == pattern.length()) {
+        offset = i + 1;
+        matched++;
+        while (matched < sequences.size() && sequences.get(matched).length() == 0) {
+          matched++;
+        }
+        if (matched == sequences.size()) {
+          break;
+        }
+        pattern = sequences.get(matched);
+        failure = failureFunction(pattern);
+        state = 0;
+      }
+    }
+    return new SubsequenceScan(matched, offset);
+  }
+
+  /**
+   * Searches the lines of the {@code index} for lines equal to the {@code lines} in order.
+   * The stop offset is the start of the line after the last matched line.
+   */
+  static SubsequenceScan ofLines(final BuildOutputIndex index, final List<? extends CharSequence> lines) {
+    int matched = 0;
+    int offset = 0;
+    int hash = lines.isEmpty() ? 0 : BuildOutputIndex.hash(lines.get(0));
+    for (int line = 0; line < index.lineCount() && matched < lines.size(); line++) {
+      if (index.lineEquals(line, lines.get(matched), hash)) {
+        matched++;
+        hash = matched < lines.size() ? BuildOutputIndex.hash(lines.get(matched)) : 0;
+        offset = line + 1 < index.lineCount() ? index.lineStart(line + 1) : index.output().length();
+      }
+    }
+    return new SubsequenceScan(matched, offset);
+  }
+
+  /**
+   * Number of leading sequences that were found in order.
+   */
+  int matchedCount() {
+    return matchedCount;
+  }
+
+  /**
+   * Offset just after the last matched sequence, where the search for the next sequence started.
+   */
+  int stopOffset() {
+    return stopOffset;
+  }
+
+  private static int[] failureFunction(final CharSequence pattern) {
+    final int[] failure = new int[pattern.length()];
+    int k = 0;
+    for (int i = 1; i < pattern.length(); i++) {
+      while (k > 0 && pattern.charAt(i) != pattern.charAt(k)) {
+        k = failure[k - 1];
+      }
+      if (pattern.charAt(i) == pattern.charAt(k)) {
+        k++;
+      }
+      failure[i] = k;
+    }
+    return failure;
+  }
+}
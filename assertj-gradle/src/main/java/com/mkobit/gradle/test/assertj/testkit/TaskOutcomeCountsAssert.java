@@ -0,0 +1,28 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractMapAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import java.util.Map;
+
+/**
+ * Assertion methods for the number of tasks with each {@link TaskOutcome}.
+ *
+ * @see BuildResultAssert#outcomeCounts()
+ */
+@GenerateSoftAssertions
+public class TaskOutcomeCountsAssert
+    extends AbstractMapAssert<TaskOutcomeCountsAssert, Map<TaskOutcome, Integer>, TaskOutcome, Integer> {
+  public TaskOutcomeCountsAssert(final @Nullable Map<TaskOutcome, Integer> actual) {
+    super(actual, TaskOutcomeCountsAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  TaskOutcomeCountsAssert(final @Nullable TaskOutcomeCountsAssert source) {
+    this(source == null ? null : source.actual);
+  }
+}
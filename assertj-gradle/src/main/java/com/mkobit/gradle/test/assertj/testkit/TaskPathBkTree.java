@@ -0,0 +1,162 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Burkhard-Keller tree of task paths keyed by Levenshtein distance, used to suggest the paths closest to a path that
+ * was not found.
+ *
+ * Each child edge is labelled with the distance between the child and its parent. By the triangle inequality a
+ * search for paths within distance {@code r} of a query at distance {@code d} from a node only needs to follow the
+ * edges labelled {@code d - r} through {@code d + r}, so most of the tree is never visited.
+ */
+final class TaskPathBkTree {
+  private static final Comparator<Match> CLOSEST_FIRST =
+      Comparator.<Match>comparingInt(match -> match.distance).thenComparing(match -> match.path);
+
+  private @Nullable Node root;
+
+  TaskPathBkTree(final Collection<String> paths) {
+    for (final String path : paths) {
+      add(path);
+    }
+  }
+
+  private void add(final String path) {
+    final @Nullable Node existingRoot = root;
+    if (existingRoot == null) {
+      root = new Node(path);
+      return;
+    }
+    Node node = existingRoot;
+    while (true) {
+      final int distance = distance(node.path, path);
+      if (distance == 0) {
+        return;
+      }
+      final @Nullable Node child = node.child(distance);
+      if (child == null) {
+        node.addChild(distance, new Node(path));
+        return;
+      }
+      node = child;
+    }
+  }
+
+  /**
+   * Finds up to {@code limit} paths closest to the {@code query}, nearest first and by path for equal distances.
+   *
+   * @param query the path to find neighbors of
+   * @param limit the maximum number of paths to return
+   * @param maxDistance the maximum edit distance of a returned path
+   * @return the nearest paths
+   */
+  List<String> nearest(final String query, final int limit, final int maxDistance) {
+    final @Nullable Node existingRoot = root;
+    if (existingRoot == null || limit <= 0) {
+      return new ArrayList<>();
+    }
+    // Farthest match at the head, so it can be replaced once a closer path is found
+    final PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, CLOSEST_FIRST.reversed());
+    final Deque<Node> pending = new ArrayDeque<>();
+    pending.push(existingRoot);
+    while (!pending.isEmpty()) {
+      final Node node = pending.pop();
+      final int radius = best.size() < limit ? maxDistance : Math.min(maxDistance, best.peek().distance);
+      final int distance = distance(node.path, query);
+      if (distance <= radius) {
+        best.add(new Match(node.path, distance));
+        if (best.size() > limit) {
+          best.poll();
+        }
+      }
+      for (int i = 0; i < node.childCount; i++) {
+        if (Math.abs(node.childDistances[i] - distance) <= radius) {
+          pending.push(node.children[i]);
+        }
+      }
+    }
+    final List<Match> matches = new ArrayList<>(best);
+    matches.sort(CLOSEST_FIRST);
+    final List<String> paths = new ArrayList<>(matches.size());
+    for (final Match match : matches) {
+      paths.add(match.path);
+    }
+    return paths;
+  }
+
+  /**
+   * Levenshtein distance between {@code a} and {@code b} using two rows of the dynamic programming table.
+   */
+  static int distance(final String a, final String b) {
+    if (a.length() < b.length()) {
+      return distance(b, a);
+    }
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      final char c = a.charAt(i - 1);
+      for (int j = 1; j <= b.length(); j++) {
+        final int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+      }
+      final int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return previous[b.length()];
+  }
+
+  private static final class Node {
+    private final String path;
+    private int[] childDistances = new int[0];
+    private Node[] children = new Node[0];
+    private int childCount;
+
+    private Node(final String path) {
+      this.path = path;
+    }
+
+    private @Nullable Node child(final int distance) {
+      for (int i = 0; i < childCount; i++) {
+        if (childDistances[i] == distance) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    private void addChild(final int distance, final Node child) {
+      if (childCount == children.length) {
+        final int capacity = Math.max(4, childCount * 2);
+        childDistances = Arrays.copyOf(childDistances, capacity);
+        children = Arrays.copyOf(children, capacity);
+      }
+      childDistances[childCount] = distance;
+      children[childCount++] = child;
+    }
+  }
+
+  private static final class Match {
+    private final String path;
+    private final int distance;
+
+    private Match(final String path, final int distance) {
+      this.path = path;
+      this.distance = distance;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.testkit.runner.BuildTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie of task paths split at {@code :} into project and task name segments.
+ *
+ * Queries only visit the part of the trie that can match, so finding the tasks of one project in a build with
+ * thousands of tasks costs time proportional to the tasks of that project.
+ * Results are returned in execution order.
+ */
+final class TaskPathTrie {
+  private static final String ANY_SEGMENTS = "**";
+
+  private final List<BuildTask> tasks;
+  private final Node root = new Node();
+
+  TaskPathTrie(final List<BuildTask> tasks) {
+    this.tasks = tasks;
+    for (int position = 0; position < tasks.size(); position++) {
+      Node node = root;
+      for (final String segment : segments(tasks.get(position).getPath())) {
+        node = node.child(segment);
+      }
+      // BuildResult#task(String) returns the first task with the path
+      if (node.task < 0) {
+        node.task = position;
+      }
+    }
+  }
+
+  /**
+   * Finds the tasks of the project at {@code projectPath} and of all of its subprojects.
+   *
+   * @param projectPath an absolute project path such as {@code :services:billing}, or {@code :} for the root project
+   * @return the tasks in execution order
+   * @throws IllegalArgumentException if {@code projectPath} does not start with {@code :}
+   */
+  List<BuildTask> tasksUnderProject(final String projectPath) {
+    requireAbsolute(projectPath, "projectPath");
+    @Nullable Node node = root;
+    for (final String segment : segments(projectPath)) {
+      node = node.children != null ? node.children.get(segment) : null;
+      if (node == null) {
+        return Collections.emptyList();
+      }
+    }
+    final PositionCollector collector = new PositionCollector();
+    collectChildren(node, collector);
+    return collector.tasks();
+  }
+
+  /**
+   * Finds the tasks whose path matches the provided {@code glob}.
+   * Within a segment {@code *} matches any characters and {@code ?} matches one character. A {@code **} segment
+   * matches zero or more segments, so {@code :**:test} matches {@code :test} and {@code :services:billing:test}.
+   *
+   * @param glob an absolute task path glob
+   * @return the tasks in execution order
+   * @throws IllegalArgumentException if {@code glob} does not start with {@code :}
+   */
+  List<BuildTask> tasksMatchingGlob(final String glob) {
+    requireAbsolute(glob, "glob");
+    final String[] segments = segments(glob);
+    final PositionCollector collector = new PositionCollector();
+    match(root, segments, 0, collector, new IdentityHashMap<>());
+    return collector.tasks();
+  }
+
+  private void collectChildren(final Node node, final PositionCollector collector) {
+    if (node.children == null) {
+      return;
+    }
+    for (final Node child : node.children.values()) {
+      collector.add(child.task);
+      collectChildren(child, collector);
+    }
+  }
+
+  /**
+   * Matches the glob {@code segments} from {@code index} against the subtree of {@code node}.
+   * Each pair of node and segment index is visited at most once, so consecutive {@code **} segments do not
+   * revisit the same subtree.
+   */
+  private void match(final Node node,
+                     final String[] segments,
+                     final int index,
+                     final PositionCollector collector,
+                     final Map<Node, BitSet> visited) {
+    final BitSet visitedIndexes = visited.computeIfAbsent(node, key -> new BitSet(segments.length + 1));
+    if (visitedIndexes.get(index)) {
+      return;
+    }
+    visitedIndexes.set(index);
+    if (index == segments.length) {
+      collector.add(node.task);
+      return;
+    }
+    final String segment = segments[index];
+    final @Nullable Map<String, Node> children = node.children;
+    if (segment.equals(ANY_SEGMENTS)) {
+      match(node, segments, index + 1, collector, visited);
+      if (children != null) {
+        for (final Node child : children.values()) {
+          match(child, segments, index, collector, visited);
+        }
+      }
+    } else if (children == null) {
+      return;
+    } else if (segment.indexOf('*') < 0 && segment.indexOf('?') < 0) {
+      final @Nullable Node child = children.get(segment);
+      if (child != null) {
+        match(child, segments, index + 1, collector, visited);
+      }
+    } else {
+      for (final Map.Entry<String, Node> child : children.entrySet()) {
+        if (segmentMatches(segment, child.getKey())) {
+          match(child.getValue(), segments, index + 1, collector, visited);
+        }
+      }
+    }
+  }
+
+  /**
+   * Matches a single segment against a pattern with {@code *} and {@code ?} wildcards without backtracking more than
+   * the last {@code *}.
+   */
+  static boolean segmentMatches(final String pattern, final String segment) {
+    int p = 0;
+    int s = 0;
+    int starPattern = -1;
+    int starSegment = 0;
+    while (s < segment.length()) {
+      if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == segment.charAt(s))) {
+        p++;
+        s++;
+      } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+        starPattern = p++;
+        starSegment = s;
+      } else if (starPattern >= 0) {
+        p = starPattern + 1;
+        s = ++starSegment;
+      } else {
+        return false;
+      }
+    }
+    while (p < pattern.length() && pattern.charAt(p) == '*') {
+      p++;
+    }
+    return p == pattern.length();
+  }
+
+  private static void requireAbsolute(final String path, final String name) {
+    if (!path.startsWith(":")) {
+      throw new IllegalArgumentException(name + " must be an absolute path starting with ':' but was " + path);
+    }
+  }
+
+  /**
+   * Splits an absolute path into its segments, ignoring the leading {@code :}.
+   */
+  private static String[] segments(final String path) {
+    if (path.isEmpty() || path.equals(":")) {
+      return new String[0];
+    }
+    return (path.charAt(0) == ':' ? path.substring(1) : path).split(":", -1);
+  }
+
+  private static final class Node {
+    private @Nullable Map<String, Node> children;
+    private int task = -1;
+
+    private Node child(final String segment) {
+      @Nullable Map<String, Node> existing = children;
+      if (existing == null) {
+        existing = new HashMap<>(4);
+        children = existing;
+      }
+      return existing.computeIfAbsent(segment, key -> new Node());
+    }
+  }
+
+  /**
+   * Collects execution positions of matched tasks, so they can be returned in execution order.
+   */
+  private final class PositionCollector {
+    private int[] positions = new int[16];
+    private int size;
+
+    private void add(final int position) {
+      if (position < 0) {
+        return;
+      }
+      if (size == positions.length) {
+        positions = Arrays.copyOf(positions, size * 2);
+      }
+      positions[size++] = position;
+    }
+
+    private List<BuildTask> tasks() {
+      Arrays.sort(positions, 0, size);
+      final List<BuildTask> matched = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        matched.add(tasks.get(positions[i]));
+      }
+      return Collections.unmodifiableList(matched);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions;
+import org.assertj.core.api.AbstractListAssert;
+import org.assertj.core.api.StringAssert;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assertion methods for the paths of build tasks, in execution order.
+ *
+ * @see BuildTasksAssert#extractingPaths()
+ */
+@GenerateSoftAssertions
+public class TaskPathsAssert extends AbstractListAssert<TaskPathsAssert, List<? extends String>, String, StringAssert> {
+  public TaskPathsAssert(final @Nullable List<? extends String> actual) {
+    super(actual, TaskPathsAssert.class);
+  }
+
+  /**
+   * Copy constructor for the generated soft variant, see {@link GenerateSoftAssertions}.
+   */
+  TaskPathsAssert(final @Nullable TaskPathsAssert source) {
+    this(source == null ? null : source.actual);
+  }
+
+  @Override
+  protected StringAssert toAssert(final String value, final String description) {
+    return new StringAssert(value).as(description);
+  }
+
+  @Override
+  protected TaskPathsAssert newAbstractIterableAssert(final Iterable<? extends String> iterable) {
+    final List<String> paths = new ArrayList<>();
+    iterable.forEach(paths::add);
+    return new TaskPathsAssert(paths);
+  }
+}
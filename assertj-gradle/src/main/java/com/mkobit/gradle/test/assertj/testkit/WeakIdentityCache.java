@@ -0,0 +1,98 @@
+package com.mkobit.gradle.test.assertj.testkit;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache keyed by object identity that does not keep its keys reachable.
+ *
+ * Used to attach lazily computed state to a {@link org.gradle.testkit.runner.BuildResult} without relying on its
+ * {@code equals}/{@code hashCode} and without retaining the result after a test is done with it.
+ * Values must not strongly reference their key, otherwise the entry is never cleared.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class WeakIdentityCache<K, V> {
+  private final Map<IdentityWeakReference<K>, V> entries = new HashMap<>();
+  private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+  /**
+   * Returns the value for the provided {@code key}, computing it outside of the cache lock if it is absent or no
+   * longer current.
+   * If two threads race computing the same key, the first current value stored wins and is returned to both.
+   *
+   * @param key the key
+   * @param isCurrent whether a cached value can still be used, for example because the key still returns the state
+   * the value was computed from
+   * @param computation computes the value if it is absent or not current
+   * @return the cached value
+   */
+  V computeIfAbsent(final K key,
+                    final Predicate<? super V> isCurrent,
+                    final Function<? super K, ? extends V> computation) {
+    final @Nullable V existing = get(key);
+    if (existing != null && isCurrent.test(existing)) {
+      return existing;
+    }
+    final V computed = computation.apply(key);
+    synchronized (this) {
+      final @Nullable V raced = get(key);
+      if (raced != null && isCurrent.test(raced)) {
+        return raced;
+      }
+      entries.put(new IdentityWeakReference<>(key, queue), computed);
+      return computed;
+    }
+  }
+
+  private synchronized @Nullable V get(final K key) {
+    expungeStaleEntries();
+    return entries.get(new IdentityWeakReference<>(key, null));
+  }
+
+  synchronized int size() {
+    expungeStaleEntries();
+    return entries.size();
+  }
+
+  private void expungeStaleEntries() {
+    Reference<? extends K> stale;
+    while ((stale = queue.poll()) != null) {
+      entries.remove(stale);
+    }
+  }
+
+  private static final class IdentityWeakReference<T> extends WeakReference<T> {
+    private final int hash;
+
+    IdentityWeakReference(final T referent, final @Nullable ReferenceQueue<? super T> queue) {
+      super(referent, queue);
+      this.hash = System.identityHashCode(referent);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof IdentityWeakReference)) {
+        return false;
+      }
+      final @Nullable Object referent = get();
+      return referent != null && referent == ((IdentityWeakReference<?>) obj).get();
+    }
+  }
+}
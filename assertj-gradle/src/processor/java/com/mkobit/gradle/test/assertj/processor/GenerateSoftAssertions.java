@@ -0,0 +1,23 @@
+package com.mkobit.gradle.test.assertj.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@code Soft} prefixed subclass of the annotated assertion class that collects assertion errors instead
+ * of throwing them, without a runtime proxy.
+ *
+ * Assertion classes that other assertions navigate to declare a copy constructor with a single parameter of their own
+ * type, so the soft variant can soften the assertion object returned by the navigation. The copy constructor copies
+ * the {@code actual} and is called with {@code null} for the placeholder returned when the navigation fails.
+ *
+ * @see SoftAssertionsProcessor
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateSoftAssertions {
+}
@@ -0,0 +1,461 @@
+package com.mkobit.gradle.test.assertj.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.SimpleTypeVisitor8;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Generates soft variants of assertion classes annotated with {@link GenerateSoftAssertions}.
+ *
+ * The generated class overrides every public method that returns the assertion type or {@code void}, including the
+ * methods inherited from {@code AbstractAssert}. An {@link AssertionError} thrown by the outermost call is handed to
+ * an error collector and {@code this} is returned, so the chain continues. Errors thrown by nested calls, such as the
+ * {@code isNotNull()} check at the start of most assertions, are rethrown so the outer assertion stops at the first
+ * failure like it does without soft assertions.
+ *
+ * Methods that navigate to another annotated assertion type return the soft variant of the assertion object they
+ * navigate to, created with its copy constructor. If the navigation itself fails, its error is collected and a soft
+ * placeholder without an {@code actual} is returned, which skips the assertions chained to it. Methods that return
+ * the assertion type but a new assertion object, like filters, are softened the same way.
+ * A public method declared by the annotated class that navigates to an assertion type that is not annotated, or that
+ * has no copy constructor, is a compilation error, because its soft variant would throw instead of collecting.
+ * Such methods inherited from AssertJ are not overridden.
+ */
+@SupportedAnnotationTypes("com.mkobit.gradle.test.assertj.processor.GenerateSoftAssertions")
+public final class SoftAssertionsProcessor extends AbstractProcessor {
+  private static final String PREFIX = "Soft";
+  private static final String ASSERT_TYPE = "org.assertj.core.api.Assert";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    for (final Element element : roundEnv.getElementsAnnotatedWith(GenerateSoftAssertions.class)) {
+      if (element.getKind() != ElementKind.CLASS || !((TypeElement) element).getTypeParameters().isEmpty()) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                 "Only non-generic classes can generate soft assertions",
+                                                 element);
+        continue;
+      }
+      checkDeclaredNavigations((TypeElement) element);
+      generate((TypeElement) element);
+    }
+    return true;
+  }
+
+  private void generate(final TypeElement type) {
+    final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    final String assertName = type.getSimpleName().toString();
+    final String softName = PREFIX + assertName;
+    try (Writer writer = processingEnv.getFiler().createSourceFile(packageName + "." + softName, type).openWriter();
+         PrintWriter out = new PrintWriter(writer)) {
+      out.println("package " + packageName + ";");
+      out.println();
+      out.println("/**");
+      out.println(" * Soft variant of {@link " + assertName + "} that collects assertion errors instead of throwing.");
+      out.println(" * Generated by {@code " + SoftAssertionsProcessor.class.getName() + "}, do not edit.");
+      out.println(" */");
+      out.println("public class " + softName + " extends " + assertName + " {");
+      out.println("  private final java.util.function.Consumer<? super java.lang.AssertionError> errorCollector;");
+      final ExecutableElement copyConstructor = copyConstructor(type);
+      final boolean copyable = copyConstructor != null;
+      if (copyable) {
+        out.println("  private final boolean skipping;");
+      }
+      out.println("  private int softDepth;");
+      for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+        if (constructor.getModifiers().contains(Modifier.PUBLIC) && !constructor.equals(copyConstructor)) {
+          writeConstructor(out, softName, constructor, copyable);
+        }
+      }
+      if (copyable) {
+        writeCopyConstructor(out, softName, type);
+      }
+      final DeclaredType declaredType = (DeclaredType) type.asType();
+      for (final ExecutableElement method : ElementFilter.methodsIn(
+          processingEnv.getElementUtils().getAllMembers(type))) {
+        if (isSoftened(declaredType, method)) {
+          writeMethod(out, declaredType, method, copyable ? softName : null);
+        } else if (isOverridable(method)) {
+          final TypeElement target = navigationTarget(declaredType, method);
+          if (target != null) {
+            writeNavigation(out, declaredType, method, target, copyable);
+          }
+        }
+      }
+      out.println("}");
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not generate " + softName, e);
+    }
+  }
+
+  private static boolean isOverridable(final ExecutableElement method) {
+    final Set<Modifier> modifiers = method.getModifiers();
+    return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+        && !modifiers.contains(Modifier.FINAL);
+  }
+
+  private boolean isSoftened(final DeclaredType declaredType, final ExecutableElement method) {
+    if (!isOverridable(method)) {
+      return false;
+    }
+    final TypeMirror returnType =
+        ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType, method)).getReturnType();
+    return returnType.getKind() == TypeKind.VOID || processingEnv.getTypeUtils().isSameType(returnType, declaredType);
+  }
+
+  /**
+   * Reports an error for each public method declared by the provided {@code type} that returns an assertion type that
+   * can not be softened.
+   */
+  private void checkDeclaredNavigations(final TypeElement type) {
+    final TypeElement assertType = processingEnv.getElementUtils().getTypeElement(ASSERT_TYPE);
+    if (assertType == null) {
+      return;
+    }
+    final TypeMirror erasedAssertType = processingEnv.getTypeUtils().erasure(assertType.asType());
+    for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      final TypeMirror returnType = method.getReturnType();
+      if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)
+          || returnType.getKind() != TypeKind.DECLARED
+          || processingEnv.getTypeUtils().isSameType(returnType, type.asType())
+          || !processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(returnType),
+                                                        erasedAssertType)) {
+        continue;
+      }
+      final TypeElement target = (TypeElement) ((DeclaredType) returnType).asElement();
+      if (target.getAnnotation(GenerateSoftAssertions.class) == null) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                 "Navigation to " + target.getQualifiedName() + " can not be "
+                                                     + "softened because it is not annotated with @"
+                                                     + GenerateSoftAssertions.class.getSimpleName(),
+                                                 method);
+      } else if (copyConstructor(target) == null) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                 "Navigation to " + target.getQualifiedName() + " can not be "
+                                                     + "softened because it has no copy constructor",
+                                                 method);
+      }
+    }
+  }
+
+  /**
+   * Finds the constructor with a single parameter of the provided {@code type}, or {@code null} if it has none.
+   */
+  private ExecutableElement copyConstructor(final TypeElement type) {
+    for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      final List<? extends VariableElement> parameters = constructor.getParameters();
+      if (!constructor.getModifiers().contains(Modifier.PRIVATE) && parameters.size() == 1
+          && processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(), type.asType())) {
+        return constructor;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the annotated assertion type that the provided {@code method} navigates to, or {@code null} if it returns
+   * any other type.
+   */
+  private TypeElement navigationTarget(final DeclaredType declaredType, final ExecutableElement method) {
+    final TypeMirror returnType =
+        ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType, method)).getReturnType();
+    if (returnType.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    final TypeElement target = (TypeElement) ((DeclaredType) returnType).asElement();
+    if (target.getAnnotation(GenerateSoftAssertions.class) == null || !target.getTypeParameters().isEmpty()) {
+      return null;
+    }
+    return copyConstructor(target) == null ? null : target;
+  }
+
+  private String softName(final TypeElement type) {
+    final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    return packageName + "." + PREFIX + type.getSimpleName();
+  }
+
+  private void writeConstructor(final PrintWriter out,
+                                final String softName,
+                                final ExecutableElement constructor,
+                                final boolean copyable) {
+    final List<String> parameters = new ArrayList<>();
+    final StringJoiner arguments = new StringJoiner(", ");
+    final List<? extends TypeMirror> parameterTypes = ((ExecutableType) constructor.asType()).getParameterTypes();
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      parameters.add(parameter(parameterTypes.get(i), i, constructor.isVarArgs() && i == parameterTypes.size() - 1));
+      arguments.add("arg" + i);
+    }
+    parameters.add("final java.util.function.Consumer<? super java.lang.AssertionError> errorCollector");
+    out.println();
+    out.println("  public " + softName + "(" + String.join(", ", parameters) + ") {");
+    out.println("    super(" + arguments + ");");
+    out.println("    this.errorCollector = java.util.Objects.requireNonNull(errorCollector, \"errorCollector\");");
+    if (copyable) {
+      out.println("    this.skipping = false;");
+    }
+    out.println("  }");
+  }
+
+  /**
+   * Writes the constructor used to soften an assertion object returned by navigation. The actual value is copied by
+   * the copy constructor of the assertion type, and the description, overriding error message and representation are
+   * copied here.
+   */
+  private void writeCopyConstructor(final PrintWriter out, final String softName, final TypeElement type) {
+    final String assertName = type.getQualifiedName().toString();
+    out.println();
+    out.println("  /**");
+    out.println("   * Creates a soft variant of {@code source}, or a placeholder that skips every assertion if {@code source}"
+                    + " is {@code null}.");
+    out.println("   */");
+    out.println("  public " + softName + "(final " + assertName + " source, "
+                    + "final java.util.function.Consumer<? super java.lang.AssertionError> errorCollector) {");
+    out.println("    super(source);");
+    out.println("    this.errorCollector = java.util.Objects.requireNonNull(errorCollector, \"errorCollector\");");
+    out.println("    this.skipping = source == null;");
+    out.println("    if (source != null) {");
+    out.println("      info.description(source.info.description());");
+    out.println("      info.overridingErrorMessage(source.info.overridingErrorMessage());");
+    out.println("      info.useRepresentation(source.info.representation());");
+    out.println("    }");
+    out.println("  }");
+  }
+
+  /**
+   * Writes an override that collects the errors of the outermost call.
+   *
+   * @param softName the name of the generated class if the assertion type has a copy constructor, so that new
+   * assertion objects of the same type are softened, otherwise {@code null}
+   */
+  private void writeMethod(final PrintWriter out,
+                           final DeclaredType declaredType,
+                           final ExecutableElement method,
+                           final String softName) {
+    final ExecutableType methodType =
+        (ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType, method);
+    final boolean isVoid = methodType.getReturnType().getKind() == TypeKind.VOID;
+    final String call = writeSignature(out, method, methodType, isVoid ? "void" : source(declaredType));
+    if (softName != null) {
+      out.println("    if (skipping) {");
+      out.println(isVoid ? "      return;" : "      return this;");
+      out.println("    }");
+    }
+    out.println("    softDepth++;");
+    out.println("    try {");
+    if (isVoid) {
+      out.println("      " + call + ";");
+    } else if (softName != null) {
+      out.println("      final " + source(declaredType) + " result = " + call + ";");
+      out.println("      return result == this || softDepth > 1 ? result : new " + softName
+                      + "(result, errorCollector);");
+    } else {
+      out.println("      return " + call + ";");
+    }
+    out.println("    } catch (final java.lang.AssertionError error) {");
+    out.println("      if (softDepth > 1) {");
+    out.println("        throw error;");
+    out.println("      }");
+    out.println("      errorCollector.accept(error);");
+    if (!isVoid) {
+      out.println("      return this;");
+    }
+    out.println("    } finally {");
+    out.println("      softDepth--;");
+    out.println("    }");
+    out.println("  }");
+  }
+
+  /**
+   * Writes an override that returns the soft variant of the {@code target} assertion object. Nested calls return the
+   * assertion object as is, so the outer assertion uses it like it does without soft assertions.
+   */
+  private void writeNavigation(final PrintWriter out,
+                               final DeclaredType declaredType,
+                               final ExecutableElement method,
+                               final TypeElement target,
+                               final boolean copyable) {
+    final ExecutableType methodType =
+        (ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType, method);
+    final String targetName = target.getQualifiedName().toString();
+    final String placeholder = "new " + softName(target) + "((" + targetName + ") null, errorCollector)";
+    final String call = writeSignature(out, method, methodType, targetName);
+    if (copyable) {
+      out.println("    if (skipping) {");
+      out.println("      return " + placeholder + ";");
+      out.println("    }");
+    }
+    out.println("    if (softDepth > 0) {");
+    out.println("      return " + call + ";");
+    out.println("    }");
+    out.println("    softDepth++;");
+    out.println("    try {");
+    out.println("      return new " + softName(target) + "(" + call + ", errorCollector);");
+    out.println("    } catch (final java.lang.AssertionError error) {");
+    out.println("      errorCollector.accept(error);");
+    out.println("      return " + placeholder + ";");
+    out.println("    } finally {");
+    out.println("      softDepth--;");
+    out.println("    }");
+    out.println("  }");
+  }
+
+  /**
+   * Writes the annotations and signature of an override of the provided {@code method}, up to the opening brace.
+   *
+   * @return the call of the overridden method
+   */
+  private String writeSignature(final PrintWriter out,
+                                final ExecutableElement method,
+                                final ExecutableType methodType,
+                                final String returnType) {
+    final List<String> parameters = new ArrayList<>();
+    final StringJoiner arguments = new StringJoiner(", ");
+    final List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      parameters.add(parameter(parameterTypes.get(i), i, method.isVarArgs() && i == parameterTypes.size() - 1));
+      arguments.add("arg" + i);
+    }
+    final StringJoiner thrown = new StringJoiner(", ", " throws ", "").setEmptyValue("");
+    for (final TypeMirror thrownType : methodType.getThrownTypes()) {
+      thrown.add(source(thrownType));
+    }
+    final String call = "super." + method.getSimpleName() + "(" + arguments + ")";
+
+    // @SafeVarargs is only allowed on final methods, so only generic varargs overrides are made final
+    final boolean safeVarargs = method.isVarArgs()
+        && !isReifiable(((ArrayType) parameterTypes.get(parameterTypes.size() - 1)).getComponentType());
+
+    out.println();
+    if (processingEnv.getElementUtils().isDeprecated(method)) {
+      out.println("  @java.lang.Deprecated");
+    }
+    if (safeVarargs) {
+      out.println("  @java.lang.SafeVarargs");
+      // The overridden method is not always annotated, so passing the array on to it would warn
+      out.println("  @java.lang.SuppressWarnings(\"varargs\")");
+    }
+    out.println("  @java.lang.Override");
+    out.println("  public " + (safeVarargs ? "final " : "") + typeParameters(method) + returnType + " "
+                    + method.getSimpleName() + "(" + String.join(", ", parameters) + ")" + thrown + " {");
+    return call;
+  }
+
+  private String typeParameters(final ExecutableElement method) {
+    if (method.getTypeParameters().isEmpty()) {
+      return "";
+    }
+    final StringJoiner joiner = new StringJoiner(", ", "<", "> ");
+    for (final TypeParameterElement typeParameter : method.getTypeParameters()) {
+      final StringJoiner bounds = new StringJoiner(" & ", " extends ", "").setEmptyValue("");
+      for (final TypeMirror bound : typeParameter.getBounds()) {
+        if (!bound.toString().equals("java.lang.Object")) {
+          bounds.add(source(bound));
+        }
+      }
+      joiner.add(typeParameter.getSimpleName() + bounds.toString());
+    }
+    return joiner.toString();
+  }
+
+  private static boolean isReifiable(final TypeMirror type) {
+    switch (type.getKind()) {
+      case TYPEVAR:
+        return false;
+      case ARRAY:
+        return isReifiable(((ArrayType) type).getComponentType());
+      case DECLARED:
+        for (final TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+          if (argument.getKind() != TypeKind.WILDCARD
+              || ((WildcardType) argument).getExtendsBound() != null
+              || ((WildcardType) argument).getSuperBound() != null) {
+            return false;
+          }
+        }
+        return true;
+      default:
+        return true;
+    }
+  }
+
+  private static String parameter(final TypeMirror type, final int index, final boolean varArgs) {
+    final String typeSource = varArgs ? source(((ArrayType) type).getComponentType()) + "..." : source(type);
+    return "final " + typeSource + " arg" + index;
+  }
+
+  /**
+   * Renders a type as source without its type annotations, which {@link TypeMirror#toString()} would place before
+   * the qualified name where type use annotations are not allowed.
+   */
+  private static String source(final TypeMirror type) {
+    return type.accept(new SimpleTypeVisitor8<String, Void>() {
+      @Override
+      protected String defaultAction(final TypeMirror typeMirror, final Void unused) {
+        return typeMirror.getKind().isPrimitive() ? typeMirror.getKind().name().toLowerCase() : typeMirror.toString();
+      }
+
+      @Override
+      public String visitDeclared(final DeclaredType declared, final Void unused) {
+        final String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if (declared.getTypeArguments().isEmpty()) {
+          return name;
+        }
+        final StringJoiner arguments = new StringJoiner(", ", "<", ">");
+        for (final TypeMirror argument : declared.getTypeArguments()) {
+          arguments.add(argument.accept(this, null));
+        }
+        return name + arguments;
+      }
+
+      @Override
+      public String visitArray(final ArrayType array, final Void unused) {
+        return array.getComponentType().accept(this, null) + "[]";
+      }
+
+      @Override
+      public String visitTypeVariable(final TypeVariable variable, final Void unused) {
+        return variable.asElement().getSimpleName().toString();
+      }
+
+      @Override
+      public String visitWildcard(final WildcardType wildcard, final Void unused) {
+        if (wildcard.getExtendsBound() != null) {
+          return "? extends " + wildcard.getExtendsBound().accept(this, null);
+        }
+        if (wildcard.getSuperBound() != null) {
+          return "? super " + wildcard.getSuperBound().accept(this, null);
+        }
+        return "?";
+      }
+    }, null);
+  }
+}
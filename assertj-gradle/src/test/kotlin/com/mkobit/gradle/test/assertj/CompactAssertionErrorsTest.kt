@@ -0,0 +1,37 @@
+package com.mkobit.gradle.test.assertj
+
+import org.assertj.core.api.Assertions
+import org.junit.jupiter.api.Test
+
+internal class CompactAssertionErrorsTest {
+
+  @Test
+  internal fun `short message is kept`() {
+    Assertions.assertThat(CompactAssertionErrors.excerpt("short message", 100)).isEqualTo("short message")
+  }
+
+  @Test
+  internal fun `long message keeps its start and end`() {
+    val message = "a".repeat(10) + "b".repeat(1000) + "c".repeat(10)
+
+    val excerpt = CompactAssertionErrors.excerpt(message, 20)
+
+    Assertions.assertThat(excerpt)
+        .startsWith("a".repeat(10))
+        .endsWith("c".repeat(10))
+        .contains("... [1000 characters omitted] ...")
+        .doesNotContain("b")
+  }
+
+  @Test
+  internal fun `compact error drops the cause and keeps the stack trace`() {
+    val error = AssertionError("failed", IllegalStateException("cause"))
+
+    val compact = CompactAssertionErrors.compact(error, 100)
+
+    Assertions.assertThat(compact)
+        .hasMessage("failed")
+        .hasNoCause()
+    Assertions.assertThat(compact.stackTrace).containsExactly(*error.stackTrace)
+  }
+}
@@ -0,0 +1,83 @@
+package com.mkobit.gradle.test.assertj
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import org.assertj.core.api.Assertions
+import org.assertj.core.api.SoftAssertionError
+import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.result.ResolutionResult
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.BuildTask
+import org.junit.jupiter.api.Test
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+internal class ConcurrentGradleSoftAssertionsTest {
+
+  private fun buildResult(output: String): BuildResult = mock {
+    on { this.output } doReturn output
+    on { tasks } doReturn emptyList<BuildTask>()
+  }
+
+  @Test
+  internal fun `no errors collected`() {
+    val softly = ConcurrentGradleSoftAssertions()
+    softly.assertThat(buildResult("BUILD SUCCESSFUL")).outputContains("BUILD SUCCESSFUL")
+
+    Assertions.assertThat(softly.wasSuccess()).isTrue()
+    Assertions.assertThat(softly.errorsCollected()).isEmpty()
+    Assertions.assertThatCode { softly.assertAll() }.doesNotThrowAnyException()
+  }
+
+  @Test
+  internal fun `errors are reported in submission order`() {
+    val softly = ConcurrentGradleSoftAssertions()
+    val mockConfiguration: Configuration = mock()
+    val mockResolutionResult: ResolutionResult = mock()
+    softly.assertThat(buildResult("first")).outputContains("missing first")
+    softly.assertThat(mockConfiguration).isNull()
+    softly.assertThat(mockResolutionResult).isNull()
+    softly.assertThat(buildResult("second")).outputContains("missing second")
+
+    Assertions.assertThat(softly.wasSuccess()).isFalse()
+    Assertions.assertThat(softly.errorsCollected()).hasSize(4)
+    Assertions.assertThat(softly.errorsCollected()[0]).hasMessageContaining("missing first")
+    Assertions.assertThat(softly.errorsCollected()[3]).hasMessageContaining("missing second")
+    Assertions.assertThatThrownBy { softly.assertAll() }
+        .isInstanceOf(SoftAssertionError::class.java)
+        .hasMessageContaining("missing first")
+        .hasMessageContaining("missing second")
+  }
+
+  @Test
+  internal fun `collects errors from many threads`() {
+    val softly = ConcurrentGradleSoftAssertions()
+    val threads = 4
+    val perThread = 250
+    val executor = Executors.newFixedThreadPool(threads)
+    try {
+      val tasks = (0 until threads).map { thread ->
+        Callable {
+          (0 until perThread).forEach {
+            softly.assertThat(buildResult("output")).outputContains("thread $thread assertion $it.")
+          }
+        }
+      }
+      executor.invokeAll(tasks).forEach { it.get() }
+    } finally {
+      executor.shutdown()
+      executor.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    val messages = softly.errorsCollected().map { it.message!! }
+    Assertions.assertThat(messages).hasSize(threads * perThread)
+    (0 until threads).forEach { thread ->
+      val threadMessages = messages.filter { it.contains("thread $thread assertion ") }
+      Assertions.assertThat(threadMessages).hasSize(perThread)
+      threadMessages.forEachIndexed { index, message ->
+        Assertions.assertThat(message).contains("thread $thread assertion $index.")
+      }
+    }
+  }
+}
@@ -2,8 +2,12 @@ package com.mkobit.gradle.test.assertj
 
 import com.mkobit.gradle.test.assertj.GradleAssertions.assertThat
 import com.mkobit.gradle.test.assertj.api.artifacts.ConfigurationAssert
+import com.mkobit.gradle.test.assertj.testkit.ActionableTasksSummary
+import com.mkobit.gradle.test.assertj.testkit.ActionableTasksSummaryAssert
 import com.mkobit.gradle.test.assertj.testkit.BuildResultAssert
 import com.mkobit.gradle.test.assertj.testkit.BuildTaskAssert
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerdictAssert
+import com.mkobit.gradle.test.assertj.testkit.StreamingOutputVerifier
 import com.nhaarman.mockito_kotlin.mock
 import org.assertj.core.api.Assertions
 import org.gradle.api.artifacts.Configuration
@@ -32,4 +36,18 @@ internal class GradleAssertionsTest {
     Assertions.assertThatCode { assertThat(mockConfiguration) }.doesNotThrowAnyException()
     Assertions.assertThat(assertThat(mockConfiguration)).isExactlyInstanceOf(ConfigurationAssert::class.java)
   }
+
+  @Test
+  internal fun `can use static factory method for StreamingOutputVerdictAssert`() {
+    val verdict = StreamingOutputVerifier.builder().build().verdict()
+    Assertions.assertThatCode { assertThat(verdict) }.doesNotThrowAnyException()
+    Assertions.assertThat(assertThat(verdict)).isExactlyInstanceOf(StreamingOutputVerdictAssert::class.java)
+  }
+
+  @Test
+  internal fun `can use static factory method for ActionableTasksSummaryAssert`() {
+    val summary: ActionableTasksSummary? = null
+    Assertions.assertThatCode { assertThat(summary) }.doesNotThrowAnyException()
+    Assertions.assertThat(assertThat(summary)).isExactlyInstanceOf(ActionableTasksSummaryAssert::class.java)
+  }
 }
@@ -0,0 +1,148 @@
+package com.mkobit.gradle.test.assertj
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import com.nhaarman.mockito_kotlin.never
+import com.nhaarman.mockito_kotlin.verify
+import org.assertj.core.api.Assertions
+import org.gradle.testkit.runner.BuildTask
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ConditionEvaluationResult
+import org.junit.jupiter.api.extension.ExecutionCondition
+import org.junit.jupiter.api.extension.ExtendWith
+import org.junit.jupiter.api.extension.ExtensionContext
+import org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder
+import org.junit.platform.launcher.core.LauncherFactory
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener
+import org.junit.platform.launcher.listeners.TestExecutionSummary
+import org.mockito.ArgumentMatchers
+
+internal class GradleSoftAssertionsExtensionTest {
+
+  private fun extensionContext(softly: GradleSoftAssertions?): ExtensionContext {
+    val store: ExtensionContext.Store = mock {
+      on { remove(ArgumentMatchers.any(), ArgumentMatchers.eq(GradleSoftAssertions::class.java)) } doReturn softly
+    }
+    return mock {
+      on { getStore(ArgumentMatchers.any()) } doReturn store
+    }
+  }
+
+  @Test
+  internal fun `collected errors fail the test after each`() {
+    val mockBuildTask: BuildTask = mock()
+    val softly = GradleSoftAssertions()
+    softly.assertThat(mockBuildTask).isNull()
+    val context = extensionContext(softly)
+
+    Assertions.assertThatThrownBy { GradleSoftAssertionsExtension().afterEach(context) }
+        .isInstanceOf(AssertionError::class.java)
+    verify(context).publishReportEntry(
+        ArgumentMatchers.eq(GradleSoftAssertionsExtension.REPORT_ENTRY_KEY),
+        ArgumentMatchers.startsWith("1 assertions, 1 errors, ")
+    )
+  }
+
+  @Test
+  internal fun `nothing is reported for a test without soft assertions`() {
+    val context = extensionContext(null)
+
+    Assertions.assertThatCode { GradleSoftAssertionsExtension().afterEach(context) }
+        .doesNotThrowAnyException()
+    verify(context, never()).publishReportEntry(ArgumentMatchers.anyString(), ArgumentMatchers.anyString())
+  }
+
+  @Test
+  internal fun `errors collected in after each methods fail the test`() {
+    val summary = launch(FailingAfterEach::class.java)
+
+    Assertions.assertThat(summary.testsFailedCount).isEqualTo(1)
+    Assertions.assertThat(summary.failures[0].exception)
+        .isInstanceOf(AssertionError::class.java)
+        .hasMessageContaining("collected in after each")
+  }
+
+  @Test
+  internal fun `after each methods get the instance used by the test`() {
+    val summary = launch(SharedWithAfterEach::class.java)
+
+    Assertions.assertThat(summary.testsSucceededCount).isEqualTo(1)
+    Assertions.assertThat(summary.testsFailedCount).isEqualTo(0)
+  }
+
+  private fun launch(testClass: Class<*>): TestExecutionSummary {
+    val request = LauncherDiscoveryRequestBuilder.request()
+        .selectors(selectClass(testClass))
+        .configurationParameter(LaunchedOnly.PARAMETER, "true")
+        .build()
+    val listener = SummaryGeneratingListener()
+    LauncherFactory.create().execute(request, listener)
+    return listener.summary
+  }
+
+  /**
+   * Disables the test classes below unless they are run by [launch], so the test engine does not run them when it
+   * discovers them on its own.
+   */
+  internal class LaunchedOnly : ExecutionCondition {
+    companion object {
+      const val PARAMETER = "assertj-gradle.launchedOnly"
+    }
+
+    override fun evaluateExecutionCondition(context: ExtensionContext): ConditionEvaluationResult =
+        if (context.getConfigurationParameter(PARAMETER).isPresent) {
+          ConditionEvaluationResult.enabled("launched by GradleSoftAssertionsExtensionTest")
+        } else {
+          ConditionEvaluationResult.disabled("only launched by GradleSoftAssertionsExtensionTest")
+        }
+  }
+
+  @ExtendWith(LaunchedOnly::class, GradleSoftAssertionsExtension::class)
+  internal class FailingAfterEach {
+    @AfterEach
+    internal fun tearDown(softly: GradleSoftAssertions) {
+      softly.assertThat(null as BuildTask?).`as`("collected in after each").isNotNull
+    }
+
+    @Test
+    internal fun `passes on its own`(softly: GradleSoftAssertions) {
+      softly.assertThat(mock<BuildTask>()).isNotNull
+    }
+  }
+
+  @ExtendWith(LaunchedOnly::class, GradleSoftAssertionsExtension::class)
+  internal class SharedWithAfterEach {
+    private var testSoftly: GradleSoftAssertions? = null
+
+    @AfterEach
+    internal fun tearDown(softly: GradleSoftAssertions) {
+      Assertions.assertThat(softly).isSameAs(testSoftly)
+    }
+
+    @Test
+    internal fun `uses soft assertions`(softly: GradleSoftAssertions) {
+      testSoftly = softly
+    }
+  }
+
+  @Nested
+  @ExtendWith(GradleSoftAssertionsExtension::class)
+  internal inner class Injection {
+    private var beforeEachSoftly: GradleSoftAssertions? = null
+
+    @BeforeEach
+    internal fun setUp(softly: GradleSoftAssertions) {
+      beforeEachSoftly = softly
+    }
+
+    @Test
+    internal fun `injects the same instance into the test and its lifecycle methods`(softly: GradleSoftAssertions) {
+      Assertions.assertThat(softly).isSameAs(beforeEachSoftly)
+      softly.assertThat(mock<BuildTask>()).isNotNull
+    }
+  }
+}
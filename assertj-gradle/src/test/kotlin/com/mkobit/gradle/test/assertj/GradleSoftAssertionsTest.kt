@@ -1,14 +1,20 @@
 package com.mkobit.gradle.test.assertj
 
+import com.nhaarman.mockito_kotlin.doReturn
 import com.nhaarman.mockito_kotlin.mock
 import org.assertj.core.api.Assertions
 import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.ResolvableDependencies
+import org.gradle.api.artifacts.result.ResolutionResult
+import org.gradle.api.artifacts.result.ResolvedComponentResult
 import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.BuildTask
-import org.junit.jupiter.api.Disabled
+import org.gradle.testkit.runner.TaskOutcome
 import org.junit.jupiter.api.Test
+import testsupport.buildResult
+import testsupport.buildTask
+import java.time.Duration
 
-@Disabled("Fails on AssertJ 3.9.1")
 internal class GradleSoftAssertionsTest {
   @Test
   internal fun `can use soft assertions with BuildTask`() {
@@ -44,4 +50,133 @@ internal class GradleSoftAssertionsTest {
       GradleSoftAssertions().apply { assertThat(mockConfiguration).isNull() }.assertAll()
     }.isInstanceOf(AssertionError::class.java)
   }
+
+  @Test
+  internal fun `collects every failed assertion in a chain`() {
+    val mockBuildResult: BuildResult = mock {
+      on { output } doReturn "BUILD SUCCESSFUL"
+      on { tasks } doReturn emptyList<BuildTask>()
+    }
+
+    val softly = GradleSoftAssertions()
+    softly.assertThat(mockBuildResult)
+        .outputContains("BUILD FAILED")
+        .outputContains("BUILD SUCCESSFUL")
+        .hasTaskAtPath(":build")
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(2)
+  }
+
+  @Test
+  internal fun `collects a single error when the actual is null`() {
+    val softly = GradleSoftAssertions()
+    softly.assertThat(null as BuildResult?)
+        .hasTaskAtPath(":build")
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(1)
+  }
+
+  @Test
+  internal fun `compacting soft assertions keep an excerpt of the error message`() {
+    val mockBuildResult: BuildResult = mock {
+      on { output } doReturn "x".repeat(100_000)
+      on { tasks } doReturn emptyList<BuildTask>()
+    }
+
+    val softly = GradleSoftAssertions.compacting(100)
+    softly.assertThat(mockBuildResult).outputContains("BUILD SUCCESSFUL")
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(1)
+    val message = softly.errorsCollected()[0].message!!
+    Assertions.assertThat(message).contains("characters omitted")
+    Assertions.assertThat(message.length).isLessThan(1_000)
+  }
+
+  @Test
+  internal fun `compacting soft assertions reject a negative message length`() {
+    Assertions.assertThatIllegalArgumentException().isThrownBy { GradleSoftAssertions.compacting(-1) }
+  }
+
+  @Test
+  internal fun `collects errors of assertions chained to a navigation`() {
+    val result = buildResult(buildTask(":a", TaskOutcome.SUCCESS), buildTask(":b", TaskOutcome.FAILED))
+
+    val softly = GradleSoftAssertions()
+    softly.assertThat(result).tasks()
+        .filteredOnOutcome(TaskOutcome.FAILED)
+        .isEmpty()
+    softly.assertThat(result).tasks().first().pathIsEqualTo(":b")
+    softly.assertThat(result).tasksUnderProject(":").hasSize(3)
+    softly.assertThat(result).tasksMatchingGlob(":*").isEmpty()
+    softly.assertThat(result).outcomeCounts().containsEntry(TaskOutcome.FAILED, 0)
+    softly.assertThat(result).comparedTo(result).allTasksAvoided()
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(6)
+  }
+
+  @Test
+  internal fun `collects errors of assertions chained to extracted task paths`() {
+    val result = buildResult(buildTask(":a", TaskOutcome.SUCCESS), buildTask(":b", TaskOutcome.UP_TO_DATE))
+
+    val softly = GradleSoftAssertions()
+    softly.assertThat(result).tasks()
+        .filteredOnOutcome(TaskOutcome.UP_TO_DATE)
+        .extractingPaths()
+        .containsExactly(":a")
+        .doesNotContain(":b")
+    softly.assertThat(result).tasks().extractingPaths().containsExactly(":a", ":b")
+    softly.assertThat(null as BuildResult?).tasks().extractingPaths().contains(":a")
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(3)
+    Assertions.assertThat(softly.errorsCollected()[0].message).contains("<[\":b\"]>")
+  }
+
+  @Test
+  internal fun `collects errors of navigations in the build output`() {
+    val mockBuildResult: BuildResult = mock {
+      on { output } doReturn "BUILD SUCCESSFUL in 2m 3s\n1 actionable task: 1 executed\n"
+    }
+
+    val softly = GradleSoftAssertions()
+    softly.assertThat(mockBuildResult).actionableTasksSummary().hasTotal(2)
+    softly.assertThat(mockBuildResult).buildDuration().isLessThan(Duration.ofMinutes(1))
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(2)
+  }
+
+  @Test
+  internal fun `collects errors of assertions chained to resolution result`() {
+    val root: ResolvedComponentResult = mock {
+      on { dependencies } doReturn emptySet()
+    }
+    val resolutionResult: ResolutionResult = mock {
+      on { this.root } doReturn root
+    }
+    val incoming: ResolvableDependencies = mock {
+      on { this.resolutionResult } doReturn resolutionResult
+    }
+    val mockConfiguration: Configuration = mock {
+      on { this.incoming } doReturn incoming
+    }
+
+    val softly = GradleSoftAssertions()
+    softly.assertThat(mockConfiguration).resolutionResult().hasComponent("com.google.guava:guava", "27.0-jre")
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(1)
+  }
+
+  @Test
+  internal fun `collects a failed navigation once and skips the assertions chained to it`() {
+    val mockBuildResult: BuildResult = mock {
+      on { output } doReturn "BUILD SUCCESSFUL in 1s\n"
+    }
+
+    val softly = GradleSoftAssertions()
+    softly.assertThat(null as BuildResult?).tasks().hasSize(1).first().pathIsEqualTo(":build")
+    softly.assertThat(null as Configuration?).resolutionResult().maxDepthAtMost(1)
+    softly.assertThat(mockBuildResult).actionableTasksSummary().hasTotal(1).hasExecuted(1)
+
+    Assertions.assertThat(softly.errorsCollected()).hasSize(3)
+    Assertions.assertThat(softly.errorsCollected()[2].message).contains("to have an actionable tasks summary")
+  }
 }
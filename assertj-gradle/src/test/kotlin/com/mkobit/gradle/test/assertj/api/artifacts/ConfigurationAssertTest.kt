@@ -0,0 +1,159 @@
+package com.mkobit.gradle.test.assertj.api.artifacts
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import com.nhaarman.mockito_kotlin.never
+import com.nhaarman.mockito_kotlin.verify
+import org.assertj.core.api.Assertions
+import org.gradle.api.artifacts.ArtifactCollection
+import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.ResolvableDependencies
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.artifacts.result.DependencyResult
+import org.gradle.api.artifacts.result.ResolutionResult
+import org.gradle.api.artifacts.result.ResolvedArtifactResult
+import org.gradle.api.artifacts.result.ResolvedComponentResult
+import org.gradle.api.artifacts.result.ResolvedDependencyResult
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import testsupport.assertNoExceptionThrownBy
+import testsupport.assertThatAssertionErrorThrownBy
+import testsupport.configuration
+import java.io.File
+import java.nio.file.Files
+
+internal class ConfigurationAssertTest {
+
+  private val api = configuration("api")
+  private val implementation = configuration("implementation", api)
+  private val compileClasspath = configuration("compileClasspath", implementation, api)
+  private val unrelated = configuration("unrelated")
+
+  @Test
+  internal fun `extendsFromTransitively`() {
+    assertNoExceptionThrownBy { ConfigurationAssert(compileClasspath).extendsFromTransitively(api) }
+    assertThatAssertionErrorThrownBy { ConfigurationAssert(compileClasspath).extendsFromTransitively(unrelated) }
+        .withMessageContaining("compileClasspath")
+        .withMessageContaining("unrelated")
+  }
+
+  @Test
+  internal fun `hierarchyDepthAtMost`() {
+    assertNoExceptionThrownBy { ConfigurationAssert(compileClasspath).hierarchyDepthAtMost(2) }
+    assertThatAssertionErrorThrownBy { ConfigurationAssert(compileClasspath).hierarchyDepthAtMost(1) }
+        .withMessageContaining("[compileClasspath, implementation, api]")
+    Assertions.assertThatIllegalArgumentException()
+        .isThrownBy { ConfigurationAssert(compileClasspath).hierarchyDepthAtMost(-1) }
+  }
+
+  @Test
+  internal fun `hasNoRedundantExtendsFrom`() {
+    assertNoExceptionThrownBy { ConfigurationAssert(implementation).hasNoRedundantExtendsFrom() }
+    assertThatAssertionErrorThrownBy { ConfigurationAssert(compileClasspath).hasNoRedundantExtendsFrom() }
+        .withMessageContaining("[api]")
+  }
+
+  @Test
+  internal fun `hierarchy assertions use the provided graph`() {
+    val graph = ConfigurationGraph.of(listOf(compileClasspath, unrelated))
+
+    assertNoExceptionThrownBy {
+      ConfigurationAssert(compileClasspath)
+          .usingGraph(graph)
+          .hierarchyContains(api)
+          .hierarchyContains(compileClasspath)
+          .hierarchyDoesNotContain(unrelated)
+          .extendsFromTransitively(implementation)
+    }
+    verify(compileClasspath, never()).hierarchy
+  }
+
+  private val artifactDirectory = Files.createTempDirectory("artifacts").toFile()
+
+  @AfterEach
+  internal fun deleteArtifacts() {
+    artifactDirectory.deleteRecursively()
+  }
+
+  private fun artifact(name: String, size: Int): ResolvedArtifactResult {
+    val file = File(artifactDirectory, name).apply { writeBytes(ByteArray(size)) }
+    val artifactId: ComponentArtifactIdentifier = mock {
+      on { displayName } doReturn name
+    }
+    return mock {
+      on { this.file } doReturn file
+      on { id } doReturn artifactId
+    }
+  }
+
+  private fun component(name: String, vararg dependencies: ResolvedComponentResult): ResolvedComponentResult {
+    val componentId: ComponentIdentifier = mock {
+      on { displayName } doReturn name
+    }
+    val dependencyResults: Set<DependencyResult> = dependencies.map { selected ->
+      mock<ResolvedDependencyResult> {
+        on { this.selected } doReturn selected
+      }
+    }.toSet()
+    return mock {
+      on { id } doReturn componentId
+      on { this.dependencies } doReturn dependencyResults
+    }
+  }
+
+  private fun resolvedConfiguration(): Configuration {
+    val artifacts = setOf(artifact("guava.jar", 300), artifact("failureaccess.jar", 100), artifact("core.jar", 200))
+    val artifactCollection: ArtifactCollection = mock {
+      on { this.artifacts } doReturn artifacts
+    }
+    // runtimeClasspath -> core -> guava -> failureaccess, runtimeClasspath -> failureaccess
+    val failureAccess = component("failureaccess")
+    val guava = component("guava", failureAccess)
+    val core = component("core", guava)
+    val root = component("runtimeClasspath", core, failureAccess)
+    val resolutionResult: ResolutionResult = mock {
+      on { this.root } doReturn root
+      on { allComponents } doReturn setOf(root, core, guava, failureAccess)
+    }
+    val incoming: ResolvableDependencies = mock {
+      on { this.artifacts } doReturn artifactCollection
+      on { this.resolutionResult } doReturn resolutionResult
+    }
+    return mock {
+      on { name } doReturn "runtimeClasspath"
+      on { this.incoming } doReturn incoming
+    }
+  }
+
+  @Test
+  internal fun `hasResolvedArtifactCountAtMost`() {
+    val configuration = resolvedConfiguration()
+
+    assertNoExceptionThrownBy { ConfigurationAssert(configuration).hasResolvedArtifactCountAtMost(3) }
+    assertThatAssertionErrorThrownBy { ConfigurationAssert(configuration).hasResolvedArtifactCountAtMost(2) }
+        .withMessageContaining("<300> bytes: guava.jar")
+    Assertions.assertThatIllegalArgumentException()
+        .isThrownBy { ConfigurationAssert(configuration).hasResolvedArtifactCountAtMost(-1) }
+  }
+
+  @Test
+  internal fun `hasTotalArtifactSizeAtMost`() {
+    val configuration = resolvedConfiguration()
+
+    assertNoExceptionThrownBy { ConfigurationAssert(configuration).hasTotalArtifactSizeAtMost(600) }
+    assertThatAssertionErrorThrownBy { ConfigurationAssert(configuration).hasTotalArtifactSizeAtMost(599) }
+        .withMessageContaining("<600> bytes")
+        .withMessageContaining("<300> bytes: guava.jar")
+  }
+
+  @Test
+  internal fun `hasTransitiveDependencyCountAtMost`() {
+    val configuration = resolvedConfiguration()
+
+    assertNoExceptionThrownBy { ConfigurationAssert(configuration).hasTransitiveDependencyCountAtMost(3) }
+    assertThatAssertionErrorThrownBy { ConfigurationAssert(configuration).hasTransitiveDependencyCountAtMost(2) }
+        .withMessageContaining("<3> components: core")
+        .withMessageContaining("<1> components: failureaccess")
+  }
+}
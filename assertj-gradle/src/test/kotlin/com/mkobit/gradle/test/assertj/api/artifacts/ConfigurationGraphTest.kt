@@ -0,0 +1,75 @@
+package com.mkobit.gradle.test.assertj.api.artifacts
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import org.assertj.core.api.Assertions
+import org.gradle.api.artifacts.Configuration
+import org.junit.jupiter.api.Test
+import testsupport.configuration
+
+internal class ConfigurationGraphTest {
+
+  // api <- implementation <- runtimeClasspath, implementation and api <- compileClasspath
+  private val api = configuration("api")
+  private val implementation = configuration("implementation", api)
+  private val runtimeClasspath = configuration("runtimeClasspath", implementation)
+  private val compileClasspath = configuration("compileClasspath", implementation, api)
+
+  @Test
+  internal fun `includes configurations only reached through extendsFrom`() {
+    val graph = ConfigurationGraph.of(listOf(runtimeClasspath))
+
+    Assertions.assertThat(graph.configurations()).containsExactly(runtimeClasspath, implementation, api)
+    Assertions.assertThat(graph.contains(compileClasspath)).isFalse()
+  }
+
+  @Test
+  internal fun `extends from transitively`() {
+    val graph = ConfigurationGraph.of(listOf(runtimeClasspath, compileClasspath))
+
+    Assertions.assertThat(graph.extendsFromTransitively(runtimeClasspath, api)).isTrue()
+    Assertions.assertThat(graph.extendsFromTransitively(runtimeClasspath, implementation)).isTrue()
+    Assertions.assertThat(graph.extendsFromTransitively(runtimeClasspath, runtimeClasspath)).isFalse()
+    Assertions.assertThat(graph.extendsFromTransitively(api, runtimeClasspath)).isFalse()
+    Assertions.assertThat(graph.extendsFromTransitively(runtimeClasspath, compileClasspath)).isFalse()
+  }
+
+  @Test
+  internal fun `hierarchy depth and deepest chain`() {
+    val graph = ConfigurationGraph.of(listOf(runtimeClasspath, compileClasspath))
+
+    Assertions.assertThat(graph.hierarchyDepth(api)).isEqualTo(0)
+    Assertions.assertThat(graph.hierarchyDepth(compileClasspath)).isEqualTo(2)
+    Assertions.assertThat(graph.deepestChain(compileClasspath)).containsExactly(compileClasspath, implementation, api)
+  }
+
+  @Test
+  internal fun `redundant extendsFrom`() {
+    val graph = ConfigurationGraph.of(listOf(runtimeClasspath, compileClasspath))
+
+    Assertions.assertThat(graph.redundantExtendsFrom(compileClasspath)).containsExactly(api)
+    Assertions.assertThat(graph.redundantExtendsFrom(runtimeClasspath)).isEmpty()
+  }
+
+  @Test
+  internal fun `configuration not in graph`() {
+    val graph = ConfigurationGraph.of(listOf(runtimeClasspath))
+
+    Assertions.assertThatIllegalArgumentException()
+        .isThrownBy { graph.hierarchyDepth(compileClasspath) }
+        .withMessageContaining("compileClasspath")
+  }
+
+  @Test
+  internal fun `extendsFrom cycle`() {
+    val extendsFrom = mutableSetOf<Configuration>()
+    val first: Configuration = mock {
+      on { name } doReturn "first"
+      on { this.extendsFrom } doReturn extendsFrom
+    }
+    extendsFrom.add(configuration("second", first))
+
+    Assertions.assertThatIllegalArgumentException()
+        .isThrownBy { ConfigurationGraph.of(listOf(first)) }
+  }
+}
@@ -0,0 +1,148 @@
+package com.mkobit.gradle.test.assertj.api.artifacts.result
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import com.nhaarman.mockito_kotlin.never
+import com.nhaarman.mockito_kotlin.verify
+import org.assertj.core.api.Assertions
+import org.gradle.api.artifacts.ModuleVersionIdentifier
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier
+import org.gradle.api.artifacts.result.DependencyResult
+import org.gradle.api.artifacts.result.ResolutionResult
+import org.gradle.api.artifacts.result.ResolvedComponentResult
+import org.gradle.api.artifacts.result.ResolvedDependencyResult
+import org.junit.jupiter.api.Test
+import testsupport.assertNoExceptionThrownBy
+import testsupport.assertThatAssertionErrorThrownBy
+
+internal class ResolutionResultAssertTest {
+
+  private fun moduleVersion(group: String, name: String, version: String): ModuleVersionIdentifier = mock {
+    on { this.group } doReturn group
+    on { this.name } doReturn name
+    on { this.version } doReturn version
+  }
+
+  private fun project(path: String, vararg dependencies: ResolvedComponentResult): ResolvedComponentResult {
+    val id: ProjectComponentIdentifier = mock {
+      on { projectPath } doReturn path
+      on { displayName } doReturn "project $path"
+    }
+    return component(id, moduleVersion("com.example", path.substringAfterLast(':'), "1.0"), dependencies)
+  }
+
+  private fun module(
+    group: String,
+    name: String,
+    version: String,
+    vararg dependencies: ResolvedComponentResult
+  ): ResolvedComponentResult {
+    val id: ModuleComponentIdentifier = mock {
+      on { displayName } doReturn "$group:$name:$version"
+    }
+    return component(id, moduleVersion(group, name, version), dependencies)
+  }
+
+  private fun component(
+    id: ComponentIdentifier,
+    moduleVersion: ModuleVersionIdentifier,
+    dependencies: Array<out ResolvedComponentResult>
+  ): ResolvedComponentResult {
+    val dependencyResults: Set<DependencyResult> = dependencies.map { selected ->
+      mock<ResolvedDependencyResult> {
+        on { this.selected } doReturn selected
+      }
+    }.toSet()
+    return mock {
+      on { this.id } doReturn id
+      on { this.moduleVersion } doReturn moduleVersion
+      on { this.dependencies } doReturn dependencyResults
+    }
+  }
+
+  // root -> :app -> :core -> guava -> failureaccess, root -> :core
+  private val failureAccess = module("com.google.guava", "failureaccess", "1.0")
+  private val guava = module("com.google.guava", "guava", "27.0-jre", failureAccess)
+  private val core = project(":core", guava)
+  private val app = project(":app", core)
+  private val root = project(":", app, core)
+  private val resolutionResult: ResolutionResult = mock {
+    on { this.root } doReturn root
+  }
+
+  @Test
+  internal fun `hasComponent`() {
+    assertNoExceptionThrownBy {
+      ResolutionResultAssert(resolutionResult).hasComponent("com.google.guava:guava", "27.0-jre")
+    }
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).hasComponent("com.google.guava:guava", "26.0-jre")
+    }.withMessageContaining("[27.0-jre]")
+    assertNoExceptionThrownBy {
+      ResolutionResultAssert(resolutionResult).hasComponent("com.google.guava:guava", "27.+")
+    }
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).hasComponent("com.google.guava:guava", "28.+")
+    }.withMessageContaining("[27.0-jre]")
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).hasComponent("org.example:missing", "1.0")
+    }.withMessageContaining("was not resolved")
+  }
+
+  @Test
+  internal fun `hasComponent stops at the first match`() {
+    ResolutionResultAssert(resolutionResult).hasComponent("com.example:app", "1.0")
+
+    verify(guava, never()).dependencies
+  }
+
+  @Test
+  internal fun `hasNoDependencyPath`() {
+    assertNoExceptionThrownBy {
+      ResolutionResultAssert(resolutionResult)
+          .hasNoDependencyPath(":core", ":app")
+          .hasNoDependencyPath("com.google.guava:guava", ":core")
+    }
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).hasNoDependencyPath(":app", "com.google.guava:failureaccess")
+    }.withMessageContaining(
+        "[project :app, project :core, com.google.guava:guava:27.0-jre, com.google.guava:failureaccess:1.0]"
+    )
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).hasNoDependencyPath(":missing", ":core")
+    }.withMessageContaining(":missing")
+  }
+
+  @Test
+  internal fun `reachesComponentOnlyThrough`() {
+    assertNoExceptionThrownBy {
+      ResolutionResultAssert(resolutionResult).reachesComponentOnlyThrough("com.google.guava:guava", ":core")
+    }
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).reachesComponentOnlyThrough("com.google.guava:guava", ":app")
+    }.withMessageContaining("[project :, project :core, com.google.guava:guava:27.0-jre]")
+    assertThatAssertionErrorThrownBy {
+      ResolutionResultAssert(resolutionResult).reachesComponentOnlyThrough("org.example:missing", ":core")
+    }.withMessageContaining("org.example:missing")
+  }
+
+  @Test
+  internal fun `path assertions search from the root without all components`() {
+    ResolutionResultAssert(resolutionResult)
+        .hasNoDependencyPath(":core", ":app")
+        .reachesComponentOnlyThrough("com.google.guava:guava", ":core")
+
+    verify(resolutionResult, never()).allComponents
+  }
+
+  @Test
+  internal fun `maxDepthAtMost`() {
+    assertNoExceptionThrownBy { ResolutionResultAssert(resolutionResult).maxDepthAtMost(3) }
+    assertThatAssertionErrorThrownBy { ResolutionResultAssert(resolutionResult).maxDepthAtMost(2) }
+        .withMessageContaining("com.google.guava:failureaccess:1.0")
+    Assertions.assertThatIllegalArgumentException()
+        .isThrownBy { ResolutionResultAssert(resolutionResult).maxDepthAtMost(-1) }
+  }
+}
@@ -0,0 +1,27 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.junit.jupiter.api.Test
+import testsupport.assertNoExceptionThrownBy
+import testsupport.assertThatAssertionErrorThrownBy
+
+internal class ActionableTasksSummaryAssertTest {
+
+  private val summaryAssert = ActionableTasksSummaryAssert(ActionableTasksSummary(4, 2, 1, 1))
+
+  @Test
+  internal fun `constructed with null ActionableTasksSummary instance`() {
+    val nullActualAssert = ActionableTasksSummaryAssert(null as ActionableTasksSummary?)
+    assertThatAssertionErrorThrownBy { nullActualAssert.hasTotal(0) }
+    assertNoExceptionThrownBy { nullActualAssert.isNull() }
+  }
+
+  @Test
+  internal fun `has counts`() {
+    assertNoExceptionThrownBy { summaryAssert.hasTotal(4).hasExecuted(2).hasFromCache(1).hasUpToDate(1) }
+    assertThatAssertionErrorThrownBy { summaryAssert.hasTotal(3) }
+        .withMessageContaining("to have <3> actionable tasks but had <4>")
+    assertThatAssertionErrorThrownBy { summaryAssert.hasExecuted(4) }
+    assertThatAssertionErrorThrownBy { summaryAssert.hasFromCache(0) }
+    assertThatAssertionErrorThrownBy { summaryAssert.hasUpToDate(2) }
+  }
+}
@@ -0,0 +1,49 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+internal class BuildDurationTest {
+
+  @Test
+  internal fun `parses Gradle duration formats`() {
+    assertThat(BuildDuration.parse("250ms")).isEqualTo(Duration.ofMillis(250))
+    assertThat(BuildDuration.parse("3s")).isEqualTo(Duration.ofSeconds(3))
+    assertThat(BuildDuration.parse("1m 3s")).isEqualTo(Duration.ofSeconds(63))
+    assertThat(BuildDuration.parse("1h 0m 5s")).isEqualTo(Duration.ofHours(1).plusSeconds(5))
+  }
+
+  @Test
+  internal fun `rejects text that is not a duration`() {
+    assertThat(BuildDuration.parse("")).isNull()
+    assertThat(BuildDuration.parse("3x")).isNull()
+    assertThat(BuildDuration.parse("3 s")).isNull()
+    assertThat(BuildDuration.parse("s")).isNull()
+  }
+
+  @Test
+  internal fun `finds last summary line in tail`() {
+    assertThat(BuildDuration.findInTail("> Task :test\nBUILD SUCCESSFUL in 3s\n4 actionable tasks: 4 executed\n"))
+        .isEqualTo(Duration.ofSeconds(3))
+    assertThat(BuildDuration.findInTail("BUILD FAILED in 2m 1s\r\n")).isEqualTo(Duration.ofSeconds(121))
+    assertThat(BuildDuration.findInTail("BUILD SUCCESSFUL in 1s\nBUILD SUCCESSFUL in 2s"))
+        .isEqualTo(Duration.ofSeconds(2))
+    assertThat(BuildDuration.findInTail("no summary\n")).isNull()
+    assertThat(BuildDuration.findInTail("")).isNull()
+  }
+
+  @Test
+  internal fun `summary before the tail window is not found`() {
+    val output = "BUILD SUCCESSFUL in 3s\n" + "x".repeat(BuildDuration.TAIL_WINDOW)
+
+    assertThat(BuildDuration.findInTail(output)).isNull()
+  }
+
+  @Test
+  internal fun `formats durations`() {
+    assertThat(BuildDuration.format(Duration.ofMillis(12))).isEqualTo("12ms")
+    assertThat(BuildDuration.format(Duration.ofSeconds(63))).isEqualTo("1m 3s")
+    assertThat(BuildDuration.format(Duration.ofMillis(3_725_250))).isEqualTo("1h 2m 5s 250ms")
+  }
+}
@@ -0,0 +1,59 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import com.nhaarman.mockito_kotlin.whenever
+import org.assertj.core.api.Assertions.assertThat
+import org.gradle.testkit.runner.BuildResult
+import org.junit.jupiter.api.Test
+import java.util.regex.Pattern
+
+internal class BuildOutputIndexTest {
+
+  @Test
+  internal fun `lines are split on LF and CRLF terminators`() {
+    val index = BuildOutputIndex("a\n\nb\r\nlast")
+
+    assertThat(index.lineCount()).isEqualTo(4)
+    assertThat(index.indexOfLine("a")).isEqualTo(0)
+    assertThat(index.indexOfLine("")).isEqualTo(1)
+    assertThat(index.indexOfLine("b")).isEqualTo(2)
+    assertThat(index.indexOfLine("last")).isEqualTo(3)
+    assertThat(index.lineStart(2)).isEqualTo(3)
+    assertThat(index.lineEnd(2)).isEqualTo(4)
+    assertThat(index.indexOfLine("b\r")).isEqualTo(-1)
+  }
+
+  @Test
+  internal fun `contains sequences spanning lines`() {
+    val index = BuildOutputIndex("> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 3s\n")
+
+    assertThat(index.contains("compileJava\n> Task")).isTrue()
+    assertThat(index.contains("")).isTrue()
+    assertThat(index.contains("BUILD FAILED")).isFalse()
+    assertThat(index.mightContain("zzzzzz")).isFalse()
+  }
+
+  @Test
+  internal fun `line matching uses whole line`() {
+    val index = BuildOutputIndex("> Task :compileJava\n> Task :test\n")
+
+    assertThat(index.indexOfLineMatching(Pattern.compile("> Task :t\\w+"))).isEqualTo(1)
+    assertThat(index.indexOfLineMatching(Pattern.compile("Task"))).isEqualTo(-1)
+  }
+
+  @Test
+  internal fun `index is cached per result and rebuilt when output instance changes`() {
+    val mockBuildResult: BuildResult = mock {
+      on { output } doReturn "first output"
+    }
+
+    val first = BuildOutputIndex.of(mockBuildResult)
+    assertThat(BuildOutputIndex.of(mockBuildResult)).isSameAs(first)
+
+    whenever(mockBuildResult.output).thenReturn("second output")
+    val second = BuildOutputIndex.of(mockBuildResult)
+    assertThat(second).isNotSameAs(first)
+    assertThat(second.contains("second")).isTrue()
+  }
+}
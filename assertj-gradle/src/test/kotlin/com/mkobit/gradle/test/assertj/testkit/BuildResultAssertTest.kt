@@ -6,6 +6,7 @@ import com.nhaarman.mockito_kotlin.times
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.verifyNoMoreInteractions
 import com.nhaarman.mockito_kotlin.whenever
+import org.assertj.core.api.Assertions.assertThat
 import org.assertj.core.api.Assertions.assertThatCode
 import org.assertj.core.api.Assertions.assertThatThrownBy
 import org.gradle.testkit.runner.BuildResult
@@ -15,6 +16,10 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import testsupport.assertNoExceptionThrownBy
 import testsupport.assertThatAssertionErrorThrownBy
+import testsupport.buildResult
+import testsupport.buildTask
+import java.nio.file.Files
+import java.time.Duration
 import java.util.function.Consumer
 import java.util.regex.Pattern
 
@@ -91,6 +96,284 @@ internal class BuildResultAssertTest {
     verify(mockConsumer, times(1)).accept(buildOutput)
   }
 
+  @Test
+  internal fun `output failure message is bounded by the output failure format`() {
+    val buildOutput = "x".repeat(100_000) + "\n> Task :compileJava\n" + "y".repeat(100_000)
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertThatAssertionErrorThrownBy {
+      buildResultAssert.withOutputFailureFormat(OutputFailureFormat.bounded().withHeadAndTail(100, 100))
+          .outputContains("> Task :compileKotlin")
+    }.withMessageContaining("characters omitted")
+        .withMessageContaining("closest match <> Task :compile>")
+        .matches { it.message!!.length < 2_000 }
+
+    assertThatAssertionErrorThrownBy {
+      BuildResultAssert(mockBuildResult).withOutputFailureFormat(OutputFailureFormat.full())
+          .outputContains("> Task :compileKotlin")
+    }.matches { it.message!!.length > 200_000 }
+  }
+
+  @Test
+  internal fun `output assertions run against file backed output`() {
+    whenever(mockBuildResult.output).thenReturn("not used")
+    FileBackedOutput.createTempFile().use { output ->
+      output.writer().write("> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s\n")
+      val fileBackedAssert = buildResultAssert.withOutputFrom(output)
+
+      assertNoExceptionThrownBy { fileBackedAssert.outputContains(":compileJava") }
+      assertNoExceptionThrownBy { fileBackedAssert.outputHasLine("> Task :test") }
+      assertNoExceptionThrownBy { fileBackedAssert.outputMatches(Pattern.compile("(?s).*SUCCESSFUL in \\d+s.*")) }
+      assertNoExceptionThrownBy { fileBackedAssert.outputContainsAll(":test", "BUILD SUCCESSFUL") }
+      assertThatAssertionErrorThrownBy { fileBackedAssert.outputContains("not used") }
+      assertThatAssertionErrorThrownBy { fileBackedAssert.outputDoesNotContain(":test") }
+          .withMessageContaining("> 2| > Task :test")
+    }
+  }
+
+  @Test
+  internal fun `task output contains`() {
+    val buildOutput = "> Task :compileJava\nNote: unchecked\n\n> Task :test FAILED\nMyTest > works FAILED\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.taskOutputContains(":compileJava", "unchecked") }
+    assertNoExceptionThrownBy { buildResultAssert.taskOutputContains(":test", "works FAILED") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.taskOutputContains(":compileJava", "works FAILED") }
+        .withMessageContaining("Note: unchecked")
+    assertThatAssertionErrorThrownBy { buildResultAssert.taskOutputContains(":jar", "unchecked") }
+        .withMessageContaining("[:compileJava, :test]")
+  }
+
+  @Test
+  internal fun `failure cause contains`() {
+    val buildOutput = listOf(
+        "* What went wrong:",
+        "Execution failed for task ':test'.",
+        "> There were failing tests",
+        "",
+        "* Try:",
+        "> Run with --stacktrace",
+        "",
+        "BUILD FAILED in 1s"
+    ).joinToString(separator = "\n")
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.failureCauseContains("failing tests") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.failureCauseContains("--stacktrace") }
+        .withMessageContaining("Execution failed for task ':test'.")
+    assertThatAssertionErrorThrownBy { BuildResultAssert(mockBuildResult).failureCauseContains("BUILD FAILED") }
+
+    whenever(mockBuildResult.output).thenReturn("BUILD SUCCESSFUL in 1s\n")
+    assertThatAssertionErrorThrownBy { BuildResultAssert(mockBuildResult).failureCauseContains("failing tests") }
+        .withMessageContaining("it had no failure cause")
+  }
+
+  @Test
+  internal fun `actionable tasks summary`() {
+    val buildOutput = "BUILD SUCCESSFUL in 1s\n3 actionable tasks: 2 executed, 1 up-to-date\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.actionableTasksSummary().hasTotal(3).hasExecuted(2).hasUpToDate(1) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.actionableTasksSummary().hasFromCache(1) }
+
+    whenever(mockBuildResult.output).thenReturn("BUILD SUCCESSFUL in 1s\n")
+    assertThatAssertionErrorThrownBy { BuildResultAssert(mockBuildResult).actionableTasksSummary() }
+        .withMessageContaining("to have an actionable tasks summary")
+  }
+
+  @Test
+  internal fun `output matches snapshot`() {
+    val directory = Files.createTempDirectory("snapshots")
+    directory.toFile().deleteOnExit()
+    val snapshot = directory.resolve("build.log")
+    whenever(mockBuildResult.output).thenReturn("> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s\n")
+
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputMatchesSnapshot(snapshot) }
+        .withMessageContaining(BuildResultAssert.UPDATE_SNAPSHOTS_PROPERTY)
+
+    Files.write(snapshot, "> Task :compileJava\r\n> Task :test\r\nBUILD SUCCESSFUL in 1s\r\n".toByteArray())
+    assertNoExceptionThrownBy { buildResultAssert.outputMatchesSnapshot(snapshot) }
+
+    Files.write(snapshot, "> Task :compileJava\n> Task :jar\nBUILD SUCCESSFUL in 1s\n".toByteArray())
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputMatchesSnapshot(snapshot) }
+        .withMessageContaining("-> Task :jar")
+        .withMessageContaining("+> Task :test")
+
+    try {
+      System.setProperty(BuildResultAssert.UPDATE_SNAPSHOTS_PROPERTY, "true")
+      assertNoExceptionThrownBy { buildResultAssert.outputMatchesSnapshot(snapshot) }
+      assertNoExceptionThrownBy { buildResultAssert.outputMatchesSnapshot(directory.resolve("new/build.log")) }
+    } finally {
+      System.clearProperty(BuildResultAssert.UPDATE_SNAPSHOTS_PROPERTY)
+    }
+    assertThat(String(Files.readAllBytes(snapshot))).isEqualTo(mockBuildResult.output)
+    assertThat(directory.resolve("new/build.log")).hasContent(mockBuildResult.output)
+  }
+
+  @Test
+  internal fun `output assertions run against normalized output`() {
+    whenever(mockBuildResult.output).thenReturn("\u001B[1m> Task :test\u001B[m\nBUILD SUCCESSFUL in 12s\n")
+    val normalizer = OutputNormalizer.builder().stripAnsiEscapes().replaceBuildDurations("<duration>").build()
+    val normalizedAssert = buildResultAssert.normalizedWith(normalizer)
+
+    assertNoExceptionThrownBy { normalizedAssert.outputHasLine("> Task :test") }
+    assertNoExceptionThrownBy { normalizedAssert.outputContains("BUILD SUCCESSFUL in <duration>") }
+    assertThatAssertionErrorThrownBy { normalizedAssert.outputContains("12s") }
+    assertNoExceptionThrownBy { BuildResultAssert(mockBuildResult).outputContains("12s") }
+  }
+
+  @Test
+  internal fun `build duration`() {
+    val buildOutput = "> Task :test\n\nBUILD SUCCESSFUL in 1m 3s\n3 actionable tasks: 3 executed\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.hasBuildDurationAtMost(Duration.ofMinutes(2)) }
+    assertNoExceptionThrownBy { buildResultAssert.hasBuildDurationAtMost(Duration.ofSeconds(63)) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasBuildDurationAtMost(Duration.ofSeconds(60)) }
+        .withMessageContaining("<1m 3s>")
+        .withMessageContaining("<1m 0s>")
+        .withMessageContaining("exceeded the budget by:%n <3s>".format())
+    assertNoExceptionThrownBy { buildResultAssert.buildDuration().isGreaterThan(Duration.ofMinutes(1)) }
+
+    whenever(mockBuildResult.output).thenReturn("> Task :test\n")
+    assertThatAssertionErrorThrownBy { BuildResultAssert(mockBuildResult).buildDuration() }
+        .withMessageContaining("BUILD SUCCESSFUL or BUILD FAILED summary line")
+  }
+
+  @Test
+  internal fun `output contains all`() {
+    val buildOutput = "> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsAll(":compileJava", ":test", "BUILD SUCCESSFUL") }
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsAll() }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputContainsAll(":test", ":jar", "BUILD FAILED") }
+        .withMessageContaining("[:jar, BUILD FAILED]")
+  }
+
+  @Test
+  internal fun `output contains subsequence`() {
+    val buildOutput = "> Configure project :\nplugin configured\n> Task :compileJava\n> Task :test\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsSubsequence("configured", ":compileJava", ":test") }
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsSubsequence() }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputContainsSubsequence(":compileJava", "configured") }
+        .withMessageContaining("but only the first <1> matched: <[:compileJava]>")
+        .withMessageContaining("<configured> was not found after offset <59>")
+  }
+
+  @Test
+  internal fun `output has line subsequence`() {
+    val buildOutput = "> Configure project :\nplugin configured\n> Task :compileJava\n> Task :test\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLineSubsequence("plugin configured", "> Task :test") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputHasLineSubsequence("configured", "> Task :test") }
+        .withMessageContaining("but only the first <0> matched")
+    assertThatAssertionErrorThrownBy {
+      buildResultAssert.outputHasLineSubsequence("> Task :test", "> Task :compileJava")
+    }
+        .withMessageContaining("<> Task :compileJava> was not found after offset <73>")
+  }
+
+  @Test
+  internal fun `output contains any of`() {
+    val buildOutput = "> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsAnyOf(":jar", ":test") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputContainsAnyOf(":jar", "BUILD FAILED") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputContainsAnyOf() }
+  }
+
+  @Test
+  internal fun `output contains none of`() {
+    val buildOutput = "> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsNoneOf(":jar", "BUILD FAILED") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputContainsNoneOf(":jar", ":test", "SUCCESSFUL") }
+        .withMessageContaining("[:test, SUCCESSFUL]")
+  }
+
+  @Test
+  internal fun `output has line`() {
+    val buildOutput = "first line\r\n> Task :taskPath\nBUILD SUCCESSFUL in 1s"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLine("first line") }
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLine("> Task :taskPath") }
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLine("BUILD SUCCESSFUL in 1s") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputHasLine("> Task :task") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputHasLine("first line\r\n> Task :taskPath") }
+  }
+
+  @Test
+  internal fun `output has line matching`() {
+    val buildOutput = "first line\r\n> Task :taskPath\nBUILD SUCCESSFUL in 1s"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLineMatching(Pattern.compile("> Task :\\w+")) }
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLineMatching(Pattern.compile("first.*")) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputHasLineMatching(Pattern.compile("Task.*")) }
+  }
+
+  @Test
+  internal fun `output has line matching regex`() {
+    val buildOutput = "first line\n> Task :taskPath FAILED\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputHasLineMatching("> Task :\\w+ FAILED") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputHasLineMatching("> Task :\\w+") }
+  }
+
+  @Test
+  internal fun `output contains match`() {
+    val buildOutput = "first line\n> Task :taskPath FAILED\nBUILD FAILED in 2s\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsMatch(Pattern.compile("BUILD \\w+ in \\ds")) }
+    assertNoExceptionThrownBy { buildResultAssert.outputContainsMatch("Task :\\w+") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputContainsMatch("BUILD SUCCESSFUL in \\ds") }
+  }
+
+  @Test
+  internal fun `output matches in region`() {
+    val buildOutput = "first line\n> Task :taskPath FAILED\n"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputMatchesInRegion(Pattern.compile("^> Task :\\w+\$"), 11, 27) }
+    assertNoExceptionThrownBy { buildResultAssert.outputMatchesInRegion("first", 0, 5) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputMatchesInRegion("first line", 0, 5) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputMatchesInRegion(".*", 0, 1_000) }
+    assertThatThrownBy { buildResultAssert.outputMatchesInRegion(".*", 5, 2) }
+        .isInstanceOf(IllegalArgumentException::class.java)
+  }
+
+  @Test
+  internal fun `output matches regex`() {
+    val buildOutput = "this is the build output"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    assertNoExceptionThrownBy { buildResultAssert.outputMatches("^.*is the build.*\$") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputMatches("^no match here\$") }
+    assertNoExceptionThrownBy { buildResultAssert.outputDoesNotMatch("^no match here\$") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.outputDoesNotMatch("^.*is the build.*\$") }
+  }
+
+  @Test
+  internal fun `output assertions on the same result share one index`() {
+    val buildOutput = "this is the build output"
+    whenever(mockBuildResult.output).thenReturn(buildOutput)
+
+    BuildResultAssert(mockBuildResult).outputContains("build")
+    val index = BuildOutputIndex.of(mockBuildResult)
+    BuildResultAssert(mockBuildResult).outputDoesNotContain("nope present")
+
+    assertThat(BuildOutputIndex.of(mockBuildResult)).isSameAs(index)
+  }
+
   @Test
   internal fun `tasks with outcome satisfy`() {
     val buildTasks = listOf(mockBuildTask)
@@ -135,7 +418,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with failed task outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.FAILED)
     assertThatCode {
       buildResultAssert.hasTaskFailedAtPath(taskPath)
@@ -150,7 +434,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with from cache outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.FROM_CACHE)
     assertThatCode {
       buildResultAssert.hasTaskFromCacheAtPath(taskPath)
@@ -165,7 +450,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with no source outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.NO_SOURCE)
     assertThatCode {
       buildResultAssert.hasTaskNoSourceAtPath(taskPath)
@@ -180,7 +466,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with skipped outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.SKIPPED)
     assertThatCode {
       buildResultAssert.hasTaskSkippedAtPath(taskPath)
@@ -195,7 +482,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with success outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.SUCCESS)
     assertThatCode {
       buildResultAssert.hasTaskSuccessAtPath(taskPath)
@@ -210,7 +498,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with up-to-date outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.UP_TO_DATE)
     assertThatCode {
       buildResultAssert.hasTaskUpToDateAtPath(taskPath)
@@ -225,7 +514,8 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path with user - specified outcome`() {
     val taskPath = ":taskPath"
-    whenever(mockBuildResult.task(taskPath)).thenReturn(mockBuildTask)
+    whenever(mockBuildTask.path).thenReturn(taskPath)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     whenever(mockBuildTask.outcome).thenReturn(TaskOutcome.FAILED)
     assertThatCode {
       buildResultAssert.hasTaskAtPathWithOutcome(taskPath, TaskOutcome.FAILED)
@@ -239,39 +529,41 @@ internal class BuildResultAssertTest {
   @Test
   internal fun `has task at path`() {
     val path = ":taskPath"
-    val mockBuildTask: BuildTask = mock()
+    val mockBuildTask = buildTask(path, TaskOutcome.SUCCESS)
     val mockBuildResult: BuildResult = mock {
-      on { task(path) } doReturn mockBuildTask
+      on { tasks } doReturn listOf(mockBuildTask)
     }
     val buildResultAssert = BuildResultAssert(mockBuildResult)
 
     assertNoExceptionThrownBy { buildResultAssert.hasTaskAtPath(":taskPath") }
-    verify(mockBuildResult, times(1)).task(path)
+    verify(mockBuildResult, times(1)).tasks
     assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskAtPath(":wrongPath") }
   }
 
   @Test
   internal fun `does not have task at path`() {
     val path = ":taskPath"
-    whenever(mockBuildResult.task(path)).thenReturn(mockBuildTask)
+    val tasks = listOf(buildTask(path, TaskOutcome.SUCCESS))
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
     val buildResultAssert = BuildResultAssert(mockBuildResult)
 
     assertThatAssertionErrorThrownBy { buildResultAssert.doesNotHaveTaskAtPath(":taskPath") }
-    verify(mockBuildResult, times(1)).task(path)
+    verify(mockBuildResult, times(1)).tasks
     assertNoExceptionThrownBy { buildResultAssert.doesNotHaveTaskAtPath(":wrongPath") }
   }
 
   @Test
   internal fun `task at path satisfies`() {
     val path = ":taskPath"
-    whenever(mockBuildResult.task(path)).thenReturn(mockBuildTask)
+    val mockBuildTask = buildTask(path, TaskOutcome.SUCCESS)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(mockBuildTask))
     val mockBuildTaskConsumer: Consumer<BuildTask?> = mock()
     val buildResultAssert = BuildResultAssert(mockBuildResult)
 
     assertThatCode {
       buildResultAssert.hasTaskAtPathSatisfying(":taskPath", mockBuildTaskConsumer)
     }.doesNotThrowAnyException()
-    verify(mockBuildResult, times(1)).task(path)
+    verify(mockBuildResult, times(1)).tasks
     verify(mockBuildTaskConsumer, times(1)).accept(mockBuildTask)
 
     assertThatThrownBy {
@@ -279,4 +571,217 @@ internal class BuildResultAssertTest {
     }.isInstanceOf(AssertionError::class.java)
     verifyNoMoreInteractions(mockBuildTaskConsumer)
   }
+
+  @Test
+  internal fun `task lookups use the task list instead of scanning with task(path)`() {
+    val compileJava = buildTask(":compileJava", TaskOutcome.FROM_CACHE)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(compileJava))
+
+    assertNoExceptionThrownBy { buildResultAssert.hasTaskFromCacheAtPath(":compileJava") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskAtPath(":test") }
+    verify(mockBuildResult, times(0)).task(":compileJava")
+  }
+
+  @Test
+  internal fun `has tasks with outcomes`() {
+    val compileJava = buildTask(":compileJava", TaskOutcome.FROM_CACHE)
+    val test = buildTask(":test", TaskOutcome.SUCCESS)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(compileJava, test))
+
+    assertNoExceptionThrownBy {
+      buildResultAssert.hasTasksWithOutcomes(mapOf(
+          ":compileJava" to TaskOutcome.FROM_CACHE,
+          ":test" to TaskOutcome.SUCCESS
+      ))
+    }
+    assertNoExceptionThrownBy { buildResultAssert.hasTasksWithOutcomes(emptyMap()) }
+    assertThatAssertionErrorThrownBy {
+      buildResultAssert.hasTasksWithOutcomes(mapOf(
+          ":compileJava" to TaskOutcome.UP_TO_DATE,
+          ":test" to TaskOutcome.SUCCESS,
+          ":javadoc" to TaskOutcome.SUCCESS
+      ))
+    }.withMessageContaining("<2> of <3> did not")
+        .withMessageContaining("<:compileJava> had outcome <FROM_CACHE> instead of <UP_TO_DATE>")
+        .withMessageContaining("<:javadoc> was not executed")
+    assertThatThrownBy { buildResultAssert.hasTasksWithOutcomes(mapOf(":test" to null)) }
+        .isInstanceOf(NullPointerException::class.java)
+  }
+
+  @Test
+  internal fun `outcome counts`() {
+    val tasks = listOf(
+        buildTask(":a", TaskOutcome.FROM_CACHE),
+        buildTask(":b", TaskOutcome.FROM_CACHE),
+        buildTask(":c", TaskOutcome.SUCCESS)
+    )
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertNoExceptionThrownBy {
+      buildResultAssert.outcomeCounts()
+          .containsEntry(TaskOutcome.FROM_CACHE, 2)
+          .containsEntry(TaskOutcome.FAILED, 0)
+    }
+    assertNoExceptionThrownBy { buildResultAssert.hasOutcomeCount(TaskOutcome.SUCCESS, 1) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasOutcomeCount(TaskOutcome.FROM_CACHE, 3) }
+        .withMessageContaining("to have <3> tasks with outcome <FROM_CACHE> but had <2>")
+    assertThatThrownBy { buildResultAssert.hasOutcomeCount(null, 0) }
+        .isInstanceOf(NullPointerException::class.java)
+  }
+
+  @Test
+  internal fun `has at most executed tasks`() {
+    val tasks = listOf(
+        buildTask(":a", TaskOutcome.SUCCESS),
+        buildTask(":b", TaskOutcome.FAILED),
+        buildTask(":c", TaskOutcome.UP_TO_DATE),
+        buildTask(":d", TaskOutcome.SKIPPED)
+    )
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertNoExceptionThrownBy { buildResultAssert.hasAtMostExecutedTasks(2) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasAtMostExecutedTasks(1) }
+        .withMessageContaining("to execute at most <1> tasks but executed <2>")
+        .withMessageContaining("[:a, :b]")
+  }
+
+  @Test
+  internal fun `has avoidance ratio at least`() {
+    val tasks = listOf(
+        buildTask(":a", TaskOutcome.FROM_CACHE),
+        buildTask(":b", TaskOutcome.UP_TO_DATE),
+        buildTask(":c", TaskOutcome.UP_TO_DATE),
+        buildTask(":d", TaskOutcome.SUCCESS),
+        buildTask(":e", TaskOutcome.NO_SOURCE)
+    )
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertNoExceptionThrownBy { buildResultAssert.hasAvoidanceRatioAtLeast(0.75) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasAvoidanceRatioAtLeast(0.8) }
+        .withMessageContaining("avoided <0.75> (<3> of <4>)")
+        .withMessageContaining("[:d]")
+    assertThatThrownBy { buildResultAssert.hasAvoidanceRatioAtLeast(1.5) }
+        .isInstanceOf(IllegalArgumentException::class.java)
+  }
+
+  @Test
+  internal fun `build without executed or avoided tasks has full avoidance`() {
+    assertNoExceptionThrownBy { buildResultAssert.hasAvoidanceRatioAtLeast(1.0) }
+  }
+
+  @Test
+  internal fun `tasks under project`() {
+    val billingTest = buildTask(":services:billing:test", TaskOutcome.UP_TO_DATE)
+    val ledgerTest = buildTask(":services:ledger:test", TaskOutcome.SUCCESS)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(billingTest, ledgerTest))
+
+    assertNoExceptionThrownBy { buildResultAssert.tasksUnderProject(":services:billing").containsExactly(billingTest) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.tasksUnderProject(":services").isEmpty() }
+        .withMessageContaining("tasks under project <:services>")
+    assertThatThrownBy { buildResultAssert.tasksUnderProject("services") }
+        .isInstanceOf(IllegalArgumentException::class.java)
+  }
+
+  @Test
+  internal fun `tasks matching glob`() {
+    val billingTest = buildTask(":services:billing:test", TaskOutcome.UP_TO_DATE)
+    val billingJar = buildTask(":services:billing:jar", TaskOutcome.SUCCESS)
+    val test = buildTask(":test", TaskOutcome.SUCCESS)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(billingTest, billingJar, test))
+
+    assertNoExceptionThrownBy { buildResultAssert.tasksMatchingGlob(":**:test").containsExactly(billingTest, test) }
+    assertNoExceptionThrownBy { buildResultAssert.tasksMatchingGlob(":*:*:j*").containsExactly(billingJar) }
+    assertThatAssertionErrorThrownBy { buildResultAssert.tasksMatchingGlob(":**:test").isEmpty() }
+        .withMessageContaining("tasks matching <:**:test>")
+  }
+
+  @Test
+  internal fun `has tasks executed in order`() {
+    val tasks = listOf(
+        buildTask(":a:jar", TaskOutcome.SUCCESS),
+        buildTask(":b:compileJava", TaskOutcome.SUCCESS),
+        buildTask(":c:jar", TaskOutcome.SUCCESS),
+        buildTask(":b:test", TaskOutcome.SUCCESS)
+    )
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertNoExceptionThrownBy { buildResultAssert.hasTaskExecutedBefore(":a:jar", ":b:compileJava") }
+    assertNoExceptionThrownBy { buildResultAssert.hasTasksExecutedInOrder(":a:jar", ":c:jar", ":b:test") }
+    assertNoExceptionThrownBy { buildResultAssert.hasTasksExecutedInOrder() }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskExecutedBefore(":b:test", ":c:jar") }
+        .withMessageContaining("<:b:test> (position 3) did not execute before <:c:jar> (position 2)")
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTasksExecutedInOrder(":a:jar", ":missing", ":other") }
+        .withMessageContaining("these were not executed:")
+        .withMessageContaining("<[:missing, :other]>")
+    assertThatThrownBy { buildResultAssert.hasTaskExecutedBefore(":a:jar", null) }
+        .isInstanceOf(NullPointerException::class.java)
+  }
+
+  @Test
+  internal fun `has task not executed between`() {
+    val tasks = listOf(
+        buildTask(":a:jar", TaskOutcome.SUCCESS),
+        buildTask(":b:compileJava", TaskOutcome.SUCCESS),
+        buildTask(":c:jar", TaskOutcome.SUCCESS),
+        buildTask(":b:test", TaskOutcome.SUCCESS)
+    )
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertNoExceptionThrownBy { buildResultAssert.hasTaskNotExecutedBetween(":c:jar", ":a:jar", ":b:compileJava") }
+    assertNoExceptionThrownBy { buildResultAssert.hasTaskNotExecutedBetween(":missing", ":a:jar", ":b:test") }
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskNotExecutedBetween(":c:jar", ":a:jar", ":b:test") }
+        .withMessageContaining("but it executed at position 2")
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskNotExecutedBetween(":c:jar", ":b:test", ":a:jar") }
+  }
+
+  @Test
+  internal fun `compared to later build`() {
+    val tasks = listOf(buildTask(":a", TaskOutcome.SUCCESS))
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+    val laterBuildResult = buildResult(buildTask(":a", TaskOutcome.UP_TO_DATE))
+
+    assertNoExceptionThrownBy { buildResultAssert.comparedTo(laterBuildResult).allTasksAvoided() }
+    assertThatAssertionErrorThrownBy { BuildResultAssert(null).comparedTo(laterBuildResult) }
+  }
+
+  @Test
+  internal fun `missing task paths suggest nearest paths`() {
+    val tasks = listOf(
+        buildTask(":app:compileJava", TaskOutcome.SUCCESS),
+        buildTask(":app:test", TaskOutcome.SUCCESS),
+        buildTask(":lib:jar", TaskOutcome.SUCCESS)
+    )
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskAtPath(":app:tset") }
+        .withMessageContaining("Did you mean:%n <[:app:test]>".format())
+    assertThatAssertionErrorThrownBy { buildResultAssert.hasTaskSuccessAtPath(":app:complieJava") }
+        .withMessageContaining("Did you mean:%n <[:app:compileJava]>".format())
+    assertThatAssertionErrorThrownBy {
+      buildResultAssert.hasTasksWithOutcomes(mapOf(":lib:jra" to TaskOutcome.SUCCESS))
+    }.withMessageContaining("<:lib:jra> was not executed, did you mean <[:lib:jar]>?")
+  }
+
+  @Test
+  internal fun `listing of tasks in failure message is truncated for large builds`() {
+    val tasks = (0 until 60).map { buildTask(":task$it", TaskOutcome.SUCCESS) }
+    whenever(mockBuildResult.tasks).thenReturn(tasks)
+
+    assertThatAssertionErrorThrownBy {
+      buildResultAssert.hasTaskAtPathWithOutcome(":other:missing", TaskOutcome.SUCCESS)
+    }.withMessageContaining("(path=:task49, outcome=SUCCESS), ... 10 more]")
+  }
+
+  @Test
+  internal fun `tasks navigates to build tasks`() {
+    val compileJava = buildTask(":compileJava", TaskOutcome.SUCCESS)
+    val jar = buildTask(":jar", TaskOutcome.UP_TO_DATE)
+    whenever(mockBuildResult.tasks).thenReturn(listOf(compileJava, jar))
+
+    assertNoExceptionThrownBy { buildResultAssert.tasks().containsExactly(compileJava, jar) }
+    assertNoExceptionThrownBy {
+      buildResultAssert.tasks().filteredOnOutcome(TaskOutcome.UP_TO_DATE).extractingPaths().containsExactly(":jar")
+    }
+    assertThatAssertionErrorThrownBy { BuildResultAssert(null).tasks() }
+  }
 }
@@ -0,0 +1,94 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.gradle.testkit.runner.TaskOutcome
+import org.junit.jupiter.api.Test
+import testsupport.assertNoExceptionThrownBy
+import testsupport.assertThatAssertionErrorThrownBy
+import testsupport.buildResult
+import testsupport.buildTask
+
+internal class BuildResultComparisonAssertTest {
+
+  private val first = buildResult(
+      buildTask(":lib:compileJava", TaskOutcome.SUCCESS),
+      buildTask(":lib:jar", TaskOutcome.SUCCESS),
+      buildTask(":app:compileJava", TaskOutcome.SUCCESS)
+  )
+
+  @Test
+  internal fun `constructed with null later BuildResult instance`() {
+    val nullActualAssert = BuildResultComparisonAssert(first, null)
+    assertThatAssertionErrorThrownBy { nullActualAssert.allTasksAvoided() }
+    assertNoExceptionThrownBy { nullActualAssert.isNull() }
+  }
+
+  @Test
+  internal fun `copy without a source fails every comparison as null`() {
+    val placeholder = BuildResultComparisonAssert(null as BuildResultComparisonAssert?)
+    assertThatAssertionErrorThrownBy { placeholder.onlyTasksRerun(":lib:jar") }
+    assertThatAssertionErrorThrownBy { placeholder.allTasksAvoided() }
+    assertThatAssertionErrorThrownBy { placeholder.noNewTasksExecuted() }
+  }
+
+  @Test
+  internal fun `all tasks avoided`() {
+    val upToDate = buildResult(
+        buildTask(":lib:compileJava", TaskOutcome.UP_TO_DATE),
+        buildTask(":lib:jar", TaskOutcome.FROM_CACHE),
+        buildTask(":app:compileJava", TaskOutcome.NO_SOURCE)
+    )
+    val rerun = buildResult(
+        buildTask(":lib:compileJava", TaskOutcome.SUCCESS),
+        buildTask(":lib:jar", TaskOutcome.UP_TO_DATE)
+    )
+
+    assertNoExceptionThrownBy { BuildResultComparisonAssert(first, upToDate).allTasksAvoided() }
+    assertThatAssertionErrorThrownBy { BuildResultComparisonAssert(first, rerun).allTasksAvoided() }
+        .withMessageContaining("it executed <1>")
+        .withMessageContaining(" :lib:compileJava | SUCCESS | SUCCESS")
+  }
+
+  @Test
+  internal fun `only tasks rerun`() {
+    val later = buildResult(
+        buildTask(":lib:compileJava", TaskOutcome.SUCCESS),
+        buildTask(":lib:jar", TaskOutcome.SUCCESS),
+        buildTask(":app:compileJava", TaskOutcome.UP_TO_DATE)
+    )
+    val comparisonAssert = BuildResultComparisonAssert(first, later)
+
+    assertNoExceptionThrownBy { comparisonAssert.onlyTasksRerun(":lib:compileJava", ":lib:jar") }
+    assertThatAssertionErrorThrownBy { comparisonAssert.onlyTasksRerun(":lib:compileJava", ":app:compileJava") }
+        .withMessageContaining("these tasks were also rerun:")
+        .withMessageContaining(" :lib:jar | SUCCESS | SUCCESS")
+        .withMessageContaining(" :app:compileJava | SUCCESS | UP_TO_DATE")
+    assertThatAssertionErrorThrownBy { comparisonAssert.onlyTasksRerun(":lib:compileJava", ":lib:jar", ":app:test") }
+        .withMessageContaining(" :app:test | -     | -")
+  }
+
+  @Test
+  internal fun `no new tasks executed`() {
+    val later = buildResult(
+        buildTask(":lib:compileJava", TaskOutcome.UP_TO_DATE),
+        buildTask(":app:test", TaskOutcome.SUCCESS)
+    )
+
+    assertNoExceptionThrownBy { BuildResultComparisonAssert(first, first).noNewTasksExecuted() }
+    assertThatAssertionErrorThrownBy { BuildResultComparisonAssert(first, later).noNewTasksExecuted() }
+        .withMessageContaining("tasks that the first build did not have but it executed <1>")
+        .withMessageContaining(" :app:test | -     | SUCCESS")
+  }
+
+  @Test
+  internal fun `new tasks that were not executed are not new executed tasks`() {
+    val later = buildResult(
+        buildTask(":lib:compileJava", TaskOutcome.UP_TO_DATE),
+        buildTask(":app:processResources", TaskOutcome.NO_SOURCE),
+        buildTask(":app:jar", TaskOutcome.UP_TO_DATE),
+        buildTask(":app:test", TaskOutcome.SKIPPED),
+        buildTask(":app:javadoc", TaskOutcome.FROM_CACHE)
+    )
+
+    assertNoExceptionThrownBy { BuildResultComparisonAssert(first, later).noNewTasksExecuted() }
+  }
+}
@@ -33,7 +33,7 @@ internal class BuildTaskAssertTest {
 
   @Test
   internal fun `null constructor argument`() {
-    val buildTaskAssert = BuildTaskAssert(null)
+    val buildTaskAssert = BuildTaskAssert(null as BuildTask?)
     assertNoExceptionThrownBy { buildTaskAssert.isNull() }
     assertThatAssertionErrorThrownBy { buildTaskAssert.isNotNull }
   }
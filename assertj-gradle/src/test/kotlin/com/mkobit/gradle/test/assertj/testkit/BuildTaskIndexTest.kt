@@ -0,0 +1,74 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import com.nhaarman.mockito_kotlin.mock
+import com.nhaarman.mockito_kotlin.whenever
+import org.assertj.core.api.Assertions.assertThat
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+import org.junit.jupiter.api.Test
+import testsupport.buildTask
+
+internal class BuildTaskIndexTest {
+
+  @Test
+  internal fun `finds tasks by path`() {
+    val compileJava = buildTask(":compileJava")
+    val test = buildTask(":sub:test")
+    val index = BuildTaskIndex(listOf(compileJava, test))
+
+    assertThat(index.task(":compileJava")).isSameAs(compileJava)
+    assertThat(index.task(":sub:test")).isSameAs(test)
+    assertThat(index.task(":test")).isNull()
+    assertThat(index.tasks()).containsExactly(compileJava, test)
+  }
+
+  @Test
+  internal fun `first task with a path wins like BuildResult task`() {
+    val first = buildTask(":build")
+    val index = BuildTaskIndex(listOf(first, buildTask(":build")))
+
+    assertThat(index.task(":build")).isSameAs(first)
+  }
+
+  @Test
+  internal fun `index is shared until the task list changes`() {
+    val buildResult: BuildResult = mock()
+    val tasks = listOf(buildTask(":a"))
+    whenever(buildResult.tasks).thenReturn(tasks)
+
+    val index = BuildTaskIndex.of(buildResult)
+    assertThat(BuildTaskIndex.of(buildResult)).isSameAs(index)
+
+    val changedTasks = listOf(buildTask(":b"))
+    whenever(buildResult.tasks).thenReturn(changedTasks)
+    val rebuilt = BuildTaskIndex.of(buildResult)
+    assertThat(rebuilt).isNotSameAs(index)
+    assertThat(rebuilt.task(":b")).isNotNull()
+  }
+
+  @Test
+  internal fun `counts tasks by outcome`() {
+    val index = BuildTaskIndex(listOf(
+        buildTask(":a", TaskOutcome.FROM_CACHE),
+        buildTask(":b", TaskOutcome.FROM_CACHE),
+        buildTask(":c", TaskOutcome.SUCCESS)
+    ))
+
+    assertThat(index.count(TaskOutcome.FROM_CACHE)).isEqualTo(2)
+    assertThat(index.count(TaskOutcome.SUCCESS)).isEqualTo(1)
+    assertThat(index.count(TaskOutcome.FAILED)).isZero()
+    assertThat(index.outcomeCounts())
+        .containsOnlyKeys(*TaskOutcome.values())
+        .containsEntry(TaskOutcome.FROM_CACHE, 2)
+        .containsEntry(TaskOutcome.UP_TO_DATE, 0)
+  }
+
+  @Test
+  internal fun `positions are in execution order`() {
+    val index = BuildTaskIndex(listOf(buildTask(":a"), buildTask(":b"), buildTask(":a")))
+
+    assertThat(index.position(":a")).isZero()
+    assertThat(index.position(":b")).isEqualTo(1)
+    assertThat(index.position(":c")).isEqualTo(-1)
+  }
+}
@@ -0,0 +1,88 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.gradle.testkit.runner.BuildTask
+import org.gradle.testkit.runner.TaskOutcome
+import org.junit.jupiter.api.Test
+import testsupport.assertNoExceptionThrownBy
+import testsupport.assertThatAssertionErrorThrownBy
+import testsupport.buildTask
+
+internal class BuildTasksAssertTest {
+
+  private val billingCompile = buildTask(":services:billing:compileJava", TaskOutcome.SUCCESS)
+  private val billingTest = buildTask(":services:billing:test", TaskOutcome.UP_TO_DATE)
+  private val ledgerCompile = buildTask(":services:ledger:compileJava", TaskOutcome.FAILED)
+  private val jar = buildTask(":jar", TaskOutcome.SUCCESS)
+  private val tasks = listOf(billingCompile, billingTest, ledgerCompile, jar)
+
+  @Test
+  internal fun `constructed with null tasks`() {
+    val nullActualAssert = BuildTasksAssert(null as Iterable<BuildTask>?)
+    assertThatAssertionErrorThrownBy { nullActualAssert.filteredOnOutcome(TaskOutcome.SUCCESS) }
+    assertNoExceptionThrownBy { nullActualAssert.isNull() }
+  }
+
+  @Test
+  internal fun `filtered on outcome`() {
+    assertNoExceptionThrownBy {
+      BuildTasksAssert(tasks).filteredOnOutcome(TaskOutcome.SUCCESS, TaskOutcome.FAILED)
+          .containsExactly(billingCompile, ledgerCompile, jar)
+    }
+    assertNoExceptionThrownBy { BuildTasksAssert(tasks).filteredOnOutcome().isEmpty() }
+    assertThatThrownBy { BuildTasksAssert(tasks).filteredOnOutcome(TaskOutcome.SUCCESS, null) }
+        .isInstanceOf(NullPointerException::class.java)
+  }
+
+  @Test
+  internal fun `filtered on path prefix`() {
+    assertNoExceptionThrownBy {
+      BuildTasksAssert(tasks).filteredOnPathPrefix(":services:billing:").containsExactly(billingCompile, billingTest)
+    }
+  }
+
+  @Test
+  internal fun `filters compose and keep the description`() {
+    assertThatAssertionErrorThrownBy {
+      BuildTasksAssert(tasks).`as`("service tasks")
+          .filteredOnPathPrefix(":services:")
+          .filteredOnOutcome(TaskOutcome.FAILED)
+          .isEmpty()
+    }.withMessageContaining("[service tasks]")
+  }
+
+  @Test
+  internal fun `extracting paths`() {
+    assertNoExceptionThrownBy {
+      BuildTasksAssert(tasks).filteredOnOutcome(TaskOutcome.SUCCESS)
+          .extractingPaths()
+          .containsExactly(":services:billing:compileJava", ":jar")
+    }
+  }
+
+  @Test
+  internal fun `chained filters iterate the underlying tasks once`() {
+    var iterations = 0
+    val countingTasks = object : Iterable<BuildTask> {
+      override fun iterator(): Iterator<BuildTask> {
+        iterations++
+        return tasks.iterator()
+      }
+    }
+
+    BuildTasksAssert(countingTasks).filteredOnPathPrefix(":services:")
+        .filteredOnOutcome(TaskOutcome.SUCCESS)
+        .extractingPaths()
+
+    assertThat(iterations).isEqualTo(1)
+  }
+
+  @Test
+  internal fun `element assertions are build task assertions`() {
+    assertNoExceptionThrownBy {
+      BuildTasksAssert(tasks).filteredOnOutcome(TaskOutcome.UP_TO_DATE).first().pathIsEqualTo(":services:billing:test")
+    }
+    assertThatAssertionErrorThrownBy { BuildTasksAssert(tasks).first().isFailed() }
+  }
+}
@@ -0,0 +1,114 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+internal class ConsoleOutputTest {
+
+  private val output = listOf(
+      "> Configure project :",
+      "configuring",
+      "> Task :compileJava",
+      "Note: uses unchecked operations",
+      "",
+      "> Task :test FAILED",
+      "MyTest > works FAILED",
+      "    java.lang.AssertionError",
+      "",
+      "FAILURE: Build completed with 2 failures.",
+      "",
+      "1: Task failed with an exception.",
+      "-----------",
+      "* What went wrong:",
+      "Execution failed for task ':test'.",
+      "> There were failing tests",
+      "",
+      "* Try:",
+      "> Run with --stacktrace option.",
+      "==============================================================================",
+      "",
+      "2: Task failed with an exception.",
+      "-----------",
+      "* What went wrong:",
+      "Execution failed for task ':lint'.",
+      "> lint found errors",
+      "",
+      "==============================================================================",
+      "",
+      "BUILD FAILED in 3s",
+      "4 actionable tasks: 2 executed, 1 from cache, 1 up-to-date"
+  ).joinToString(separator = "\r\n")
+
+  private val index = BuildOutputIndex(output)
+  private val consoleOutput = index.consoleOutput()
+
+  @Test
+  internal fun `model is parsed once per index`() {
+    assertThat(index.consoleOutput()).isSameAs(consoleOutput)
+  }
+
+  @Test
+  internal fun `task sections end at the next header`() {
+    assertThat(consoleOutput.taskPaths()).containsExactly(":compileJava", ":test")
+    assertThat(consoleOutput.indexOfInTaskOutput(":compileJava", "unchecked")).isGreaterThan(0)
+    assertThat(consoleOutput.indexOfInTaskOutput(":compileJava", "AssertionError")).isEqualTo(-1)
+    assertThat(consoleOutput.indexOfInTaskOutput(":test", "FAILURE")).isEqualTo(-1)
+    assertThat(consoleOutput.indexOfInTaskOutput(":jar", "unchecked")).isEqualTo(-1)
+    assertThat(consoleOutput.renderTaskOutput(":test"))
+        .isEqualTo("MyTest > works FAILED${System.lineSeparator()}    java.lang.AssertionError")
+  }
+
+  @Test
+  internal fun `failure causes include nested causes`() {
+    assertThat(consoleOutput.failureCauseCount()).isEqualTo(2)
+    assertThat(consoleOutput.indexOfInFailureCauses("There were failing tests")).isGreaterThan(0)
+    assertThat(consoleOutput.indexOfInFailureCauses("lint found errors")).isGreaterThan(0)
+    assertThat(consoleOutput.indexOfInFailureCauses("--stacktrace")).isEqualTo(-1)
+    assertThat(consoleOutput.renderFailureCauses())
+        .startsWith("Execution failed for task ':test'.")
+        .endsWith("> lint found errors")
+  }
+
+  @Test
+  internal fun `build result and summary`() {
+    assertThat(index.lineText(consoleOutput.buildResultLine())).isEqualTo("BUILD FAILED in 3s")
+    assertThat(consoleOutput.actionableTasksSummary()).isEqualTo(ActionableTasksSummary(4, 2, 1, 1))
+  }
+
+  @Test
+  internal fun `summary is only taken after the last build result line`() {
+    val nested = BuildOutputIndex(listOf(
+        "> Task :nestedBuild",
+        "3 actionable tasks: 3 executed",
+        "BUILD SUCCESSFUL in 1s",
+        "1 actionable task: 1 up-to-date",
+        "",
+        "BUILD SUCCESSFUL in 2s",
+        "5 actionable tasks: 4 executed, 1 up-to-date"
+    ).joinToString(separator = "\n")).consoleOutput()
+    val beforeResult = BuildOutputIndex("2 actionable tasks: 2 executed\nBUILD SUCCESSFUL in 1s\n").consoleOutput()
+
+    assertThat(nested.actionableTasksSummary()).isEqualTo(ActionableTasksSummary(5, 4, 0, 1))
+    assertThat(beforeResult.actionableTasksSummary()).isNull()
+  }
+
+  @Test
+  internal fun `output without console structure has an empty model`() {
+    val empty = BuildOutputIndex("just some output\n").consoleOutput()
+
+    assertThat(empty.taskPaths()).isEmpty()
+    assertThat(empty.failureCauseCount()).isZero()
+    assertThat(empty.buildResultLine()).isEqualTo(-1)
+    assertThat(empty.actionableTasksSummary()).isNull()
+  }
+
+  @Test
+  internal fun `summary line variants`() {
+    assertThat(ActionableTasksSummary.parse("1 actionable task: 1 executed"))
+        .isEqualTo(ActionableTasksSummary(1, 1, 0, 0))
+    assertThat(ActionableTasksSummary.parse("5 actionable tasks: 5 up-to-date"))
+        .isEqualTo(ActionableTasksSummary(5, 0, 0, 5))
+    assertThat(ActionableTasksSummary.parse("Note: 1 executed")).isNull()
+    assertThat(ActionableTasksSummary.parse("many actionable tasks: 1 executed")).isNull()
+  }
+}
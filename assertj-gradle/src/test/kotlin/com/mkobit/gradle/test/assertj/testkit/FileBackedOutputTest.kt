@@ -0,0 +1,74 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.nio.file.Files
+
+internal class FileBackedOutputTest {
+
+  @Test
+  internal fun `view reads back written output`() {
+    FileBackedOutput.createTempFile().use { output ->
+      output.writer().write("> Task :compileJava\n")
+      output.writer().write("café ✓ BUILD SUCCESSFUL\n")
+
+      val view = output.view()
+
+      assertThat(view.toString()).isEqualTo("> Task :compileJava\ncafé ✓ BUILD SUCCESSFUL\n")
+      assertThat(view.length).isEqualTo(44)
+      assertThat(view.subSequence(2, 6).toString()).isEqualTo("Task")
+      assertThat(output.view()).isSameAs(view)
+    }
+  }
+
+  @Test
+  internal fun `index is built once over the view`() {
+    FileBackedOutput.createTempFile().use { output ->
+      output.writer().write("first\r\nsecond\nthird")
+
+      val index = output.index()
+
+      assertThat(output.index()).isSameAs(index)
+      assertThat(index.output()).isSameAs(output.view())
+      assertThat(index.lineCount()).isEqualTo(3)
+      assertThat(index.indexOfLine("second")).isEqualTo(1)
+      assertThat(index.indexOf("third")).isEqualTo(14)
+      assertThat(index.contains("fourth")).isFalse()
+    }
+  }
+
+  @Test
+  internal fun `writer is closed once view is created`() {
+    FileBackedOutput.createTempFile().use { output ->
+      output.view()
+
+      assertThatThrownBy { output.writer().write("more") }.isInstanceOf(IOException::class.java)
+    }
+  }
+
+  @Test
+  internal fun `temporary file is deleted on close`() {
+    val output = FileBackedOutput.createTempFile()
+    output.writer().write("output")
+
+    output.close()
+
+    assertThat(output.path).doesNotExist()
+  }
+
+  @Test
+  internal fun `provided file is kept on close`() {
+    val file = Files.createTempFile("file-backed-output", ".utf16")
+    file.toFile().deleteOnExit()
+
+    FileBackedOutput.create(file).use { output ->
+      output.writer().write("output")
+      assertThat(output.view().toString()).isEqualTo("output")
+    }
+
+    assertThat(file).exists()
+    assertThat(String(Files.readAllBytes(file), Charsets.UTF_16BE)).isEqualTo("output")
+  }
+}
@@ -0,0 +1,66 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+internal class LineDiffTest {
+
+  private fun diff(expected: String, actual: String) = LineDiff(BuildOutputIndex(expected), BuildOutputIndex(actual))
+
+  private fun lines(vararg lines: String) = lines.joinToString(separator = System.lineSeparator(), postfix = System.lineSeparator())
+
+  @Test
+  internal fun `identical outputs`() {
+    assertThat(diff("a\nb\nc\n", "a\nb\nc\n").isIdentical).isTrue()
+    assertThat(diff("", "").isIdentical).isTrue()
+  }
+
+  @Test
+  internal fun `line terminators are not compared`() {
+    assertThat(diff("a\r\nb\r\n", "a\nb").isIdentical).isTrue()
+  }
+
+  @Test
+  internal fun `changed line is rendered as a hunk with context`() {
+    val diff = diff("a\nb\nc\nd\ne\n", "a\nb\nC\nd\ne\n")
+
+    assertThat(diff.isIdentical).isFalse()
+    assertThat(diff.hunkCount(1)).isEqualTo(1)
+    assertThat(diff.render(1, 10)).isEqualTo(lines("@@ -2,3 +2,3 @@", " b", "-c", "+C", " d"))
+  }
+
+  @Test
+  internal fun `inserted and deleted lines`() {
+    assertThat(diff("a\nb\nc\n", "a\nc\nd\n").render(0, 10))
+        .isEqualTo(lines("@@ -2,1 +2,0 @@", "-b", "@@ -4,0 +3,1 @@", "+d"))
+  }
+
+  @Test
+  internal fun `nearby changes share a hunk`() {
+    val diff = diff("a\nb\nc\nd\ne\nf\ng\n", "A\nb\nc\nd\ne\nf\nG\n")
+
+    assertThat(diff.hunkCount(3)).isEqualTo(1)
+    assertThat(diff.hunkCount(2)).isEqualTo(2)
+  }
+
+  @Test
+  internal fun `hunks after the limit are counted`() {
+    val expected = (0 until 100).joinToString(separator = "\n") { "line $it" }
+    val actual = (0 until 100).joinToString(separator = "\n") { if (it % 10 == 0) "changed $it" else "line $it" }
+    val diff = diff(expected, actual)
+
+    assertThat(diff.hunkCount(1)).isEqualTo(10)
+    assertThat(diff.render(1, 3))
+        .contains("+changed 20")
+        .doesNotContain("+changed 30")
+        .endsWith("... 7 more hunks${System.lineSeparator()}")
+  }
+
+  @Test
+  internal fun `diff is minimal`() {
+    val diff = diff("a\nb\nc\na\nb\nb\na\n", "c\nb\na\nb\na\nc\n")
+
+    val rendered = diff.render(0, 10)
+    assertThat(rendered.lines().count { it.startsWith("-") || it.startsWith("+") }).isEqualTo(5)
+  }
+}
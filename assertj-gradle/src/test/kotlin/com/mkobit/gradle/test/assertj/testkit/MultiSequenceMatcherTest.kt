@@ -0,0 +1,51 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+internal class MultiSequenceMatcherTest {
+
+  @Test
+  internal fun `finds overlapping and nested sequences in one pass`() {
+    val matcher = MultiSequenceMatcher(listOf("he", "she", "his", "hers", "nope"))
+
+    val found = matcher.find("ushers", 5)
+
+    assertThat(found.get(0)).isTrue()
+    assertThat(found.get(1)).isTrue()
+    assertThat(found.get(2)).isFalse()
+    assertThat(found.get(3)).isTrue()
+    assertThat(found.get(4)).isFalse()
+  }
+
+  @Test
+  internal fun `empty and duplicate sequences`() {
+    val matcher = MultiSequenceMatcher(listOf("", "abc", "abc"))
+
+    val found = matcher.find("xxabcxx", 3)
+
+    assertThat(found.cardinality()).isEqualTo(3)
+  }
+
+  @Test
+  internal fun `stops after requested number of sequences found`() {
+    val matcher = MultiSequenceMatcher(listOf("a", "b", "c"))
+
+    val found = matcher.find("abc", 1)
+
+    assertThat(found.cardinality()).isEqualTo(1)
+    assertThat(found.get(0)).isTrue()
+  }
+
+  @Test
+  internal fun `agrees with String contains`() {
+    val text = "> Task :a:compileJava\n> Task :a:test FAILED\nBUILD FAILED in 2s\n"
+    val sequences = listOf(":a:test", "FAILED", "compileKotlin", "in 2s\n", "\n>", "BUILD SUCCESSFUL")
+
+    val found = MultiSequenceMatcher(sequences).find(text, sequences.size)
+
+    sequences.forEachIndexed { index, sequence ->
+      assertThat(found.get(index)).isEqualTo(text.contains(sequence))
+    }
+  }
+}
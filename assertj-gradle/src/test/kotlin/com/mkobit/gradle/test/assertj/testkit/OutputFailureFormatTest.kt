@@ -0,0 +1,71 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.nio.file.Files
+import java.nio.file.Path
+
+internal class OutputFailureFormatTest {
+
+  private val output = (0 until 100).joinToString(separator = "") { "> Task :p$it:compileJava\n" } + "BUILD SUCCESSFUL in 3s\n"
+  private val index = BuildOutputIndex(output)
+
+  @Test
+  internal fun `full format renders entire output`() {
+    assertThat(OutputFailureFormat.full().render(index)).isEqualTo(output)
+    assertThat(OutputFailureFormat.full().renderClosestMatch(index, "> Task :p1:jar")).isNull()
+  }
+
+  @Test
+  internal fun `bounded format keeps head and tail`() {
+    val rendered = OutputFailureFormat.bounded().withHeadAndTail(10, 12).render(index)
+
+    assertThat(rendered)
+        .startsWith("> Task :p0")
+        .endsWith("SUCCESSFUL in 3s\n".takeLast(12))
+        .contains("characters omitted")
+    assertThat(rendered.length).isLessThan(100)
+  }
+
+  @Test
+  internal fun `output shorter than limits is not truncated`() {
+    assertThat(OutputFailureFormat.bounded().render(index)).isEqualTo(output)
+  }
+
+  @Test
+  internal fun `closest match shows context lines around longest matching prefix`() {
+    val rendered = OutputFailureFormat.bounded().withContextLines(1).renderClosestMatch(index, "> Task :p17:jar")
+
+    assertThat(rendered)
+        .startsWith("closest match <> Task :p17:> at line 18:")
+        .contains("  17| > Task :p16:compileJava")
+        .contains("> 18| > Task :p17:compileJava")
+        .contains("  19| > Task :p18:compileJava")
+        .doesNotContain("p15")
+  }
+
+  @Test
+  internal fun `full output is written once to directory when truncated`() {
+    val directory = Files.createTempDirectory("output-failure-format")
+    directory.toFile().deleteOnExit()
+    val format = OutputFailureFormat.bounded().withHeadAndTail(10, 10).writingFullOutputTo(directory)
+
+    val first = format.render(index)
+    val second = format.render(index)
+
+    assertThat(first).isEqualTo(second).contains("full output written to")
+    val files = Files.list(directory).use { it.toArray() }
+    assertThat(files).hasSize(1)
+    assertThat(String(Files.readAllBytes(files[0] as Path))).isEqualTo(output)
+    directory.toFile().deleteRecursively()
+  }
+
+  @Test
+  internal fun `invalid limits are rejected`() {
+    assertThatThrownBy { OutputFailureFormat.bounded().withHeadAndTail(-1, 0) }
+        .isInstanceOf(IllegalArgumentException::class.java)
+    assertThatThrownBy { OutputFailureFormat.bounded().withContextLines(-1) }
+        .isInstanceOf(IllegalArgumentException::class.java)
+  }
+}
@@ -0,0 +1,82 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.nio.file.Paths
+import java.util.regex.Pattern
+
+internal class OutputNormalizerTest {
+
+  @Test
+  internal fun `built in rules`() {
+    val normalizer = OutputNormalizer.builder()
+        .stripAnsiEscapes()
+        .replaceBuildDurations("<duration>")
+        .replaceTimestamps("<timestamp>")
+        .replaceHashes("<hash>")
+        .build()
+
+    assertThat(normalizer.normalize("\u001B[1m> Task :compileJava\u001B[m")).isEqualTo("> Task :compileJava")
+    assertThat(normalizer.normalize("BUILD SUCCESSFUL in 3s")).isEqualTo("BUILD SUCCESSFUL in <duration>")
+    assertThat(normalizer.normalize("BUILD FAILED in 1m 2s")).isEqualTo("BUILD FAILED in <duration>")
+    assertThat(normalizer.normalize("at 2018-10-21T13:45:01.123Z")).isEqualTo("at <timestamp>")
+    assertThat(normalizer.normalize("at 2018-10-21 13:45:01")).isEqualTo("at <timestamp>")
+    assertThat(normalizer.normalize("key 0123456789abcdef0123456789abcdef")).isEqualTo("key <hash>")
+    assertThat(normalizer.normalize("key 0123456789abcdef")).isEqualTo("key 0123456789abcdef")
+  }
+
+  @Test
+  internal fun `path is replaced`() {
+    val projectDir = Paths.get("build", "project")
+    val normalizer = OutputNormalizer.builder().replacePath(projectDir, "<project>").build()
+
+    assertThat(normalizer.normalize("wrote ${projectDir.toAbsolutePath()}/build.gradle"))
+        .isEqualTo("wrote <project>/build.gradle")
+  }
+
+  @Test
+  internal fun `rules are applied in one pass in order`() {
+    val normalizer = OutputNormalizer.builder()
+        .replaceLiteral("pid 123", "pid <pid>")
+        .replace("\\d+", "<n>")
+        .replace(Pattern.compile("daemon", Pattern.CASE_INSENSITIVE), "daemon")
+        .build()
+
+    assertThat(normalizer.normalize("Daemon pid 123 started 2 workers"))
+        .isEqualTo("daemon pid <pid> started <n> workers")
+  }
+
+  @Test
+  internal fun `replacements are literal`() {
+    val normalizer = OutputNormalizer.builder().replace("(a)(b)", "$2\\$1").build()
+
+    assertThat(normalizer.normalize("ab")).isEqualTo("$2\\$1")
+  }
+
+  @Test
+  internal fun `output without matches is not copied`() {
+    val normalizer = OutputNormalizer.builder().replaceHashes("<hash>").build()
+    val index = BuildOutputIndex("nothing to normalize")
+
+    assertThat(normalizer.normalizeIfChanged("nothing to normalize")).isNull()
+    assertThat(OutputNormalizer.builder().build().normalize("output")).isEqualTo("output")
+    assertThat(index.normalized(normalizer)).isSameAs(index)
+  }
+
+  @Test
+  internal fun `normalized index is cached per equal normalizer`() {
+    val index = BuildOutputIndex("BUILD SUCCESSFUL in 3s")
+    val first = index.normalized(OutputNormalizer.builder().replaceBuildDurations("<duration>").build())
+    val second = index.normalized(OutputNormalizer.builder().replaceBuildDurations("<duration>").build())
+
+    assertThat(first).isSameAs(second)
+    assertThat(first.output().toString()).isEqualTo("BUILD SUCCESSFUL in <duration>")
+  }
+
+  @Test
+  internal fun `canonical equivalence patterns cannot be combined`() {
+    assertThatThrownBy { OutputNormalizer.builder().replace(Pattern.compile("a", Pattern.CANON_EQ), "b") }
+        .isInstanceOf(IllegalArgumentException::class.java)
+  }
+}
@@ -0,0 +1,39 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.util.regex.Pattern
+
+internal class PatternsTest {
+
+  @Test
+  internal fun `compiled patterns are reused`() {
+    val regex = "> Task :\\w+ reused"
+
+    assertThat(Patterns.compile(regex)).isSameAs(Patterns.compile(regex))
+  }
+
+  @Test
+  internal fun `cache is bounded`() {
+    (0 until 1_000).forEach { Patterns.compile("bounded-$it") }
+
+    assertThat(Patterns.cachedPatternCount()).isLessThanOrEqualTo(256)
+  }
+
+  @Test
+  internal fun `literal prefix`() {
+    assertThat(Patterns.literalPrefix(Pattern.compile("> Task :\\w+"))).isEqualTo("> Task :")
+    assertThat(Patterns.literalPrefix(Pattern.compile("plain"))).isEqualTo("plain")
+    assertThat(Patterns.literalPrefix(Pattern.compile("abc?"))).isEqualTo("ab")
+    assertThat(Patterns.literalPrefix(Pattern.compile("abc{2}"))).isEqualTo("ab")
+    assertThat(Patterns.literalPrefix(Pattern.compile("a.b", Pattern.LITERAL))).isEqualTo("a.b")
+  }
+
+  @Test
+  internal fun `no literal prefix when it cannot be determined`() {
+    assertThat(Patterns.literalPrefix(Pattern.compile("^abc"))).isEmpty()
+    assertThat(Patterns.literalPrefix(Pattern.compile("abc|def"))).isEmpty()
+    assertThat(Patterns.literalPrefix(Pattern.compile("abc", Pattern.CASE_INSENSITIVE))).isEmpty()
+    assertThat(Patterns.literalPrefix(Pattern.compile("(?i)abc"))).isEmpty()
+  }
+}
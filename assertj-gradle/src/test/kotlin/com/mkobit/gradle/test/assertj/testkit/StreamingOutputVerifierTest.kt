@@ -0,0 +1,130 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import testsupport.assertNoExceptionThrownBy
+import testsupport.assertThatAssertionErrorThrownBy
+import java.io.IOException
+import java.util.regex.Pattern
+
+internal class StreamingOutputVerifierTest {
+
+  @Test
+  internal fun `expected sequences split across writes are found`() {
+    val verifier = StreamingOutputVerifier.builder()
+        .outputContains("BUILD SUCCESSFUL")
+        .outputContains("never printed")
+        .build()
+
+    verifier.write("> Task :compileJava\nBUILD SUCC")
+    verifier.write("ESSFUL in 1s\n")
+
+    val verdict = verifier.verdict()
+    assertThat(verdict.missingSequences).containsExactly("never printed")
+    assertThat(verdict.firstViolation).isEmpty()
+    assertThat(verdict.isSatisfied).isFalse()
+    assertThat(verdict.charactersRead).isEqualTo(43L)
+    assertThat(verdict.linesRead).isEqualTo(2L)
+  }
+
+  @Test
+  internal fun `first forbidden sequence is recorded with its offset`() {
+    val violations = mutableListOf<StreamingOutputVerdict.Violation>()
+    val verifier = StreamingOutputVerifier.builder()
+        .outputDoesNotContain("Exception")
+        .outputDoesNotContain("FAILED")
+        .onViolation { violations.add(it) }
+        .build()
+
+    verifier.write("ok\nNullPointerException\nFAILED\n")
+
+    val violation = verifier.verdict().firstViolation.get()
+    assertThat(violation.description).contains("Exception")
+    assertThat(violation.offset).isEqualTo(14L)
+    assertThat(violation.lineNumber).isEqualTo(2L)
+    assertThat(violation.excerpt).isEqualTo("NullPointerException")
+    assertThat(violations).containsExactly(violation)
+  }
+
+  @Test
+  internal fun `line patterns are checked per line including an unterminated last line`() {
+    val verifier = StreamingOutputVerifier.builder()
+        .outputHasLineMatching(Pattern.compile("> Task :\\w+"))
+        .outputHasNoLineMatching(Pattern.compile("> Task :\\w+ FAILED"))
+        .build()
+
+    verifier.write("> Task :compileJava\r\n")
+    assertThat(verifier.verdict().isSatisfied).isTrue()
+
+    verifier.write("> Task :test FAILED")
+    val verdict = verifier.verdict()
+    assertThat(verdict.firstViolation).hasValueSatisfying { assertThat(it.lineNumber).isEqualTo(2L) }
+
+    verifier.close()
+    assertThat(verifier.verdict().firstViolation).isPresent()
+  }
+
+  @Test
+  internal fun `fail writes after violation fails writes after the first violation`() {
+    val verifier = StreamingOutputVerifier.builder()
+        .outputDoesNotContain("boom")
+        .failWritesAfterViolation()
+        .build()
+
+    verifier.write("all good\n")
+    assertThatThrownBy { verifier.write("kaboom\n") }.isInstanceOf(IOException::class.java)
+    assertThatThrownBy { verifier.write("more\n") }.isInstanceOf(IOException::class.java)
+    assertThat(verifier.verdict().hasFailedWrites()).isTrue()
+  }
+
+  @Test
+  internal fun `lines longer than the buffer are counted as truncated instead of matched`() {
+    val verifier = StreamingOutputVerifier.builder()
+        .outputHasLineMatching(Pattern.compile("tail"))
+        .outputHasNoLineMatching(Pattern.compile(".*FAILED"))
+        .bufferCapacity(8)
+        .build()
+
+    verifier.write("task FAILED\n")
+    verifier.write("head tail\n")
+    verifier.write("tail\n")
+
+    val verdict = verifier.verdict()
+    assertThat(verdict.firstViolation).isEmpty()
+    assertThat(verdict.missingLinePatterns).isEmpty()
+    assertThat(verdict.truncatedLines).isEqualTo(2L)
+    assertThat(verdict.isSatisfied).isFalse()
+    assertThatAssertionErrorThrownBy { StreamingOutputVerdictAssert(verdict).hasNoTruncatedLines() }
+
+    verifier.write("still a long trailing line")
+    assertThat(verifier.verdict().truncatedLines).isEqualTo(3L)
+  }
+
+  @Test
+  internal fun `long lines are not truncated without line patterns`() {
+    val verifier = StreamingOutputVerifier.builder()
+        .outputContains("FAILED")
+        .bufferCapacity(4)
+        .build()
+
+    verifier.write("task FAILED\n")
+
+    assertThat(verifier.verdict().truncatedLines).isZero()
+    assertNoExceptionThrownBy { StreamingOutputVerdictAssert(verifier.verdict()).isSatisfied().hasNoTruncatedLines() }
+  }
+
+  @Test
+  internal fun `verdict assertions`() {
+    val satisfied = StreamingOutputVerifier.builder().outputContains("a").build()
+    satisfied.write("abc\n")
+    val violated = StreamingOutputVerifier.builder().outputContains("z").outputDoesNotContain("b").build()
+    violated.write("abc\n")
+
+    assertNoExceptionThrownBy { StreamingOutputVerdictAssert(satisfied.verdict()).isSatisfied() }
+    assertThatAssertionErrorThrownBy { StreamingOutputVerdictAssert(violated.verdict()).isSatisfied() }
+    assertThatAssertionErrorThrownBy { StreamingOutputVerdictAssert(violated.verdict()).hasNoViolation() }
+    assertThatAssertionErrorThrownBy { StreamingOutputVerdictAssert(violated.verdict()).hasNoMissingExpectations() }
+    assertThatAssertionErrorThrownBy { StreamingOutputVerdictAssert(null as StreamingOutputVerdict?).isSatisfied() }
+  }
+}
@@ -0,0 +1,51 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+internal class SubsequenceScanTest {
+
+  @Test
+  internal fun `sequences found in order`() {
+    val scan = SubsequenceScan.of("configure a, configure b, run a, run b", listOf("configure", "run a", "run"))
+
+    assertThat(scan.matchedCount()).isEqualTo(3)
+    assertThat(scan.stopOffset()).isEqualTo(36)
+  }
+
+  @Test
+  internal fun `sequences must not overlap`() {
+    val scan = SubsequenceScan.of("abab", listOf("aba", "bab"))
+
+    assertThat(scan.matchedCount()).isEqualTo(1)
+    assertThat(scan.stopOffset()).isEqualTo(3)
+  }
+
+  @Test
+  internal fun `partial matches do not hide later matches`() {
+    assertThat(SubsequenceScan.of("aaab", listOf("aab")).matchedCount()).isEqualTo(1)
+    assertThat(SubsequenceScan.of("abcabcabd", listOf("abcabd")).stopOffset()).isEqualTo(9)
+  }
+
+  @Test
+  internal fun `empty sequences always match`() {
+    val scan = SubsequenceScan.of("abc", listOf("", "b", "", "d"))
+
+    assertThat(scan.matchedCount()).isEqualTo(3)
+    assertThat(scan.stopOffset()).isEqualTo(2)
+    assertThat(SubsequenceScan.of("", listOf()).matchedCount()).isZero()
+  }
+
+  @Test
+  internal fun `lines found in order`() {
+    val index = BuildOutputIndex("a\nb\r\nc\nb\nd")
+
+    val scan = SubsequenceScan.ofLines(index, listOf("b", "c", "d"))
+    assertThat(scan.matchedCount()).isEqualTo(3)
+    assertThat(scan.stopOffset()).isEqualTo(10)
+
+    val partial = SubsequenceScan.ofLines(index, listOf("c", "a"))
+    assertThat(partial.matchedCount()).isEqualTo(1)
+    assertThat(partial.stopOffset()).isEqualTo(7)
+  }
+}
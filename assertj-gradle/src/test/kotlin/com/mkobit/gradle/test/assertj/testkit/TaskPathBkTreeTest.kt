@@ -0,0 +1,41 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+internal class TaskPathBkTreeTest {
+
+  private val tree = TaskPathBkTree(listOf(
+      ":app:compileJava",
+      ":app:compileTestJava",
+      ":app:test",
+      ":lib:compileJava",
+      ":lib:test",
+      ":lib:jar",
+      ":app:test"
+  ))
+
+  @Test
+  internal fun `nearest paths first`() {
+    assertThat(tree.nearest(":app:tset", 3, 3)).containsExactly(":app:test")
+    assertThat(tree.nearest(":app:compileJav", 2, 5)).containsExactly(":app:compileJava", ":lib:compileJava")
+  }
+
+  @Test
+  internal fun `equal distances are ordered by path`() {
+    assertThat(tree.nearest(":xyz:test", 2, 3)).containsExactly(":app:test", ":lib:test")
+  }
+
+  @Test
+  internal fun `paths beyond the maximum distance are not suggested`() {
+    assertThat(tree.nearest(":docs:asciidoctor", 5, 3)).isEmpty()
+    assertThat(TaskPathBkTree(emptyList()).nearest(":test", 5, 3)).isEmpty()
+  }
+
+  @Test
+  internal fun `edit distance`() {
+    assertThat(TaskPathBkTree.distance("kitten", "sitting")).isEqualTo(3)
+    assertThat(TaskPathBkTree.distance("", ":a")).isEqualTo(2)
+    assertThat(TaskPathBkTree.distance(":test", ":test")).isZero()
+  }
+}
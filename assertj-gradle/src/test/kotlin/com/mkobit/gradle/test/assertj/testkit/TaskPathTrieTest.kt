@@ -0,0 +1,65 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import testsupport.buildTask
+
+internal class TaskPathTrieTest {
+
+  private val build = buildTask(":build")
+  private val billingCompile = buildTask(":services:billing:compileJava")
+  private val billingTest = buildTask(":services:billing:test")
+  private val billingApiTest = buildTask(":services:billing:api:test")
+  private val ledgerTest = buildTask(":services:ledger:test")
+  private val test = buildTask(":test")
+  private val trie = TaskPathTrie(listOf(billingCompile, billingApiTest, ledgerTest, billingTest, test, build))
+
+  @Test
+  internal fun `tasks under project include subprojects in execution order`() {
+    assertThat(trie.tasksUnderProject(":services:billing"))
+        .containsExactly(billingCompile, billingApiTest, billingTest)
+    assertThat(trie.tasksUnderProject(":services:billing:api")).containsExactly(billingApiTest)
+    assertThat(trie.tasksUnderProject(":")).hasSize(6)
+  }
+
+  @Test
+  internal fun `tasks under project that does not exist`() {
+    assertThat(trie.tasksUnderProject(":services:missing")).isEmpty()
+    assertThat(trie.tasksUnderProject(":build")).isEmpty()
+  }
+
+  @Test
+  internal fun `double star matches any number of segments`() {
+    assertThat(trie.tasksMatchingGlob(":**:test")).containsExactly(billingApiTest, ledgerTest, billingTest, test)
+    assertThat(trie.tasksMatchingGlob(":services:**"))
+        .containsExactly(billingCompile, billingApiTest, ledgerTest, billingTest)
+    assertThat(trie.tasksMatchingGlob(":**:**:test")).hasSize(4)
+  }
+
+  @Test
+  internal fun `single segment wildcards`() {
+    assertThat(trie.tasksMatchingGlob(":*:test")).isEmpty()
+    assertThat(trie.tasksMatchingGlob(":services:*:test")).containsExactly(ledgerTest, billingTest)
+    assertThat(trie.tasksMatchingGlob(":services:billing:compile*")).containsExactly(billingCompile)
+    assertThat(trie.tasksMatchingGlob(":te?t")).containsExactly(test)
+    assertThat(trie.tasksMatchingGlob(":build")).containsExactly(build)
+  }
+
+  @Test
+  internal fun `segment matching`() {
+    assertThat(TaskPathTrie.segmentMatches("compile*Java", "compileTestJava")).isTrue()
+    assertThat(TaskPathTrie.segmentMatches("compile*Java", "compileKotlin")).isFalse()
+    assertThat(TaskPathTrie.segmentMatches("*", "")).isTrue()
+    assertThat(TaskPathTrie.segmentMatches("?", "")).isFalse()
+    assertThat(TaskPathTrie.segmentMatches("a*b*c", "aXbYbZc")).isTrue()
+  }
+
+  @Test
+  internal fun `paths must be absolute`() {
+    assertThatThrownBy { trie.tasksUnderProject("services") }
+        .isInstanceOf(IllegalArgumentException::class.java)
+    assertThatThrownBy { trie.tasksMatchingGlob("**:test") }
+        .isInstanceOf(IllegalArgumentException::class.java)
+  }
+}
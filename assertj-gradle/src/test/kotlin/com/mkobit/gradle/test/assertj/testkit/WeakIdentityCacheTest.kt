@@ -0,0 +1,52 @@
+package com.mkobit.gradle.test.assertj.testkit
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+internal class WeakIdentityCacheTest {
+
+  private val cache = WeakIdentityCache<StringBuilder, String>()
+
+  @Test
+  internal fun `computes a value once per key identity`() {
+    val key = StringBuilder("a")
+    val equalKey = StringBuilder("a")
+    var computations = 0
+
+    val first = cache.computeIfAbsent(key, { true }) { computations++; it.toString() + computations }
+    val second = cache.computeIfAbsent(key, { true }) { computations++; it.toString() + computations }
+    val other = cache.computeIfAbsent(equalKey, { true }) { computations++; it.toString() + computations }
+
+    assertThat(first).isEqualTo("a1")
+    assertThat(second).isSameAs(first)
+    assertThat(other).isEqualTo("a2")
+    assertThat(cache.size()).isEqualTo(2)
+  }
+
+  @Test
+  internal fun `recomputes a value that is no longer current`() {
+    val key = StringBuilder("a")
+    val first = cache.computeIfAbsent(key, { true }) { it.toString() }
+
+    key.append("b")
+    val second = cache.computeIfAbsent(key, { it == key.toString() }) { it.toString() }
+
+    assertThat(first).isEqualTo("a")
+    assertThat(second).isEqualTo("ab")
+    assertThat(cache.computeIfAbsent(key, { it == key.toString() }) { "recomputed" }).isSameAs(second)
+    assertThat(cache.size()).isEqualTo(1)
+  }
+
+  @Test
+  internal fun `first value stored while computing wins`() {
+    val key = StringBuilder("a")
+
+    val value = cache.computeIfAbsent(key, { true }) {
+      cache.computeIfAbsent(key, { true }) { "stored first" }
+      "computed later"
+    }
+
+    assertThat(value).isEqualTo("stored first")
+    assertThat(cache.computeIfAbsent(key, { true }) { "recomputed" }).isEqualTo("stored first")
+  }
+}
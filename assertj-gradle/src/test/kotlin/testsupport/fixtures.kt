@@ -0,0 +1,31 @@
+package testsupport
+
+import com.nhaarman.mockito_kotlin.doReturn
+import com.nhaarman.mockito_kotlin.mock
+import org.gradle.api.artifacts.Configuration
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.BuildTask
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * Mock [BuildTask] with the provided [path] and [outcome].
+ */
+fun buildTask(path: String, outcome: TaskOutcome = TaskOutcome.SUCCESS): BuildTask = mock {
+  on { this.path } doReturn path
+  on { this.outcome } doReturn outcome
+}
+
+/**
+ * Mock [BuildResult] with the provided [tasks] in execution order.
+ */
+fun buildResult(vararg tasks: BuildTask): BuildResult = mock {
+  on { this.tasks } doReturn tasks.toList()
+}
+
+/**
+ * Mock [Configuration] with the provided [name] that extends from the provided [extendsFrom] configurations in order.
+ */
+fun configuration(name: String, vararg extendsFrom: Configuration): Configuration = mock {
+  on { this.name } doReturn name
+  on { this.extendsFrom } doReturn linkedSetOf(*extendsFrom)
+}
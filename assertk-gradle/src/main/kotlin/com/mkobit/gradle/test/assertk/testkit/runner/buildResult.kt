@@ -2,6 +2,8 @@ package com.mkobit.gradle.test.assertk.testkit.runner
 
 import assertk.Assert
 import assertk.assertions.prop
+import assertk.assertions.support.expected
+import assertk.assertions.support.show
 import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.BuildTask
 import org.gradle.testkit.runner.TaskOutcome
@@ -39,3 +41,43 @@ fun <T : BuildResult> Assert<T>.tasks(outcome: TaskOutcome): Assert<List<BuildTa
  */
 fun <T : BuildResult> Assert<T>.output(): Assert<String> =
     prop("output", BuildResult::getOutput)
+
+/**
+ * Asserts that the output contains all of the provided [sequences].
+ * The output is scanned once for all sequences and every missing sequence is reported.
+ * @see BuildResult.getOutput
+ */
+fun <T : BuildResult> Assert<T>.outputContainsAll(vararg sequences: CharSequence) {
+  val sequenceList = sequences.asList()
+  val found = MultiSequenceMatcher(sequenceList).find(actual.output)
+  if (found.cardinality() != sequenceList.size) {
+    val missing = sequenceList.filterIndexed { index, _ -> !found[index] }
+    expected("output to contain all of ${show(sequenceList)} but was missing ${show(missing)}")
+  }
+}
+
+/**
+ * Asserts that the output contains at least one of the provided [sequences].
+ * Scanning stops at the first sequence found.
+ * @see BuildResult.getOutput
+ */
+fun <T : BuildResult> Assert<T>.outputContainsAnyOf(vararg sequences: CharSequence) {
+  val sequenceList = sequences.asList()
+  if (MultiSequenceMatcher(sequenceList).find(actual.output, stopAfter = 1).isEmpty) {
+    expected("output to contain any of ${show(sequenceList)} but contained none")
+  }
+}
+
+/**
+ * Asserts that the output contains none of the provided [sequences].
+ * The output is scanned once for all sequences and every present sequence is reported.
+ * @see BuildResult.getOutput
+ */
+fun <T : BuildResult> Assert<T>.outputContainsNoneOf(vararg sequences: CharSequence) {
+  val sequenceList = sequences.asList()
+  val found = MultiSequenceMatcher(sequenceList).find(actual.output)
+  if (!found.isEmpty) {
+    val present = sequenceList.filterIndexed { index, _ -> found[index] }
+    expected("output to contain none of ${show(sequenceList)} but found ${show(present)}")
+  }
+}
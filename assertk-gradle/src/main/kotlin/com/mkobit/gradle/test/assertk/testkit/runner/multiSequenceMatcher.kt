@@ -0,0 +1,102 @@
+package com.mkobit.gradle.test.assertk.testkit.runner
+
+import java.util.ArrayDeque
+import java.util.BitSet
+
+/**
+ * Aho-Corasick automaton that finds all of the [sequences] in a single pass over a text.
+ * The index of each sequence in [sequences] is its identifier in the [BitSet] returned from [find].
+ */
+internal class MultiSequenceMatcher(private val sequences: List<CharSequence>) {
+  private val transitions = mutableListOf<MutableMap<Char, Int>>()
+  private val matchesAtNode = mutableListOf<IntArray>()
+  private val emptySequences = BitSet()
+  private val failure: IntArray
+  private val dictionarySuffix: IntArray
+
+  init {
+    newNode()
+    sequences.forEachIndexed { index, sequence ->
+      if (sequence.isEmpty()) {
+        emptySequences.set(index)
+      } else {
+        var node = ROOT
+        sequence.forEach { c ->
+          node = transitions[node].getOrPut(c) { newNode() }
+        }
+        matchesAtNode[node] = matchesAtNode[node] + index
+      }
+    }
+    failure = IntArray(transitions.size)
+    dictionarySuffix = IntArray(transitions.size)
+    val queue = ArrayDeque<Int>(transitions[ROOT].values)
+    while (queue.isNotEmpty()) {
+      val node = queue.removeFirst()
+      transitions[node].forEach { (c, child) ->
+        var fallback = failure[node]
+        while (fallback != ROOT && c !in transitions[fallback]) {
+          fallback = failure[fallback]
+        }
+        val fallbackChild = transitions[fallback][c]
+        failure[child] = if (fallbackChild != null && fallbackChild != child) fallbackChild else ROOT
+        dictionarySuffix[child] = if (matchesAtNode[failure[child]].isNotEmpty()) {
+          failure[child]
+        } else {
+          dictionarySuffix[failure[child]]
+        }
+        queue.addLast(child)
+      }
+    }
+  }
+
+  /**
+   * Scans [text] once and reports which sequences occur in it.
+   * Scanning stops once [stopAfter] distinct sequences have been found.
+   */
+  fun find(text: CharSequence, stopAfter: Int = sequences.size): BitSet {
+    val found = emptySequences.clone() as BitSet
+    var foundCount = found.cardinality()
+    if (foundCount >= stopAfter || transitions[ROOT].isEmpty()) {
+      return found
+    }
+    var node = ROOT
+    for (c in text) {
+      node = step(node, c)
+      var match = if (matchesAtNode[node].isNotEmpty()) node else dictionarySuffix[node]
+      while (match != ROOT) {
+        for (sequence in matchesAtNode[match]) {
+          if (!found[sequence]) {
+            found.set(sequence)
+            if (++foundCount >= stopAfter) {
+              return found
+            }
+          }
+        }
+        match = dictionarySuffix[match]
+      }
+    }
+    return found
+  }
+
+  private fun step(start: Int, c: Char): Int {
+    var node = start
+    while (true) {
+      val next = transitions[node][c]
+      when {
+        next != null -> return next
+        node == ROOT -> return ROOT
+        else -> node = failure[node]
+      }
+    }
+  }
+
+  private fun newNode(): Int {
+    transitions.add(HashMap())
+    matchesAtNode.add(IntArray(0))
+    return transitions.lastIndex
+  }
+
+  private companion object {
+    const val ROOT = 0
+  }
+}
@@ -7,6 +7,8 @@ import com.nhaarman.mockito_kotlin.mock
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.verifyNoMoreInteractions
 import com.nhaarman.mockito_kotlin.whenever
+import org.assertj.core.api.Assertions.assertThatCode
+import org.assertj.core.api.Assertions.assertThatThrownBy
 import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.BuildTask
 import org.gradle.testkit.runner.TaskOutcome
@@ -72,4 +74,33 @@ internal class BuildResultTest {
     verify(mockBuildResult).output
     verifyNoMoreInteractions(mockBuildResult)
   }
+
+  @Test
+  internal fun `output contains all`() {
+    whenever(mockBuildResult.output).thenReturn("> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s")
+
+    assertThatCode { assert(mockBuildResult).outputContainsAll(":compileJava", ":test") }.doesNotThrowAnyException()
+    assertThatThrownBy { assert(mockBuildResult).outputContainsAll(":test", ":jar") }
+        .isInstanceOf(AssertionError::class.java)
+        .hasMessageContaining(":jar")
+  }
+
+  @Test
+  internal fun `output contains any of`() {
+    whenever(mockBuildResult.output).thenReturn("> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s")
+
+    assertThatCode { assert(mockBuildResult).outputContainsAnyOf(":jar", ":test") }.doesNotThrowAnyException()
+    assertThatThrownBy { assert(mockBuildResult).outputContainsAnyOf(":jar", "BUILD FAILED") }
+        .isInstanceOf(AssertionError::class.java)
+  }
+
+  @Test
+  internal fun `output contains none of`() {
+    whenever(mockBuildResult.output).thenReturn("> Task :compileJava\n> Task :test\nBUILD SUCCESSFUL in 1s")
+
+    assertThatCode { assert(mockBuildResult).outputContainsNoneOf(":jar", "BUILD FAILED") }.doesNotThrowAnyException()
+    assertThatThrownBy { assert(mockBuildResult).outputContainsNoneOf(":jar", "SUCCESSFUL") }
+        .isInstanceOf(AssertionError::class.java)
+        .hasMessageContaining("SUCCESSFUL")
+  }
 }
@@ -13,6 +13,7 @@ plugins {
   id("org.jetbrains.dokka") version "0.9.17" apply false
   kotlin("jvm") version "1.2.71" apply false
   id("com.jfrog.bintray") version "1.8.4" apply false
+  id("me.champeau.gradle.jmh") version "0.4.8" apply false
 }
 
 description = "Assertion library extensions for testing with Gradle"
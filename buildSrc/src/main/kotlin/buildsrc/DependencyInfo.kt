@@ -12,6 +12,7 @@ object DependencyInfo {
   const val mockitoKotlin = "com.nhaarman:mockito-kotlin:1.6.0"
   const val checkerQual = "org.checkerframework:checker-qual:2.5.6"
   const val strikt = "io.strikt:strikt-core:0.17.0"
+  const val jmhVersion = "1.21"
 
   val junitPlatformRunner = junitPlatform("runner")
   val junitJupiterApi = junitJupiter("api")